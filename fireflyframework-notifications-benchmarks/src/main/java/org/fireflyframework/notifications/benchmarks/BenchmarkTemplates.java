@@ -0,0 +1,69 @@
+/*
+ * Copyright 2024-2026 Firefly Software Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.fireflyframework.notifications.benchmarks;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Template names and variables shared by the benchmarks.
+ */
+final class BenchmarkTemplates {
+
+    static final String SMALL = "bench-small";
+    static final String LARGE = "bench-large";
+
+    private static final int LARGE_TRANSACTIONS = 200;
+
+    private BenchmarkTemplates() {
+    }
+
+    static String templateId(String size) {
+        return switch (size) {
+            case "small" -> SMALL;
+            case "large" -> LARGE;
+            default -> throw new IllegalArgumentException("Unknown template size " + size);
+        };
+    }
+
+    /**
+     * Variables for the statement templates; the large template renders one table row per transaction.
+     * {@code debit} duplicates the sign of {@code amount} for the {@code .tmpl} variant, which has no
+     * comparison operators.
+     */
+    static Map<String, Object> variables() {
+        List<Map<String, Object>> transactions = new ArrayList<>(LARGE_TRANSACTIONS);
+        for (int i = 0; i < LARGE_TRANSACTIONS; i++) {
+            double amount = i % 3 == 0 ? -12.5 * i : 4.75 * i;
+            transactions.add(Map.of(
+                    "date", "2026-06-" + (1 + i % 30),
+                    "description", "Card payment #" + i,
+                    "amount", amount,
+                    "debit", amount < 0));
+        }
+        Map<String, Object> variables = new HashMap<>();
+        variables.put("name", "Ada Lovelace");
+        variables.put("subject", "Your June statement");
+        variables.put("month", "June 2026");
+        variables.put("balance", "1,024.00 EUR");
+        variables.put("vip", Boolean.TRUE);
+        variables.put("transactions", transactions);
+        return variables;
+    }
+}
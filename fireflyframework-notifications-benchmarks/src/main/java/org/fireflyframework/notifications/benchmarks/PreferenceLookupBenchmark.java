@@ -0,0 +1,100 @@
+/*
+ * Copyright 2024-2026 Firefly Software Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.fireflyframework.notifications.benchmarks;
+
+import org.fireflyframework.notifications.core.services.preferences.InMemoryNotificationPreferenceService;
+import org.fireflyframework.notifications.interfaces.dtos.preferences.NotificationPreferenceDTO;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Group;
+import org.openjdk.jmh.annotations.GroupThreads;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link InMemoryNotificationPreferenceService} lookups under contention: all threads reading, and
+ * seven readers racing one writer that keeps updating preferences.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PreferenceLookupBenchmark {
+
+    @Param({"100000"})
+    private int users;
+
+    private InMemoryNotificationPreferenceService preferences;
+    private String[] userIds;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        preferences = new InMemoryNotificationPreferenceService();
+        userIds = new String[users];
+        for (int i = 0; i < users; i++) {
+            userIds[i] = "user-" + i;
+            preferences.updatePreferences(userIds[i], preference(i)).block();
+        }
+    }
+
+    @Benchmark
+    @Threads(Threads.MAX)
+    public Boolean lookup() {
+        return preferences.isChannelEnabled(randomUser(), "email").block();
+    }
+
+    @Benchmark
+    @Group("readWrite")
+    @GroupThreads(7)
+    public Boolean readWriteLookup() {
+        return preferences.isChannelEnabled(randomUser(), "email").block();
+    }
+
+    @Benchmark
+    @Group("readWrite")
+    @GroupThreads(1)
+    public NotificationPreferenceDTO readWriteUpdate() {
+        int user = ThreadLocalRandom.current().nextInt(users);
+        return preferences.updatePreferences(userIds[user], preference(user + 1)).block();
+    }
+
+    private String randomUser() {
+        return userIds[ThreadLocalRandom.current().nextInt(users)];
+    }
+
+    private static NotificationPreferenceDTO preference(int i) {
+        return NotificationPreferenceDTO.builder()
+                .emailEnabled(i % 10 != 0)
+                .smsEnabled(i % 2 == 0)
+                .pushEnabled(true)
+                .build();
+    }
+}
@@ -0,0 +1,91 @@
+/*
+ * Copyright 2024-2026 Firefly Software Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.fireflyframework.notifications.benchmarks;
+
+import org.fireflyframework.notifications.core.services.email.v1.EmailService;
+import org.fireflyframework.notifications.core.services.email.v1.EmailServiceImpl;
+import org.fireflyframework.notifications.core.services.template.FreemarkerNotificationTemplateEngine;
+import org.fireflyframework.notifications.core.services.template.NotificationTemplateEngine;
+import org.fireflyframework.notifications.interfaces.dtos.email.v1.EmailResponseDTO;
+import org.fireflyframework.notifications.interfaces.dtos.email.v1.EmailTemplateRequestDTO;
+import org.fireflyframework.notifications.interfaces.providers.email.v1.EmailProvider;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import reactor.core.publisher.Mono;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link EmailServiceImpl#sendTemplateEmail} end to end against a provider that accepts every
+ * email without doing any I/O, so the result is the service's own overhead plus rendering.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TemplateEmailBenchmark {
+
+    @Param({"small", "large"})
+    private String template;
+
+    private AnnotationConfigApplicationContext context;
+    private EmailService emailService;
+    private EmailTemplateRequestDTO request;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        EmailResponseDTO sent = EmailResponseDTO.success("noop");
+        context = new AnnotationConfigApplicationContext();
+        context.registerBean(EmailProvider.class, () -> email -> Mono.just(sent));
+        context.registerBean(NotificationTemplateEngine.class, () -> new FreemarkerNotificationTemplateEngine());
+        context.register(EmailServiceImpl.class);
+        context.refresh();
+        emailService = context.getBean(EmailService.class);
+
+        request = EmailTemplateRequestDTO.builder()
+                .templateId(BenchmarkTemplates.templateId(template))
+                .templateVariables(BenchmarkTemplates.variables())
+                .from("noreply@example.com")
+                .to("ada@example.com")
+                .subject("Your June statement")
+                .build();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public EmailResponseDTO sendTemplateEmail() {
+        return emailService.sendTemplateEmail(request).block();
+    }
+}
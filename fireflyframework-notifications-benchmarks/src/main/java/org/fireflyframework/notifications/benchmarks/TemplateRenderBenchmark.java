@@ -0,0 +1,102 @@
+/*
+ * Copyright 2024-2026 Firefly Software Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.fireflyframework.notifications.benchmarks;
+
+import org.fireflyframework.notifications.core.services.template.FreemarkerNotificationTemplateEngine;
+import org.fireflyframework.notifications.core.services.template.NotificationTemplateEngine;
+import org.fireflyframework.notifications.core.services.template.NotificationTemplateProperties;
+import org.fireflyframework.notifications.core.services.template.SimpleNotificationTemplateEngine;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Template rendering, to a {@code String} and to a pooled buffer, with the
+ * {@link FreemarkerNotificationTemplateEngine} and the {@link SimpleNotificationTemplateEngine} rendering
+ * equivalent {@code .ftl} and {@code .tmpl} templates.
+ *
+ * <p>{@code warm} renders from the compiled-template cache; {@code cold} disables that cache, so
+ * every render loads and parses the template again, as on a cache miss.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TemplateRenderBenchmark {
+
+    @Param({"freemarker", "simple"})
+    private String engineType;
+
+    @Param({"small", "large"})
+    private String template;
+
+    @Param({"warm", "cold"})
+    private String cache;
+
+    private NotificationTemplateEngine engine;
+    private String templateId;
+    private Map<String, Object> variables;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        NotificationTemplateProperties properties = NotificationTemplateProperties.builder()
+                .cacheMaxSize("warm".equals(cache) ? 500 : 0)
+                .build();
+        engine = "simple".equals(engineType)
+                ? new SimpleNotificationTemplateEngine(properties)
+                : new FreemarkerNotificationTemplateEngine(properties);
+        templateId = BenchmarkTemplates.templateId(template);
+        variables = BenchmarkTemplates.variables();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws Exception {
+        if (engine instanceof AutoCloseable closeable) {
+            closeable.close();
+        }
+    }
+
+    @Benchmark
+    public String render() {
+        return engine.render(templateId, variables).block();
+    }
+
+    @Benchmark
+    public int renderToBuffer() {
+        DataBuffer buffer = engine.renderToBuffer(templateId, variables).block();
+        int size = buffer.readableByteCount();
+        DataBufferUtils.release(buffer);
+        return size;
+    }
+}
@@ -0,0 +1,75 @@
+/*
+ * Copyright 2024-2026 Firefly Software Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.fireflyframework.notifications.benchmarks;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.fireflyframework.notifications.observability.NotificationMetrics;
+import org.fireflyframework.notifications.observability.SendMeters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import reactor.core.publisher.Mono;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Overhead of {@link NotificationMetrics#timedDispatch} and of a pre-registered {@link SendMeters} stage
+ * timer over subscribing to the bare dispatch Mono; the difference between {@code timed} or {@code staged}
+ * and {@code baseline} is the per-send cost of instrumentation.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TimedDispatchBenchmark {
+
+    private NotificationMetrics metrics;
+    private SendMeters sendMeters;
+    private Mono<String> dispatch;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        metrics = new NotificationMetrics(new SimpleMeterRegistry());
+        sendMeters = metrics.sendMeters("email", "noop");
+        dispatch = Mono.fromSupplier(() -> "message-id");
+    }
+
+    @Benchmark
+    public String baseline() {
+        return dispatch.block();
+    }
+
+    @Benchmark
+    public String timed() {
+        return metrics.timedDispatch("email", "noop", dispatch).block();
+    }
+
+    @Benchmark
+    public String staged() {
+        return sendMeters.timed(SendMeters.Stage.PROVIDER, dispatch).block();
+    }
+}
@@ -0,0 +1,20 @@
+<!DOCTYPE html>
+<html>
+<head><title>${subject}</title></head>
+<body>
+<h1>Hello ${name},</h1>
+<p>Here is your statement for ${month}. Your closing balance is <strong>${balance}</strong>.</p>
+<table>
+    <thead><tr><th>Date</th><th>Description</th><th>Amount</th></tr></thead>
+    <tbody>
+    <#list transactions as tx>
+        <tr<#if tx.amount < 0> class="debit"</#if>><td>${tx.date}</td><td>${tx.description}</td><td>${tx.amount}</td></tr>
+    </#list>
+    </tbody>
+</table>
+<#if vip>
+<p>As a premium customer you have access to your dedicated advisor.</p>
+</#if>
+<p>Kind regards,<br/>The Firefly team</p>
+</body>
+</html>
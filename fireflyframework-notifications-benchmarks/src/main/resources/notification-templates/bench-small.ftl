@@ -0,0 +1 @@
+Hello ${name}, your statement for ${month} is ready.
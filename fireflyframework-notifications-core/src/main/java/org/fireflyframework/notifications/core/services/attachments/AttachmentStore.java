@@ -0,0 +1,196 @@
+/*
+ * Copyright 2024-2026 Firefly Software Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.fireflyframework.notifications.core.services.attachments;
+
+import io.micrometer.core.instrument.Counter;
+import org.fireflyframework.notifications.observability.NotificationMetrics;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+
+/**
+ * Content-addressed store for email attachments shared by many sends, such as the terms and
+ * conditions attached to every email of a campaign.
+ *
+ * <p>Each distinct content is kept once, off-heap, keyed by its SHA-256 digest; storing the same
+ * bytes again returns the existing {@link StoredAttachment}. Requests then carry
+ * {@link StoredAttachment#reference(String)} instead of the bytes, and {@code EmailServiceImpl}
+ * resolves the reference to the shared content and its cached base64 form at send time.
+ *
+ * <p>Entries are reference counted: {@code put} and {@link #acquire(String)} add a reference,
+ * {@link #release(StoredAttachment)} drops one. Unreferenced entries stay available until room is
+ * needed for new content, and are then evicted least recently used first. Register the store as a
+ * bean to have the email service resolve references.
+ */
+public class AttachmentStore {
+
+    private static final HexFormat HEX = HexFormat.of();
+
+    private final long maxBytes;
+    private final LinkedHashMap<String, StoredAttachment> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private final Counter deduplicatedCounter;
+    private long storedBytes;
+
+    /**
+     * @param maxBytes Upper bound on stored content plus cached base64 encodings and heap copies, in bytes
+     */
+    public AttachmentStore(long maxBytes) {
+        this(maxBytes, null);
+    }
+
+    public AttachmentStore(long maxBytes, NotificationMetrics metrics) {
+        if (maxBytes <= 0) {
+            throw new IllegalArgumentException("maxBytes must be positive");
+        }
+        this.maxBytes = maxBytes;
+        this.deduplicatedCounter = metrics != null ? metrics.attachmentDeduplicatedCounter() : null;
+        if (metrics != null) {
+            metrics.registerAttachmentStore(this, AttachmentStore::getStoredBytes, AttachmentStore::size);
+        }
+    }
+
+    public StoredAttachment put(byte[] content, String contentType) {
+        return put(ByteBuffer.wrap(content), contentType);
+    }
+
+    /**
+     * Stores the current content of a file; later changes to the file do not affect the stored copy.
+     */
+    public StoredAttachment put(Path file, String contentType) {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            return put(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()), contentType);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot read attachment " + file, e);
+        }
+    }
+
+    /**
+     * Stores the remaining bytes of {@code content} unless identical content is already stored,
+     * and adds a reference to the entry either way. The buffer's position is not changed.
+     *
+     * @throws AttachmentStoreFullException if the content does not fit even after evicting every
+     *                                      unreferenced entry
+     */
+    public StoredAttachment put(ByteBuffer content, String contentType) {
+        String digest = digest(content);
+        StoredAttachment existing = acquire(digest);
+        if (existing != null) {
+            if (deduplicatedCounter != null) {
+                deduplicatedCounter.increment();
+            }
+            return existing;
+        }
+
+        ByteBuffer copy = ByteBuffer.allocateDirect(content.remaining()).put(content.duplicate()).flip();
+        synchronized (this) {
+            StoredAttachment raced = entries.get(digest);
+            if (raced != null) {
+                raced.references++;
+                return raced;
+            }
+            evict(copy.capacity());
+            if (storedBytes + copy.capacity() > maxBytes) {
+                throw new AttachmentStoreFullException("Attachment store full: " + storedBytes + " of "
+                        + maxBytes + " bytes are referenced, " + copy.capacity() + " more requested");
+            }
+            StoredAttachment stored = new StoredAttachment(this, digest, contentType, copy);
+            stored.references = 1;
+            entries.put(digest, stored);
+            storedBytes += copy.capacity();
+            return stored;
+        }
+    }
+
+    /**
+     * Adds a reference to the entry for {@code digest}.
+     *
+     * @return the entry, or {@code null} if the digest is not stored (or has been evicted)
+     */
+    public synchronized StoredAttachment acquire(String digest) {
+        StoredAttachment stored = entries.get(digest);
+        if (stored != null) {
+            stored.references++;
+        }
+        return stored;
+    }
+
+    /**
+     * Drops a reference taken by {@code put} or {@link #acquire(String)}; the entry becomes
+     * evictable once none remain.
+     */
+    public synchronized void release(StoredAttachment stored) {
+        if (stored.references <= 0) {
+            throw new IllegalStateException("Attachment " + stored.getDigest() + " released more often than acquired");
+        }
+        stored.references--;
+    }
+
+    /**
+     * Number of distinct attachments stored.
+     */
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    /**
+     * Bytes held by stored content, cached encodings and heap copies.
+     */
+    public synchronized long getStoredBytes() {
+        return storedBytes;
+    }
+
+    /**
+     * Publishes a cached form of {@code stored} and counts its bytes, under the same lock as eviction,
+     * so an entry evicted meanwhile never has bytes subtracted that were not added.
+     */
+    synchronized void cached(StoredAttachment stored, int bytes, Runnable publish) {
+        publish.run();
+        if (entries.get(stored.getDigest()) == stored) {
+            storedBytes += bytes;
+        }
+    }
+
+    private void evict(long needed) {
+        Iterator<StoredAttachment> eldestFirst = entries.values().iterator();
+        while (storedBytes + needed > maxBytes && eldestFirst.hasNext()) {
+            StoredAttachment stored = eldestFirst.next();
+            if (stored.references == 0) {
+                eldestFirst.remove();
+                storedBytes -= stored.footprint();
+            }
+        }
+    }
+
+    private static String digest(ByteBuffer content) {
+        try {
+            MessageDigest sha256 = MessageDigest.getInstance("SHA-256");
+            sha256.update(content.duplicate());
+            return HEX.formatHex(sha256.digest());
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
@@ -0,0 +1,133 @@
+/*
+ * Copyright 2024-2026 Firefly Software Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.fireflyframework.notifications.core.services.attachments;
+
+import org.fireflyframework.notifications.interfaces.dtos.email.v1.EmailAttachmentDTO;
+
+import java.nio.ByteBuffer;
+import java.util.Base64;
+
+/**
+ * One attachment held by an {@link AttachmentStore}, identified by the SHA-256 digest of its content.
+ *
+ * <p>Content and its base64 form live in direct buffers outside the Java heap. Both are read-only,
+ * so every send can share them; the base64 form is encoded on first use and cached. Providers that
+ * only accept a {@code byte[]} share one heap copy of the content, also made on first use.
+ */
+public final class StoredAttachment {
+
+    private final AttachmentStore store;
+    private final String digest;
+    private final String contentType;
+    private final ByteBuffer content;
+    private volatile ByteBuffer base64;
+    private volatile byte[] array;
+
+    /**
+     * Outstanding references, guarded by the store's lock.
+     */
+    int references;
+
+    StoredAttachment(AttachmentStore store, String digest, String contentType, ByteBuffer content) {
+        this.store = store;
+        this.digest = digest;
+        this.contentType = contentType;
+        this.content = content.asReadOnlyBuffer();
+    }
+
+    /**
+     * Lower-case hex SHA-256 digest of the content.
+     */
+    public String getDigest() {
+        return digest;
+    }
+
+    /**
+     * MIME type given when the content was first stored.
+     */
+    public String getContentType() {
+        return contentType;
+    }
+
+    public int getLength() {
+        return content.capacity();
+    }
+
+    /**
+     * The content, as a read-only view with its own position and limit.
+     */
+    public ByteBuffer content() {
+        return content.duplicate();
+    }
+
+    /**
+     * The standard base64 encoding of the content, as a read-only view of a buffer that is
+     * encoded once and shared by every send.
+     */
+    public ByteBuffer base64() {
+        ByteBuffer encoded = base64;
+        if (encoded == null) {
+            synchronized (this) {
+                encoded = base64;
+                if (encoded == null) {
+                    ByteBuffer heap = Base64.getEncoder().encode(content.duplicate());
+                    ByteBuffer direct = ByteBuffer.allocateDirect(heap.remaining()).put(heap).flip().asReadOnlyBuffer();
+                    store.cached(this, direct.capacity(), () -> base64 = direct);
+                    encoded = direct;
+                }
+            }
+        }
+        return encoded.duplicate();
+    }
+
+    /**
+     * The content as a heap array shared by every send, for providers that only accept
+     * {@link EmailAttachmentDTO#getContent()}. It is copied once and must not be modified.
+     */
+    public byte[] array() {
+        byte[] shared = array;
+        if (shared == null) {
+            synchronized (this) {
+                shared = array;
+                if (shared == null) {
+                    byte[] copy = new byte[content.capacity()];
+                    content.duplicate().get(copy);
+                    store.cached(this, copy.length, () -> array = copy);
+                    shared = copy;
+                }
+            }
+        }
+        return shared;
+    }
+
+    /**
+     * Creates an attachment that refers to this content by digest instead of carrying it.
+     */
+    public EmailAttachmentDTO reference(String filename) {
+        return EmailAttachmentDTO.builder()
+                .filename(filename)
+                .contentType(contentType)
+                .contentDigest(digest)
+                .build();
+    }
+
+    int footprint() {
+        ByteBuffer encoded = base64;
+        byte[] shared = array;
+        return content.capacity() + (encoded != null ? encoded.capacity() : 0) + (shared != null ? shared.length : 0);
+    }
+}
@@ -0,0 +1,52 @@
+/*
+ * Copyright 2024-2026 Firefly Software Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.fireflyframework.notifications.core.services.campaign;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * One template email sent to many recipients by the {@link CampaignEngine}.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class Campaign {
+
+    /**
+     * Identifies the campaign; names its checkpoint file and prefixes the idempotency key of every send.
+     */
+    private String campaignId;
+
+    private String templateId;
+
+    private String from;
+
+    private String subject;
+
+    /**
+     * Variables shared by every recipient; a recipient's own variables take precedence.
+     */
+    @Builder.Default
+    private Map<String, Object> variables = new HashMap<>();
+}
@@ -0,0 +1,69 @@
+/*
+ * Copyright 2024-2026 Firefly Software Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.fireflyframework.notifications.core.services.campaign;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+
+/**
+ * Progress file of one campaign: the number of recipients, counted from the start of the source,
+ * that have all been handled. Written atomically by replacing the file.
+ */
+final class CampaignCheckpoint {
+
+    private final Path file;
+    private final Path temporary;
+    private long written = -1;
+
+    CampaignCheckpoint(Path directory, String campaignId) {
+        this.file = directory.resolve(campaignId + ".checkpoint");
+        this.temporary = directory.resolve(campaignId + ".checkpoint.tmp");
+    }
+
+    synchronized long read() {
+        try {
+            if (!Files.exists(file)) {
+                return 0;
+            }
+            written = Long.parseLong(Files.readString(file, StandardCharsets.US_ASCII).trim());
+            return written;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot read campaign checkpoint " + file, e);
+        }
+    }
+
+    /**
+     * Records progress; positions at or behind the last one written are ignored, so a late periodic
+     * write cannot move the checkpoint backwards.
+     */
+    synchronized void write(long handled) {
+        if (handled <= written) {
+            return;
+        }
+        try {
+            Files.writeString(temporary, Long.toString(handled), StandardCharsets.US_ASCII);
+            Files.move(temporary, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            written = handled;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot write campaign checkpoint " + file, e);
+        }
+    }
+}
@@ -0,0 +1,164 @@
+/*
+ * Copyright 2024-2026 Firefly Software Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.fireflyframework.notifications.core.services.campaign;
+
+import lombok.extern.slf4j.Slf4j;
+import org.fireflyframework.notifications.core.services.email.v1.EmailService;
+import org.fireflyframework.notifications.interfaces.dtos.email.v1.EmailResponseDTO;
+import org.fireflyframework.notifications.interfaces.dtos.email.v1.EmailTemplateRequestDTO;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.SignalType;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.regex.Pattern;
+
+/**
+ * Sends a template email to every recipient of a {@link RecipientSource} through
+ * {@link EmailService#sendTemplateEmail}.
+ *
+ * <p>Recipients are pulled from the source only as sends complete, with at most
+ * {@link CampaignSettings#getConcurrency()} in flight, so memory use does not depend on the size of
+ * the recipient list. Renders run on the template engine's CPU-sized render pool, so a campaign
+ * renders on all cores while the provider calls are outstanding. Each recipient's variables are
+ * laid over the campaign's shared variables without copying them.
+ *
+ * <p>With a checkpoint directory configured, the number of recipients handled in source order is
+ * written to {@code <campaignId>.checkpoint} periodically and when the run ends, and a later
+ * {@link #run} of the same campaign resumes after them. Sends that were in flight when a run
+ * stopped are repeated; every send carries the idempotency key {@code <campaignId>:<position>},
+ * so an {@code IdempotencyCache} or a provider that honours the key can drop the repeats. Delete
+ * the checkpoint file to send a campaign again from the start.
+ *
+ * <p>Failed sends are counted and do not stop the campaign.
+ */
+@Slf4j
+public class CampaignEngine {
+
+    private static final Pattern CAMPAIGN_ID = Pattern.compile("[A-Za-z0-9._-]+");
+
+    private final EmailService emailService;
+    private final CampaignSettings settings;
+
+    public CampaignEngine(EmailService emailService, CampaignSettings settings) {
+        this.emailService = emailService;
+        this.settings = settings;
+        if (settings.getCheckpointDirectory() != null) {
+            try {
+                Files.createDirectories(settings.getCheckpointDirectory());
+            } catch (IOException e) {
+                throw new UncheckedIOException("Cannot create campaign checkpoint directory", e);
+            }
+        }
+    }
+
+    public CampaignEngine(EmailService emailService) {
+        this(emailService, new CampaignSettings());
+    }
+
+    /**
+     * Runs the campaign to the end of the source, resuming from its checkpoint if there is one.
+     */
+    public Mono<CampaignResult> run(Campaign campaign, RecipientSource source) {
+        if (campaign.getCampaignId() == null || !CAMPAIGN_ID.matcher(campaign.getCampaignId()).matches()) {
+            return Mono.error(new IllegalArgumentException(
+                    "Campaign ID must consist of letters, digits, '.', '_' or '-': " + campaign.getCampaignId()));
+        }
+        return Mono.defer(() -> {
+            long started = System.nanoTime();
+            CampaignCheckpoint checkpoint = settings.getCheckpointDirectory() != null
+                    ? new CampaignCheckpoint(settings.getCheckpointDirectory(), campaign.getCampaignId())
+                    : null;
+            long resumeFrom = checkpoint != null ? checkpoint.read() : 0;
+            if (resumeFrom > 0) {
+                log.info("Resuming campaign '{}' after {} recipients", campaign.getCampaignId(), resumeFrom);
+            }
+            AtomicLong handled = new AtomicLong(resumeFrom);
+            LongAdder sent = new LongAdder();
+            LongAdder failed = new LongAdder();
+            LongAdder suppressed = new LongAdder();
+            AtomicBoolean stopped = new AtomicBoolean();
+            Disposable checkpointing = checkpoint != null
+                    ? Flux.interval(settings.getCheckpointInterval()).subscribe(tick -> checkpoint.write(handled.get()))
+                    : null;
+
+            return source.recipients(resumeFrom)
+                    .index()
+                    .flatMapSequential(indexed -> send(campaign, resumeFrom + indexed.getT1(), indexed.getT2()),
+                            Math.max(1, settings.getConcurrency()), 1)
+                    .doOnNext(response -> {
+                        switch (response.getStatus()) {
+                            case SENT -> sent.increment();
+                            case SUPPRESSED -> suppressed.increment();
+                            case null, default -> failed.increment();
+                        }
+                        handled.incrementAndGet();
+                    })
+                    .then(Mono.fromCallable(() -> CampaignResult.builder()
+                            .campaignId(campaign.getCampaignId())
+                            .resumedFrom(resumeFrom)
+                            .sent(sent.sum())
+                            .failed(failed.sum())
+                            .suppressed(suppressed.sum())
+                            .duration(Duration.ofNanos(System.nanoTime() - started))
+                            .build()))
+                    // Checkpoint before the outcome reaches the caller, so a caller that restarts
+                    // the campaign right away resumes from the final position.
+                    .doOnEach(signal -> {
+                        if (signal.isOnNext() || signal.isOnError()) {
+                            stopped(campaign, stopped, checkpointing, checkpoint, handled.get(), signal.getType());
+                        }
+                    })
+                    .doOnCancel(() -> stopped(campaign, stopped, checkpointing, checkpoint, handled.get(), SignalType.CANCEL));
+        });
+    }
+
+    private static void stopped(Campaign campaign, AtomicBoolean stopped, Disposable checkpointing,
+                                CampaignCheckpoint checkpoint, long handled, SignalType signal) {
+        if (!stopped.compareAndSet(false, true)) {
+            return;
+        }
+        if (checkpointing != null) {
+            checkpointing.dispose();
+            checkpoint.write(handled);
+        }
+        if (signal != SignalType.ON_NEXT) {
+            log.warn("Campaign '{}' stopped ({}) after {} recipients", campaign.getCampaignId(), signal, handled);
+        }
+    }
+
+    private Mono<EmailResponseDTO> send(Campaign campaign, long position, CampaignRecipient recipient) {
+        EmailTemplateRequestDTO request = EmailTemplateRequestDTO.builder()
+                .templateId(campaign.getTemplateId())
+                .templateVariables(new OverlayVariables(recipient.getVariables(), campaign.getVariables()))
+                .from(campaign.getFrom())
+                .to(recipient.getEmail())
+                .subject(campaign.getSubject())
+                .userId(recipient.getUserId())
+                .idempotencyKey(campaign.getCampaignId() + ":" + position)
+                .build();
+        return Mono.defer(() -> emailService.sendTemplateEmail(request))
+                .onErrorResume(error -> Mono.just(EmailResponseDTO.error(error.getMessage())));
+    }
+}
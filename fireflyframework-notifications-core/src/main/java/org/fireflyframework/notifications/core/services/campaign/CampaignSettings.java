@@ -0,0 +1,52 @@
+/*
+ * Copyright 2024-2026 Firefly Software Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.fireflyframework.notifications.core.services.campaign;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+/**
+ * Settings for {@link CampaignEngine}.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CampaignSettings {
+
+    /**
+     * Maximum number of sends in flight; also bounds how many recipients are held in memory.
+     */
+    @Builder.Default
+    private int concurrency = 256;
+
+    /**
+     * Directory for checkpoint files, created if missing; {@code null} disables checkpointing.
+     */
+    private Path checkpointDirectory;
+
+    /**
+     * How often progress is written to the checkpoint file while a campaign runs.
+     */
+    @Builder.Default
+    private Duration checkpointInterval = Duration.ofSeconds(5);
+}
@@ -0,0 +1,103 @@
+/*
+ * Copyright 2024-2026 Firefly Software Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.fireflyframework.notifications.core.services.campaign;
+
+import reactor.core.publisher.Flux;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Recipients from a UTF-8 CSV file with a header row.
+ *
+ * <p>The {@code email} column is required and {@code userId} is optional; every other column becomes a
+ * string template variable named after its header. Fields may be quoted with {@code "}, doubling
+ * quotes inside them, but may not span lines.
+ */
+public class CsvRecipientSource implements RecipientSource {
+
+    private static final String EMAIL = "email";
+    private static final String USER_ID = "userId";
+
+    private final Path file;
+
+    public CsvRecipientSource(Path file) {
+        this.file = file;
+    }
+
+    @Override
+    public Flux<CampaignRecipient> recipients(long offset) {
+        return RecipientFiles.lines(file, 0)
+                .switchOnFirst((first, lines) -> {
+                    if (!first.hasValue()) {
+                        return Flux.empty();
+                    }
+                    List<String> header = parse(first.get());
+                    if (!header.contains(EMAIL)) {
+                        return Flux.error(new IllegalArgumentException("CSV recipients file " + file
+                                + " has no '" + EMAIL + "' column"));
+                    }
+                    return lines.skip(1 + offset).map(line -> recipient(header, parse(line)));
+                });
+    }
+
+    private static CampaignRecipient recipient(List<String> header, List<String> fields) {
+        CampaignRecipient recipient = new CampaignRecipient();
+        Map<String, Object> variables = new HashMap<>();
+        for (int i = 0; i < header.size() && i < fields.size(); i++) {
+            String column = header.get(i);
+            switch (column) {
+                case EMAIL -> recipient.setEmail(fields.get(i));
+                case USER_ID -> recipient.setUserId(fields.get(i).isEmpty() ? null : fields.get(i));
+                default -> variables.put(column, fields.get(i));
+            }
+        }
+        recipient.setVariables(variables);
+        return recipient;
+    }
+
+    static List<String> parse(String line) {
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    field.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    field.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString().trim());
+                field.setLength(0);
+            } else {
+                field.append(c);
+            }
+        }
+        fields.add(field.toString().trim());
+        return fields;
+    }
+}
@@ -0,0 +1,65 @@
+/*
+ * Copyright 2024-2026 Firefly Software Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.fireflyframework.notifications.core.services.campaign;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import reactor.core.publisher.Flux;
+
+import java.nio.file.Path;
+import java.util.Map;
+
+/**
+ * Recipients from a UTF-8 file with one JSON object per line.
+ *
+ * <p>{@code email} is required and {@code userId} optional; every other field becomes a template
+ * variable, keeping its JSON type (nested objects become maps, arrays lists).
+ */
+public class NdjsonRecipientSource implements RecipientSource {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+    private static final TypeReference<Map<String, Object>> OBJECT = new TypeReference<>() {
+    };
+
+    private final Path file;
+
+    public NdjsonRecipientSource(Path file) {
+        this.file = file;
+    }
+
+    @Override
+    public Flux<CampaignRecipient> recipients(long offset) {
+        return RecipientFiles.lines(file, offset).map(this::recipient);
+    }
+
+    private CampaignRecipient recipient(String line) {
+        Map<String, Object> fields;
+        try {
+            fields = MAPPER.readValue(line, OBJECT);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Malformed recipient in " + file + ": " + e.getOriginalMessage(), e);
+        }
+        Object email = fields.remove("email");
+        Object userId = fields.remove("userId");
+        return CampaignRecipient.builder()
+                .email(email != null ? email.toString() : null)
+                .userId(userId != null ? userId.toString() : null)
+                .variables(fields)
+                .build();
+    }
+}
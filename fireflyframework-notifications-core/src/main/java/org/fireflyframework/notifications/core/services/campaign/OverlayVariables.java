@@ -0,0 +1,104 @@
+/*
+ * Copyright 2024-2026 Firefly Software Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.fireflyframework.notifications.core.services.campaign;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+/**
+ * Read-only view of a recipient's variables laid over the campaign's shared ones, so merging costs
+ * nothing per recipient however many shared variables there are.
+ */
+final class OverlayVariables extends AbstractMap<String, Object> {
+
+    private final Map<String, Object> top;
+    private final Map<String, Object> base;
+
+    OverlayVariables(Map<String, Object> top, Map<String, Object> base) {
+        this.top = top != null ? top : Map.of();
+        this.base = base != null ? base : Map.of();
+    }
+
+    @Override
+    public Object get(Object key) {
+        Object value = top.get(key);
+        return value != null || top.containsKey(key) ? value : base.get(key);
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        return top.containsKey(key) || base.containsKey(key);
+    }
+
+    @Override
+    public Set<Entry<String, Object>> entrySet() {
+        return new AbstractSet<>() {
+            @Override
+            public Iterator<Entry<String, Object>> iterator() {
+                return new Iterator<>() {
+                    private final Iterator<Entry<String, Object>> topEntries = top.entrySet().iterator();
+                    private final Iterator<Entry<String, Object>> baseEntries = base.entrySet().iterator();
+                    private Entry<String, Object> next;
+
+                    @Override
+                    public boolean hasNext() {
+                        if (next != null) {
+                            return true;
+                        }
+                        if (topEntries.hasNext()) {
+                            next = topEntries.next();
+                            return true;
+                        }
+                        while (baseEntries.hasNext()) {
+                            Entry<String, Object> entry = baseEntries.next();
+                            if (!top.containsKey(entry.getKey())) {
+                                next = entry;
+                                return true;
+                            }
+                        }
+                        return false;
+                    }
+
+                    @Override
+                    public Entry<String, Object> next() {
+                        if (!hasNext()) {
+                            throw new NoSuchElementException();
+                        }
+                        Entry<String, Object> entry = next;
+                        next = null;
+                        return entry;
+                    }
+                };
+            }
+
+            @Override
+            public int size() {
+                int size = top.size();
+                for (String key : base.keySet()) {
+                    if (!top.containsKey(key)) {
+                        size++;
+                    }
+                }
+                return size;
+            }
+        };
+    }
+}
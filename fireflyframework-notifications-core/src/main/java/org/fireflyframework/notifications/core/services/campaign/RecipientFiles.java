@@ -0,0 +1,56 @@
+/*
+ * Copyright 2024-2026 Firefly Software Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.fireflyframework.notifications.core.services.campaign;
+
+import reactor.core.publisher.Flux;
+import reactor.core.scheduler.Schedulers;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Line-oriented reading shared by the file-backed recipient sources.
+ */
+final class RecipientFiles {
+
+    private RecipientFiles() {
+    }
+
+    /**
+     * Streams the non-blank lines of a UTF-8 file, skipping the first {@code skip} of them,
+     * reading only as fast as the subscriber requests.
+     */
+    static Flux<String> lines(Path file, long skip) {
+        return Flux.using(
+                        () -> Files.newBufferedReader(file, StandardCharsets.UTF_8),
+                        reader -> Flux.fromStream(reader.lines()).filter(line -> !line.isBlank()).skip(skip),
+                        RecipientFiles::close)
+                .subscribeOn(Schedulers.boundedElastic());
+    }
+
+    private static void close(BufferedReader reader) {
+        try {
+            reader.close();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,56 @@
+/*
+ * Copyright 2024-2026 Firefly Software Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.fireflyframework.notifications.core.services.campaign;
+
+import reactor.core.publisher.Flux;
+
+import java.nio.file.Path;
+
+/**
+ * Supplies the recipients of a campaign as a stream, so the list is never held in memory.
+ */
+@FunctionalInterface
+public interface RecipientSource {
+
+    /**
+     * Emits the recipients in a stable order, starting with the one at position {@code offset};
+     * the {@link CampaignEngine} passes a non-zero offset when it resumes from a checkpoint.
+     */
+    Flux<CampaignRecipient> recipients(long offset);
+
+    /**
+     * Wraps a stream of recipients. To resume correctly it must emit the same recipients in the
+     * same order every time it is subscribed.
+     */
+    static RecipientSource of(Flux<CampaignRecipient> recipients) {
+        return offset -> recipients.skip(offset);
+    }
+
+    /**
+     * Reads a CSV file; see {@link CsvRecipientSource} for the expected columns.
+     */
+    static RecipientSource csv(Path file) {
+        return new CsvRecipientSource(file);
+    }
+
+    /**
+     * Reads a newline-delimited JSON file; see {@link NdjsonRecipientSource} for the expected fields.
+     */
+    static RecipientSource ndjson(Path file) {
+        return new NdjsonRecipientSource(file);
+    }
+}
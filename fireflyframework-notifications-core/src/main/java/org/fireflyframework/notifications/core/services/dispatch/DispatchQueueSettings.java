@@ -0,0 +1,68 @@
+/*
+ * Copyright 2024-2026 Firefly Software Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.fireflyframework.notifications.core.services.dispatch;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Duration;
+
+/**
+ * Settings for {@link NotificationDispatchQueue}.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class DispatchQueueSettings {
+
+    /**
+     * Queue capacity; rounded up to a power of two.
+     */
+    @Builder.Default
+    private int capacity = 8192;
+
+    /**
+     * Number of workers draining the queue. Workers only start sends, so a few are enough for any
+     * provider latency.
+     */
+    @Builder.Default
+    private int workers = Runtime.getRuntime().availableProcessors();
+
+    /**
+     * Maximum number of sends in flight across all workers; workers stop draining while it is reached.
+     */
+    @Builder.Default
+    private int maxInFlight = 1024;
+
+    /**
+     * Run workers on virtual threads, which suits services whose sends block the subscribing thread.
+     */
+    @Builder.Default
+    private boolean virtualThreads = false;
+
+    @Builder.Default
+    private FullQueuePolicy fullQueuePolicy = FullQueuePolicy.BLOCK;
+
+    /**
+     * Longest an enqueue waits for space under {@link FullQueuePolicy#BLOCK}.
+     */
+    @Builder.Default
+    private Duration blockTimeout = Duration.ofSeconds(30);
+}
@@ -0,0 +1,86 @@
+/*
+ * Copyright 2024-2026 Firefly Software Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.fireflyframework.notifications.core.services.dispatch;
+
+import reactor.core.publisher.Mono;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Handle for a request accepted by a {@link NotificationDispatchQueue}.
+ *
+ * @param <R> the channel response type
+ */
+public final class DispatchTicket<R> {
+
+    /**
+     * Lifecycle of a queued request.
+     */
+    public enum Status {
+        QUEUED,
+        DISPATCHING,
+        COMPLETED,
+        FAILED,
+        DROPPED
+    }
+
+    private final long id;
+    private final CompletableFuture<R> result = new CompletableFuture<>();
+    private volatile Status status = Status.QUEUED;
+
+    DispatchTicket(long id) {
+        this.id = id;
+    }
+
+    /**
+     * Sequence number of the request, unique per queue.
+     */
+    public long getId() {
+        return id;
+    }
+
+    public Status getStatus() {
+        return status;
+    }
+
+    /**
+     * Channel response once the request has been sent. Errors with the send failure, or with a
+     * {@link DispatchQueueFullException} if the request was dropped from the queue.
+     */
+    public Mono<R> result() {
+        return Mono.fromFuture(result, true);
+    }
+
+    void dispatching() {
+        status = Status.DISPATCHING;
+    }
+
+    void complete(R response) {
+        status = Status.COMPLETED;
+        result.complete(response);
+    }
+
+    void fail(Throwable error) {
+        status = Status.FAILED;
+        result.completeExceptionally(error);
+    }
+
+    void drop() {
+        status = Status.DROPPED;
+        result.completeExceptionally(new DispatchQueueFullException("Request " + id + " was dropped from a full dispatch queue"));
+    }
+}
@@ -0,0 +1,38 @@
+/*
+ * Copyright 2024-2026 Firefly Software Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.fireflyframework.notifications.core.services.dispatch;
+
+/**
+ * What the dispatch queue does with a request when it is full.
+ */
+public enum FullQueuePolicy {
+
+    /**
+     * Wait for space, up to the configured block timeout, then fail with a {@link DispatchQueueFullException}.
+     */
+    BLOCK,
+
+    /**
+     * Discard the oldest queued request, completing its ticket as {@link DispatchTicket.Status#DROPPED}.
+     */
+    DROP_OLDEST,
+
+    /**
+     * Fail the enqueue immediately with a {@link DispatchQueueFullException}.
+     */
+    REJECT
+}
@@ -0,0 +1,275 @@
+/*
+ * Copyright 2024-2026 Firefly Software Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.fireflyframework.notifications.core.services.dispatch;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.fireflyframework.notifications.core.services.email.v1.EmailService;
+import org.fireflyframework.notifications.core.services.push.v1.PushService;
+import org.fireflyframework.notifications.core.services.sms.v1.SMSService;
+import org.fireflyframework.notifications.interfaces.dtos.email.v1.EmailRequestDTO;
+import org.fireflyframework.notifications.interfaces.dtos.email.v1.EmailResponseDTO;
+import org.fireflyframework.notifications.interfaces.dtos.email.v1.EmailTemplateRequestDTO;
+import org.fireflyframework.notifications.interfaces.dtos.push.v1.PushNotificationRequest;
+import org.fireflyframework.notifications.interfaces.dtos.push.v1.PushNotificationResponse;
+import org.fireflyframework.notifications.interfaces.dtos.sms.v1.SMSRequestDTO;
+import org.fireflyframework.notifications.interfaces.dtos.sms.v1.SMSResponseDTO;
+import org.fireflyframework.notifications.observability.NotificationMetrics;
+import reactor.core.publisher.Mono;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Supplier;
+
+/**
+ * Fire-and-forget dispatch queue in front of the channel services.
+ *
+ * <p>{@code enqueue} places the request on a bounded lock-free {@link MpmcRingBuffer} and returns a
+ * {@link DispatchTicket} straight away; a pool of worker threads drains the buffer and sends each
+ * request through {@link EmailService}, {@link SMSService} or {@link PushService}. Workers subscribe to
+ * the send and move on without waiting for the provider, so up to
+ * {@link DispatchQueueSettings#getMaxInFlight()} sends are in flight at once whatever the worker count;
+ * a worker only waits when that limit is reached. Idle workers park and are woken by the next enqueue.
+ * When the buffer is full the {@link FullQueuePolicy} decides between waiting, evicting the oldest
+ * request and failing.
+ *
+ * <p>Queued requests live in memory only; use {@code NotificationOutbox} when they must survive a restart.
+ */
+@Slf4j
+public class NotificationDispatchQueue implements AutoCloseable {
+
+    private static final long MAX_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(10);
+
+    private final MpmcRingBuffer<Task<?>> buffer;
+    private final FullQueuePolicy policy;
+    private final long blockTimeoutNanos;
+    private final EmailService emailService;
+    private final SMSService smsService;
+    private final PushService pushService;
+    private final AtomicLong sequence = new AtomicLong();
+    private final Queue<Thread> idleWorkers = new ConcurrentLinkedQueue<>();
+    private final Semaphore inFlight;
+    private final List<Thread> workers;
+    private final Timer enqueueTimer;
+    private final Counter drained;
+    private final Counter dropped;
+    private final Counter rejected;
+    private volatile boolean closed;
+
+    public NotificationDispatchQueue(DispatchQueueSettings settings, EmailService emailService, SMSService smsService,
+                                     PushService pushService, NotificationMetrics metrics) {
+        this.buffer = new MpmcRingBuffer<>(settings.getCapacity());
+        this.policy = settings.getFullQueuePolicy();
+        this.blockTimeoutNanos = settings.getBlockTimeout().toNanos();
+        this.emailService = emailService;
+        this.smsService = smsService;
+        this.pushService = pushService;
+        this.inFlight = new Semaphore(Math.max(1, settings.getMaxInFlight()));
+        this.enqueueTimer = metrics != null ? metrics.dispatchEnqueueTimer() : null;
+        this.drained = metrics != null ? metrics.dispatchCounter("drained") : null;
+        this.dropped = metrics != null ? metrics.dispatchCounter("dropped") : null;
+        this.rejected = metrics != null ? metrics.dispatchCounter("rejected") : null;
+        if (metrics != null) {
+            metrics.registerDispatchQueue(buffer, MpmcRingBuffer::size);
+        }
+        int workerCount = Math.max(1, settings.getWorkers());
+        Thread.Builder builder = settings.isVirtualThreads()
+                ? Thread.ofVirtual().name("notification-dispatch-", 0)
+                : Thread.ofPlatform().name("notification-dispatch-", 0).daemon();
+        this.workers = new ArrayList<>(workerCount);
+        for (int i = 0; i < workerCount; i++) {
+            workers.add(builder.start(this::drain));
+        }
+        log.info("NotificationDispatchQueue initialized (capacity: {}, workers: {}, virtual: {}, max in flight: {}, "
+                        + "policy: {})",
+                buffer.capacity(), workerCount, settings.isVirtualThreads(), inFlight.availablePermits(), policy);
+    }
+
+    public NotificationDispatchQueue(DispatchQueueSettings settings, EmailService emailService, SMSService smsService,
+                                     PushService pushService) {
+        this(settings, emailService, smsService, pushService, null);
+    }
+
+    public DispatchTicket<EmailResponseDTO> enqueue(EmailRequestDTO request) {
+        return enqueue(emailService, () -> emailService.sendEmail(request));
+    }
+
+    public DispatchTicket<EmailResponseDTO> enqueue(EmailTemplateRequestDTO request) {
+        return enqueue(emailService, () -> emailService.sendTemplateEmail(request));
+    }
+
+    public DispatchTicket<SMSResponseDTO> enqueue(SMSRequestDTO request) {
+        return enqueue(smsService, () -> smsService.sendSMS(request));
+    }
+
+    public DispatchTicket<PushNotificationResponse> enqueue(PushNotificationRequest request) {
+        return enqueue(pushService, () -> pushService.sendPush(request));
+    }
+
+    /**
+     * Approximate number of queued requests.
+     */
+    public int getQueueDepth() {
+        return buffer.size();
+    }
+
+    /**
+     * Stops the workers. Requests still queued are failed; sends already in flight still complete their tickets.
+     */
+    @Override
+    public void close() {
+        closed = true;
+        workers.forEach(LockSupport::unpark);
+        for (Thread worker : workers) {
+            try {
+                worker.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+        }
+        Task<?> task;
+        while ((task = buffer.poll()) != null) {
+            task.ticket().fail(new IllegalStateException("Dispatch queue is closed"));
+        }
+    }
+
+    private <R> DispatchTicket<R> enqueue(Object service, Supplier<Mono<R>> send) {
+        if (service == null) {
+            throw new IllegalStateException("No service configured for this channel");
+        }
+        if (closed) {
+            throw new IllegalStateException("Dispatch queue is closed");
+        }
+        long start = System.nanoTime();
+        Task<R> task = new Task<>(new DispatchTicket<>(sequence.incrementAndGet()), send);
+        if (!buffer.offer(task)) {
+            offerWhenFull(task, start);
+        }
+        Thread idle = idleWorkers.poll();
+        if (idle != null) {
+            LockSupport.unpark(idle);
+        }
+        if (enqueueTimer != null) {
+            enqueueTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+        return task.ticket();
+    }
+
+    private void offerWhenFull(Task<?> task, long start) {
+        switch (policy) {
+            case REJECT -> reject();
+            case DROP_OLDEST -> {
+                while (!buffer.offer(task)) {
+                    Task<?> oldest = buffer.poll();
+                    if (oldest != null) {
+                        oldest.ticket().drop();
+                        increment(dropped);
+                    }
+                }
+            }
+            case BLOCK -> {
+                long parkNanos = 1_000;
+                while (!buffer.offer(task)) {
+                    if (closed || System.nanoTime() - start > blockTimeoutNanos) {
+                        reject();
+                    }
+                    LockSupport.parkNanos(parkNanos);
+                    parkNanos = Math.min(parkNanos * 2, MAX_PARK_NANOS);
+                }
+            }
+        }
+    }
+
+    private void reject() {
+        increment(rejected);
+        throw new DispatchQueueFullException("Dispatch queue is full (" + buffer.capacity() + " requests)");
+    }
+
+    private void drain() {
+        Thread self = Thread.currentThread();
+        while (!closed) {
+            if (!acquireSendPermit()) {
+                continue;
+            }
+            Task<?> task = buffer.poll();
+            if (task == null) {
+                inFlight.release();
+                idleWorkers.add(self);
+                if (buffer.size() == 0 && !closed) {
+                    LockSupport.parkNanos(this, MAX_PARK_NANOS);
+                }
+                idleWorkers.remove(self);
+                continue;
+            }
+            run(task);
+            increment(drained);
+        }
+    }
+
+    private boolean acquireSendPermit() {
+        try {
+            return inFlight.tryAcquire(MAX_PARK_NANOS, TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            closed = true;
+            return false;
+        }
+    }
+
+    /**
+     * Starts the send and returns; the permit taken by the worker is released when the send finishes.
+     */
+    private <R> void run(Task<R> task) {
+        DispatchTicket<R> ticket = task.ticket();
+        ticket.dispatching();
+        Mono<R> send;
+        try {
+            send = task.send().get();
+        } catch (RuntimeException e) {
+            inFlight.release();
+            failed(ticket, e);
+            return;
+        }
+        send.map(Optional::of)
+                .defaultIfEmpty(Optional.empty())
+                .doFinally(signal -> inFlight.release())
+                .subscribe(response -> ticket.complete(response.orElse(null)), error -> failed(ticket, error));
+    }
+
+    private static void failed(DispatchTicket<?> ticket, Throwable error) {
+        log.debug("Queued request {} failed", ticket.getId(), error);
+        ticket.fail(error);
+    }
+
+    private static void increment(Counter counter) {
+        if (counter != null) {
+            counter.increment();
+        }
+    }
+
+    private record Task<R>(DispatchTicket<R> ticket, Supplier<Mono<R>> send) {
+    }
+}
@@ -20,6 +20,7 @@ package org.fireflyframework.notifications.core.services.email.v1;
 import org.fireflyframework.notifications.interfaces.dtos.email.v1.EmailRequestDTO;
 import org.fireflyframework.notifications.interfaces.dtos.email.v1.EmailResponseDTO;
 import org.fireflyframework.notifications.interfaces.dtos.email.v1.EmailTemplateRequestDTO;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
 public interface EmailService {
@@ -35,4 +36,16 @@ public interface EmailService {
         return Mono.error(new UnsupportedOperationException(
                 "Template email not supported. Configure a NotificationTemplateEngine bean."));
     }
+
+    /**
+     * Send a stream of emails in bulk. Responses are emitted one per request, in request order;
+     * a failed send yields a {@code FAILED} response instead of terminating the stream.
+     *
+     * @param requests the emails to send
+     * @return a Flux emitting one response per request
+     */
+    default Flux<EmailResponseDTO> sendEmails(Flux<EmailRequestDTO> requests) {
+        return requests.concatMap(request -> sendEmail(request)
+                .onErrorResume(error -> Mono.just(EmailResponseDTO.error(error.getMessage()))));
+    }
 }
\ No newline at end of file
@@ -18,28 +18,71 @@
 package org.fireflyframework.notifications.core.services.email.v1;
 
 import lombok.extern.slf4j.Slf4j;
+import org.fireflyframework.notifications.core.services.attachments.AttachmentStore;
+import org.fireflyframework.notifications.core.services.attachments.StoredAttachment;
+import org.fireflyframework.notifications.core.services.idempotency.IdempotencyCache;
+import org.fireflyframework.notifications.core.services.preferences.NotificationPreferenceService;
+import org.fireflyframework.notifications.core.services.preferences.PreferenceGate;
+import org.fireflyframework.notifications.core.services.ratelimit.NotificationRateLimiters;
+import org.fireflyframework.notifications.core.services.ratelimit.TokenBucketRateLimiter;
 import org.fireflyframework.notifications.core.services.template.NotificationTemplateEngine;
+import org.fireflyframework.notifications.interfaces.dtos.email.v1.EmailAttachmentDTO;
 import org.fireflyframework.notifications.interfaces.dtos.email.v1.EmailRequestDTO;
 import org.fireflyframework.notifications.interfaces.dtos.email.v1.EmailResponseDTO;
 import org.fireflyframework.notifications.interfaces.dtos.email.v1.EmailTemplateRequestDTO;
+import org.fireflyframework.notifications.interfaces.enums.EmailStatusEnum;
 import org.fireflyframework.notifications.interfaces.providers.email.v1.EmailProvider;
+import org.fireflyframework.notifications.observability.NotificationMetrics;
+import org.fireflyframework.notifications.observability.SendMeters;
+import org.fireflyframework.notifications.observability.SendMeters.Outcome;
+import org.fireflyframework.notifications.observability.SendMeters.Stage;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
 import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
 @Service
 @Slf4j
 public class EmailServiceImpl implements EmailService {
 
+    private static final String CHANNEL = "email";
+
     @Autowired
     private EmailProvider emailProvider;
 
     @Autowired(required = false)
     private NotificationTemplateEngine templateEngine;
 
+    @Autowired(required = false)
+    private NotificationRateLimiters rateLimiters;
+
+    @Autowired(required = false)
+    private IdempotencyCache idempotencyCache;
+
+    @Autowired(required = false)
+    private NotificationPreferenceService preferenceService;
+
+    @Autowired(required = false)
+    private AttachmentStore attachmentStore;
+
+    @Autowired(required = false)
+    private NotificationMetrics metrics;
+
     @Override
     public Mono<EmailResponseDTO> sendEmail(EmailRequestDTO request) {
-        return emailProvider.sendEmail(request);
+        SendMeters meters = meters();
+        return meters.timed(Stage.TOTAL, gated(meters, request.getUserId(), () -> deduplicated(request.getIdempotencyKey(),
+                () -> throttled(1, () -> withAttachments(List.of(request),
+                        ready -> meters.timed(Stage.PROVIDER, emailProvider.sendEmail(ready.get(0))))))),
+                EmailServiceImpl::outcome);
     }
 
     @Override
@@ -49,19 +92,225 @@ public class EmailServiceImpl implements EmailService {
                     "Template email not supported. Configure a NotificationTemplateEngine bean."));
         }
 
-        return templateEngine.render(request.getTemplateId(), request.getTemplateVariables())
-                .flatMap(renderedHtml -> {
-                    EmailRequestDTO emailRequest = EmailRequestDTO.builder()
-                            .from(request.getFrom())
-                            .to(request.getTo())
-                            .cc(request.getCc())
-                            .bcc(request.getBcc())
-                            .subject(request.getSubject())
-                            .html(renderedHtml)
-                            .build();
-                    return emailProvider.sendEmail(emailRequest);
-                })
+        EmailRequestDTO emailRequest = EmailRequestDTO.builder()
+                .from(request.getFrom())
+                .to(request.getTo())
+                .cc(request.getCc())
+                .bcc(request.getBcc())
+                .subject(request.getSubject())
+                .userId(request.getUserId())
+                .idempotencyKey(request.getIdempotencyKey())
+                .build();
+        SendMeters meters = meters();
+        return meters.timed(Stage.TOTAL, gated(meters, request.getUserId(), () -> deduplicated(request.getIdempotencyKey(),
+                        () -> throttled(1, () -> renderAndSend(meters, request, emailRequest)))),
+                        EmailServiceImpl::outcome)
                 .doOnError(e -> log.error("Failed to send template email '{}': {}",
                         request.getTemplateId(), e.getMessage()));
     }
+
+    /**
+     * Renders the template into a pooled buffer and hands it to the provider, releasing it afterwards.
+     */
+    private Mono<EmailResponseDTO> renderAndSend(SendMeters meters, EmailTemplateRequestDTO request,
+                                                 EmailRequestDTO emailRequest) {
+        Mono<DataBuffer> render = templateEngine.renderToBuffer(
+                request.getTemplateId(), request.getLocale(), request.getTemplateVariables());
+        return Mono.usingWhen(
+                meters.timed(Stage.RENDER, metrics != null ? metrics.timedRender(request.getTemplateId(), render) : render),
+                renderedHtml -> meters.timed(Stage.PROVIDER, emailProvider.sendEmail(emailRequest, renderedHtml)),
+                renderedHtml -> Mono.fromRunnable(() -> DataBufferUtils.release(renderedHtml)));
+    }
+
+    @Override
+    public Flux<EmailResponseDTO> sendEmails(Flux<EmailRequestDTO> requests) {
+        int batchSize = Math.max(1, emailProvider.getMaxBatchSize());
+        int concurrency = Math.max(1, emailProvider.getMaxConcurrentBatches());
+        return requests
+                .buffer(batchSize)
+                .flatMapSequential(this::sendBatch, concurrency)
+                .flatMapIterable(responses -> responses);
+    }
+
+    /**
+     * Sends one provider-sized batch and guarantees exactly one response per request, so a
+     * partial or failed batch never shifts the results of the batches after it. Requests for
+     * users who opted out of email are answered with SUPPRESSED without reaching the provider.
+     */
+    private Mono<List<EmailResponseDTO>> sendBatch(List<EmailRequestDTO> batch) {
+        SendMeters meters = meters();
+        return meters.timed(Stage.PREFERENCE,
+                        PreferenceGate.allowed(preferenceService, batch, EmailRequestDTO::getUserId, CHANNEL))
+                .flatMap(allowed -> PreferenceGate.sendAllowed(batch, allowed, allowedBatch -> sendAllowed(meters, allowedBatch),
+                        i -> EmailResponseDTO.suppressed()))
+                .onErrorResume(error -> Mono.just(failedBatch(batch, error)))
+                .doOnNext(responses -> responses.forEach(response -> meters.count(outcome(response))));
+    }
+
+    private Mono<List<EmailResponseDTO>> sendAllowed(SendMeters meters, List<EmailRequestDTO> batch) {
+        return throttled(batch.size(), () -> withAttachments(batch,
+                        ready -> meters.timed(Stage.PROVIDER, emailProvider.sendEmailBatch(ready).collectList())))
+                .map(responses -> alignResponses(batch, responses))
+                .onErrorResume(error -> Mono.just(failedBatch(batch, error)));
+    }
+
+    private static List<EmailResponseDTO> failedBatch(List<EmailRequestDTO> batch, Throwable error) {
+        log.error("Failed to send email batch of {}: {}", batch.size(), error.getMessage());
+        List<EmailResponseDTO> failed = new ArrayList<>(batch.size());
+        for (int i = 0; i < batch.size(); i++) {
+            failed.add(EmailResponseDTO.error(error.getMessage()));
+        }
+        return failed;
+    }
+
+    /**
+     * Prepares the attachments of {@code requests} for the provider, then sends. Stored-attachment
+     * references are resolved to the shared content and held until the send terminates, so the
+     * store cannot evict content that is still being uploaded. Providers without streaming support
+     * get the store's shared heap copy, so they are not handed a fresh array per send either.
+     */
+    private <T> Mono<T> withAttachments(List<EmailRequestDTO> requests, Function<List<EmailRequestDTO>, Mono<T>> send) {
+        if (requests.stream().allMatch(EmailServiceImpl::hasOnlyInMemoryAttachments)) {
+            return send.apply(requests);
+        }
+        return Mono.using(ArrayList<StoredAttachment>::new,
+                acquired -> Flux.fromIterable(requests)
+                        .concatMap(request -> readable(resolved(request, acquired)))
+                        .collectList()
+                        .flatMap(send),
+                acquired -> acquired.forEach(stored -> attachmentStore.release(stored)));
+    }
+
+    private EmailRequestDTO resolved(EmailRequestDTO request, List<StoredAttachment> acquired) {
+        List<EmailAttachmentDTO> attachments = request.getAttachments();
+        if (attachments == null || attachments.stream().noneMatch(EmailServiceImpl::isReference)) {
+            return request;
+        }
+        if (attachmentStore == null) {
+            throw new IllegalStateException("Stored attachment references require an AttachmentStore bean");
+        }
+        List<EmailAttachmentDTO> resolved = new ArrayList<>(attachments.size());
+        for (EmailAttachmentDTO attachment : attachments) {
+            if (!isReference(attachment)) {
+                resolved.add(attachment);
+                continue;
+            }
+            StoredAttachment stored = attachmentStore.acquire(attachment.getContentDigest());
+            if (stored == null) {
+                throw new IllegalStateException("Attachment '" + attachment.getFilename()
+                        + "' refers to content " + attachment.getContentDigest() + " that is not stored");
+            }
+            acquired.add(stored);
+            EmailAttachmentDTO.EmailAttachmentDTOBuilder shared = attachment.toBuilder()
+                    .contentType(attachment.getContentType() != null ? attachment.getContentType() : stored.getContentType())
+                    .encodedContent(stored.base64());
+            resolved.add(emailProvider.supportsStreamingAttachments()
+                    ? shared.buffer(stored.content()).build()
+                    : shared.content(stored.array()).build());
+        }
+        return request.toBuilder().attachments(resolved).build();
+    }
+
+    private static boolean isReference(EmailAttachmentDTO attachment) {
+        return attachment.getContentDigest() != null && !attachment.isInMemory() && attachment.getBuffer() == null
+                && attachment.getFile() == null && attachment.getContentStream() == null;
+    }
+
+    private static boolean hasOnlyInMemoryAttachments(EmailRequestDTO request) {
+        return request.getAttachments() == null
+                || request.getAttachments().stream().allMatch(EmailAttachmentDTO::isInMemory);
+    }
+
+    /**
+     * Reads file-, buffer- and stream-backed attachments into memory for providers that only
+     * understand {@link EmailAttachmentDTO#getContent()}. The caller's request is left untouched,
+     * so the copied bytes become garbage as soon as the send completes.
+     */
+    private Mono<EmailRequestDTO> readable(EmailRequestDTO request) {
+        List<EmailAttachmentDTO> attachments = request.getAttachments();
+        if (emailProvider.supportsStreamingAttachments() || hasOnlyInMemoryAttachments(request)) {
+            return Mono.just(request);
+        }
+        return Flux.fromIterable(attachments)
+                .concatMap(EmailServiceImpl::inMemory)
+                .collectList()
+                .map(inMemory -> request.toBuilder().attachments(inMemory).build());
+    }
+
+    private static Mono<EmailAttachmentDTO> inMemory(EmailAttachmentDTO attachment) {
+        if (attachment.isInMemory()) {
+            return Mono.just(attachment);
+        }
+        return DataBufferUtils.join(attachment.streamContent(DefaultDataBufferFactory.sharedInstance))
+                .map(joined -> {
+                    byte[] content = new byte[joined.readableByteCount()];
+                    joined.read(content);
+                    DataBufferUtils.release(joined);
+                    return content;
+                })
+                .defaultIfEmpty(new byte[0])
+                .map(content -> attachment.toBuilder()
+                        .content(content)
+                        .file(null)
+                        .buffer(null)
+                        .contentStream(null)
+                        .build());
+    }
+
+    /**
+     * Answers with SUPPRESSED instead of sending when the user opted out of email.
+     */
+    private Mono<EmailResponseDTO> gated(SendMeters meters, String userId, Supplier<Mono<EmailResponseDTO>> send) {
+        if (preferenceService == null || userId == null) {
+            return send.get();
+        }
+        return meters.timed(Stage.PREFERENCE, PreferenceGate.allows(preferenceService, userId, CHANNEL))
+                .flatMap(allowed -> allowed ? send.get() : Mono.just(EmailResponseDTO.suppressed()));
+    }
+
+    /**
+     * Answers repeats of an idempotency key from the cache, if one is configured. Failed sends are not remembered.
+     */
+    private Mono<EmailResponseDTO> deduplicated(String idempotencyKey, Supplier<Mono<EmailResponseDTO>> send) {
+        return idempotencyCache != null
+                ? idempotencyCache.execute(CHANNEL, idempotencyKey, send,
+                        response -> response.getStatus() != EmailStatusEnum.FAILED)
+                : send.get();
+    }
+
+    private SendMeters meters() {
+        return metrics != null ? metrics.sendMeters(CHANNEL, emailProvider.getProviderName()) : SendMeters.DISABLED;
+    }
+
+    private static Outcome outcome(EmailResponseDTO response) {
+        return switch (response.getStatus()) {
+            case SENT -> Outcome.SUCCESS;
+            case SUPPRESSED -> Outcome.SUPPRESSED;
+            case FAILED -> Outcome.FAILURE;
+            case null -> Outcome.FAILURE;
+        };
+    }
+
+    /**
+     * Applies the provider's rate limit, if one is registered, before subscribing to {@code send}.
+     */
+    private <T> Mono<T> throttled(int permits, Supplier<Mono<T>> send) {
+        TokenBucketRateLimiter limiter = rateLimiters != null
+                ? rateLimiters.find(CHANNEL, emailProvider.getProviderName())
+                : null;
+        return limiter != null ? limiter.acquire(permits).then(Mono.defer(send)) : send.get();
+    }
+
+    private static List<EmailResponseDTO> alignResponses(List<EmailRequestDTO> batch, List<EmailResponseDTO> responses) {
+        if (responses.size() == batch.size()) {
+            return responses;
+        }
+        List<EmailResponseDTO> aligned = new ArrayList<>(batch.size());
+        for (int i = 0; i < batch.size(); i++) {
+            aligned.add(i < responses.size()
+                    ? responses.get(i)
+                    : EmailResponseDTO.error("Provider returned no response for this request"));
+        }
+        return aligned;
+    }
 }
\ No newline at end of file
@@ -0,0 +1,70 @@
+/*
+ * Copyright 2024-2026 Firefly Software Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.fireflyframework.notifications.core.services.hedging;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Duration;
+
+/**
+ * Hedging settings for one channel.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class HedgingSettings {
+
+    /**
+     * Latency percentile of recent sends after which a hedged attempt is started (e.g., 0.95).
+     */
+    @Builder.Default
+    private double delayPercentile = 0.95;
+
+    /**
+     * Hedge delay used until enough latency samples have been collected.
+     */
+    @Builder.Default
+    private Duration initialDelay = Duration.ofMillis(250);
+
+    /**
+     * Lower bound of the hedge delay.
+     */
+    @Builder.Default
+    private Duration minDelay = Duration.ofMillis(20);
+
+    /**
+     * Upper bound of the hedge delay.
+     */
+    @Builder.Default
+    private Duration maxDelay = Duration.ofSeconds(2);
+
+    /**
+     * Maximum extra traffic caused by hedged attempts, as a percentage of sends.
+     */
+    @Builder.Default
+    private double budgetPercent = 5.0;
+
+    /**
+     * Number of recent send latencies the delay percentile is computed from.
+     */
+    @Builder.Default
+    private int sampleWindow = 1024;
+}
@@ -0,0 +1,79 @@
+/*
+ * Copyright 2024-2026 Firefly Software Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.fireflyframework.notifications.core.services.hedging;
+
+import lombok.extern.slf4j.Slf4j;
+import org.fireflyframework.notifications.observability.NotificationMetrics;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Registry of per-channel {@link RequestHedger}s.
+ *
+ * <p>Hedging is opt-in: declare this registry as a bean and register the channels to hedge. The
+ * SMS and push services then send a hedged attempt to the second-highest priority provider bean,
+ * or to the same provider when only one is configured.
+ *
+ * <pre>{@code
+ * @Bean
+ * NotificationHedging notificationHedging(ObjectProvider<NotificationMetrics> metrics) {
+ *     return new NotificationHedging(metrics.getIfAvailable())
+ *             .register("sms", HedgingSettings.builder().delayPercentile(0.95).budgetPercent(5).build());
+ * }
+ * }</pre>
+ */
+@Slf4j
+public class NotificationHedging {
+
+    private final Map<String, RequestHedger> hedgers = new ConcurrentHashMap<>();
+    private final NotificationMetrics metrics;
+
+    public NotificationHedging(NotificationMetrics metrics) {
+        this.metrics = metrics;
+    }
+
+    public NotificationHedging() {
+        this(null);
+    }
+
+    /**
+     * Enables (or reconfigures) hedging for a channel.
+     */
+    public NotificationHedging register(String channel, HedgingSettings settings) {
+        RequestHedger hedger = metrics != null
+                ? new RequestHedger(settings,
+                        metrics.hedgeCounter(channel, "fired"),
+                        metrics.hedgeCounter(channel, "won"),
+                        metrics.hedgeCounter(channel, "budget_exhausted"))
+                : new RequestHedger(settings);
+        if (metrics != null) {
+            metrics.registerHedger(channel, hedger, h -> h.getDelay().toNanos() / 1_000_000.0);
+        }
+        hedgers.put(channel, hedger);
+        log.info("Enabled hedging for {} at p{} with a {}% budget",
+                channel, settings.getDelayPercentile() * 100, settings.getBudgetPercent());
+        return this;
+    }
+
+    /**
+     * Returns the hedger for a channel, or {@code null} if the channel is not hedged.
+     */
+    public RequestHedger find(String channel) {
+        return hedgers.get(channel);
+    }
+}
@@ -0,0 +1,164 @@
+/*
+ * Copyright 2024-2026 Firefly Software Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.fireflyframework.notifications.core.services.hedging;
+
+import io.micrometer.core.instrument.Counter;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.Supplier;
+
+/**
+ * Issues hedged requests for one channel.
+ *
+ * <p>A send that has not completed within the configured percentile of recent send latencies
+ * starts a second attempt; whichever attempt emits first wins and the other is cancelled. Each send
+ * is sampled once, from its start until the winner emits: when the hedge wins, that is also a lower
+ * bound on the cancelled primary's latency, so a consistently slow primary keeps the delay up
+ * instead of letting fast hedges pull it down. A send cancelled by the caller is sampled the same
+ * way once it has been pending for at least the current delay. Hedges are paid for from a budget that every send tops up by
+ * {@link HedgingSettings#getBudgetPercent()} percent of a hedge, so hedged attempts never exceed
+ * that share of traffic even when a provider slows down as a whole.
+ *
+ * <p>Only slowness is hedged: an error from the first attempt is returned as is, and a failed
+ * hedge leaves the first attempt running. Cancelling the losing attempt cannot undo a message the
+ * provider has already accepted, so hedging trades occasional duplicates for tail latency.
+ */
+public class RequestHedger {
+
+    private static final long HEDGE_COST = 1000L;
+    private static final long MAX_CREDIT = 10 * HEDGE_COST;
+    private static final int MIN_SAMPLES = 100;
+
+    private final double delayPercentile;
+    private final long minDelayNanos;
+    private final long maxDelayNanos;
+    private final long creditPerSend;
+    private final AtomicLongArray samples;
+    private final int recomputeInterval;
+    private final AtomicLong sampleCount = new AtomicLong();
+    private final AtomicLong credit = new AtomicLong(MAX_CREDIT);
+    private final Counter fired;
+    private final Counter won;
+    private final Counter budgetExhausted;
+    private volatile long delayNanos;
+
+    public RequestHedger(HedgingSettings settings, Counter fired, Counter won, Counter budgetExhausted) {
+        this.delayPercentile = settings.getDelayPercentile();
+        this.minDelayNanos = settings.getMinDelay().toNanos();
+        this.maxDelayNanos = settings.getMaxDelay().toNanos();
+        this.creditPerSend = Math.round(settings.getBudgetPercent() / 100.0 * HEDGE_COST);
+        this.samples = new AtomicLongArray(Math.max(MIN_SAMPLES, settings.getSampleWindow()));
+        this.recomputeInterval = Math.max(1, samples.length() / 8);
+        this.delayNanos = settings.getInitialDelay().toNanos();
+        this.fired = fired;
+        this.won = won;
+        this.budgetExhausted = budgetExhausted;
+    }
+
+    public RequestHedger(HedgingSettings settings) {
+        this(settings, null, null, null);
+    }
+
+    /**
+     * Runs {@code primary}, and {@code hedge} as well if {@code primary} is still pending after the
+     * current hedge delay and the budget allows it.
+     */
+    public <T> Mono<T> hedge(Supplier<Mono<T>> primary, Supplier<Mono<T>> hedge) {
+        return Mono.defer(() -> {
+            deposit();
+            long start = System.nanoTime();
+            long delay = delayNanos;
+            Mono<T> second = Mono.delay(Duration.ofNanos(delay))
+                    .flatMap(tick -> {
+                        if (!withdraw()) {
+                            increment(budgetExhausted);
+                            return Mono.never();
+                        }
+                        increment(fired);
+                        return Mono.defer(hedge)
+                                .doOnSuccess(value -> increment(won))
+                                .onErrorResume(error -> Mono.never());
+                    });
+            return Mono.firstWithSignal(Mono.defer(primary), second)
+                    .doOnSuccess(value -> recordLatency(System.nanoTime() - start))
+                    .doOnCancel(() -> {
+                        // A shorter lower bound says nothing about the tail the delay is chosen from
+                        long elapsed = System.nanoTime() - start;
+                        if (elapsed >= delay) {
+                            recordLatency(elapsed);
+                        }
+                    });
+        });
+    }
+
+    /**
+     * Delay after which a pending send is currently hedged.
+     */
+    public Duration getDelay() {
+        return Duration.ofNanos(delayNanos);
+    }
+
+    private void deposit() {
+        long current;
+        do {
+            current = credit.get();
+            if (current >= MAX_CREDIT) {
+                return;
+            }
+        } while (!credit.compareAndSet(current, Math.min(MAX_CREDIT, current + creditPerSend)));
+    }
+
+    private boolean withdraw() {
+        long current;
+        do {
+            current = credit.get();
+            if (current < HEDGE_COST) {
+                return false;
+            }
+        } while (!credit.compareAndSet(current, current - HEDGE_COST));
+        return true;
+    }
+
+    private void recordLatency(long nanos) {
+        long count = sampleCount.getAndIncrement();
+        samples.set((int) (count % samples.length()), nanos);
+        long recorded = count + 1;
+        if (recorded >= MIN_SAMPLES && recorded % recomputeInterval == 0) {
+            recomputeDelay((int) Math.min(recorded, samples.length()));
+        }
+    }
+
+    private void recomputeDelay(int count) {
+        long[] window = new long[count];
+        for (int i = 0; i < count; i++) {
+            window[i] = samples.get(i);
+        }
+        Arrays.sort(window);
+        int index = (int) Math.min(count - 1, Math.max(0, Math.ceil(delayPercentile * count) - 1));
+        delayNanos = Math.max(minDelayNanos, Math.min(maxDelayNanos, window[index]));
+    }
+
+    private static void increment(Counter counter) {
+        if (counter != null) {
+            counter.increment();
+        }
+    }
+}
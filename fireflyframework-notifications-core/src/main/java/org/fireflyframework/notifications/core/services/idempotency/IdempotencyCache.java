@@ -0,0 +1,114 @@
+/*
+ * Copyright 2024-2026 Firefly Software Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.fireflyframework.notifications.core.services.idempotency;
+
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import org.fireflyframework.notifications.observability.NotificationMetrics;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+/**
+ * Suppresses duplicate sends that carry the same idempotency key.
+ *
+ * <p>The first send for a key runs and its pending result is stored in a bounded Caffeine cache
+ * (itself striped, so lookups do not contend on one lock). A repeat that arrives while that send
+ * is in flight joins it; a repeat within {@code window} after it succeeded gets the same response.
+ * Failed sends, whether errors or failure responses, are forgotten so that a retry sends again.
+ * The first send keeps running if its own subscriber cancels, since later repeats may be waiting on it.
+ *
+ * <p>Keys are scoped per channel. Declare a bean to enable deduplication in the channel services.
+ */
+public class IdempotencyCache {
+
+    private final AsyncCache<String, Object> results;
+    private final NotificationMetrics metrics;
+    private final Map<String, Counter> duplicates = new ConcurrentHashMap<>();
+
+    public IdempotencyCache(Duration window, long maximumSize, NotificationMetrics metrics) {
+        this.results = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(window)
+                .buildAsync();
+        this.metrics = metrics;
+    }
+
+    public IdempotencyCache(Duration window, long maximumSize) {
+        this(window, maximumSize, null);
+    }
+
+    /**
+     * Runs {@code send} unless a send with the same channel and key is in flight or succeeded within
+     * the window, in which case its result is returned instead.
+     *
+     * @param key       the idempotency key; {@code null} disables deduplication for this send
+     * @param succeeded whether a response should be remembered
+     */
+    @SuppressWarnings("unchecked")
+    public <T> Mono<T> execute(String channel, String key, Supplier<Mono<T>> send, Predicate<? super T> succeeded) {
+        if (key == null) {
+            return Mono.defer(send);
+        }
+        String cacheKey = channel + '\u0000' + key;
+        return Mono.defer(() -> {
+            CompletableFuture<Object> pending = new CompletableFuture<>();
+            CompletableFuture<Object> existing = results.asMap().putIfAbsent(cacheKey, pending);
+            if (existing != null) {
+                recordDuplicate(channel);
+                return Mono.fromFuture(existing, true).map(result -> (T) result);
+            }
+            Mono.defer(send).subscribe(
+                    result -> {
+                        if (!succeeded.test(result)) {
+                            results.asMap().remove(cacheKey, pending);
+                        }
+                        pending.complete(result);
+                    },
+                    error -> {
+                        results.asMap().remove(cacheKey, pending);
+                        pending.completeExceptionally(error);
+                    },
+                    () -> {
+                        if (!pending.isDone()) {
+                            results.asMap().remove(cacheKey, pending);
+                            pending.complete(null);
+                        }
+                    });
+            return Mono.fromFuture(pending, true).map(result -> (T) result);
+        });
+    }
+
+    /**
+     * Approximate number of remembered keys.
+     */
+    public long size() {
+        return results.synchronous().estimatedSize();
+    }
+
+    private void recordDuplicate(String channel) {
+        if (metrics != null) {
+            duplicates.computeIfAbsent(channel, metrics::idempotencyDuplicateCounter).increment();
+        }
+    }
+}
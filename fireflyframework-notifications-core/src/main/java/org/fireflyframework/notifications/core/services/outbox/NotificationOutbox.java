@@ -0,0 +1,180 @@
+/*
+ * Copyright 2024-2026 Firefly Software Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.fireflyframework.notifications.core.services.outbox;
+
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.fireflyframework.notifications.core.services.email.v1.EmailService;
+import org.fireflyframework.notifications.core.services.push.v1.PushService;
+import org.fireflyframework.notifications.core.services.sms.v1.SMSService;
+import org.fireflyframework.notifications.interfaces.dtos.email.v1.EmailRequestDTO;
+import org.fireflyframework.notifications.interfaces.dtos.email.v1.EmailTemplateRequestDTO;
+import org.fireflyframework.notifications.interfaces.dtos.push.v1.PushNotificationRequest;
+import org.fireflyframework.notifications.interfaces.dtos.sms.v1.SMSRequestDTO;
+import org.fireflyframework.notifications.observability.NotificationMetrics;
+import reactor.core.Disposable;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.core.scheduler.Schedulers;
+import reactor.util.concurrent.Queues;
+
+import java.time.Duration;
+
+/**
+ * Durable outbox in front of the channel services.
+ *
+ * <p>{@code submit} appends the request to an {@link OutboxLog} and completes with its offset as
+ * soon as the record is durable, without waiting for the provider. Records are then dispatched
+ * asynchronously through {@link EmailService}, {@link SMSService} or {@link PushService} by an
+ * {@link OutboxSender}, which retries errors and {@code FAILED} responses with exponential backoff, and
+ * acknowledged once the provider accepted them (or they were suppressed by the user's preferences). Records whose attempts are
+ * exhausted stay in the log; they and any others still unacknowledged when the outbox is opened are
+ * dispatched again.
+ *
+ * <pre>{@code
+ * @Bean(destroyMethod = "close")
+ * NotificationOutbox notificationOutbox(EmailService email, SMSService sms, PushService push) {
+ *     return new NotificationOutbox(OutboxSettings.builder().directory(Path.of("/var/lib/app/outbox")).build(),
+ *             email, sms, push);
+ * }
+ * }</pre>
+ *
+ * <p>Any of the services may be {@code null}; submitting a request for a missing service fails.
+ */
+@Slf4j
+public class NotificationOutbox implements AutoCloseable {
+
+    private final OutboxSettings settings;
+    private final OutboxLog outboxLog;
+    private final OutboxSender sender;
+    private final Timer appendTimer;
+    private final Sinks.Many<Pending> queue = Sinks.many().unicast()
+            .onBackpressureBuffer(Queues.<Pending>unboundedMultiproducer().get());
+    private final Disposable dispatcher;
+    private final Disposable compactor;
+
+    public NotificationOutbox(OutboxSettings settings, EmailService emailService, SMSService smsService,
+                              PushService pushService, NotificationMetrics metrics) {
+        this.settings = settings;
+        this.outboxLog = new OutboxLog(settings);
+        this.sender = new OutboxSender(emailService, smsService, pushService, settings.getMaxAttempts(),
+                settings.getRetryBackoff());
+        this.appendTimer = metrics != null ? metrics.outboxAppendTimer() : null;
+        if (metrics != null) {
+            metrics.registerOutbox(outboxLog, OutboxLog::getLiveCount, OutboxLog::getSegmentCount);
+        }
+        this.dispatcher = queue.asFlux()
+                .flatMap(this::dispatch, Math.max(1, settings.getDispatchConcurrency()))
+                .subscribe();
+        this.compactor = Mono.delay(settings.getCompactionInterval(), Schedulers.boundedElastic())
+                .repeat()
+                .subscribe(tick -> compact());
+        for (OutboxRecord record : outboxLog.recoveredRecords()) {
+            try {
+                enqueue(record, OutboxCodec.decode(record.getType(), outboxLog.read(record)));
+            } catch (RuntimeException e) {
+                log.error("Dropping unreadable outbox record at offset {}", record.getOffset(), e);
+                outboxLog.ack(record);
+            }
+        }
+    }
+
+    public NotificationOutbox(OutboxSettings settings, EmailService emailService, SMSService smsService,
+                              PushService pushService) {
+        this(settings, emailService, smsService, pushService, null);
+    }
+
+    public Mono<Long> submit(EmailRequestDTO request) {
+        return append(request);
+    }
+
+    public Mono<Long> submit(EmailTemplateRequestDTO request) {
+        return append(request);
+    }
+
+    public Mono<Long> submit(SMSRequestDTO request) {
+        return append(request);
+    }
+
+    public Mono<Long> submit(PushNotificationRequest request) {
+        return append(request);
+    }
+
+    /**
+     * Number of accepted requests not yet acknowledged.
+     */
+    public long getPendingCount() {
+        return outboxLog.getLiveCount();
+    }
+
+    /**
+     * Runs a compaction pass now; it also runs every {@link OutboxSettings#getCompactionInterval()}.
+     */
+    public void compact() {
+        try {
+            outboxLog.compact(settings.getCompactionThreshold());
+        } catch (RuntimeException e) {
+            log.warn("Outbox compaction failed", e);
+        }
+    }
+
+    /**
+     * Stops dispatching and closes the log. Requests still in flight are dispatched again on the
+     * next start.
+     */
+    @Override
+    public void close() {
+        compactor.dispose();
+        dispatcher.dispose();
+        outboxLog.close();
+    }
+
+    private Mono<Long> append(Object request) {
+        return Mono.defer(() -> {
+            if (!sender.supports(request)) {
+                return Mono.error(new IllegalStateException(
+                        "No service configured for " + request.getClass().getSimpleName()));
+            }
+            long start = System.nanoTime();
+            return outboxLog.append(OutboxCodec.typeOf(request), OutboxCodec.encode(request))
+                    .map(record -> {
+                        if (appendTimer != null) {
+                            appendTimer.record(Duration.ofNanos(System.nanoTime() - start));
+                        }
+                        enqueue(record, request);
+                        return record.getOffset();
+                    });
+        });
+    }
+
+    private void enqueue(OutboxRecord record, Object request) {
+        queue.emitNext(new Pending(record, request), Sinks.EmitFailureHandler.busyLooping(Duration.ofSeconds(1)));
+    }
+
+    private Mono<Void> dispatch(Pending pending) {
+        return sender.send(pending.request())
+                .then(Mono.fromRunnable(() -> outboxLog.ack(pending.record())))
+                .doOnError(error -> log.error("Outbox record at offset {} still failing after {} attempts; "
+                        + "leaving it for the next start", pending.record().getOffset(), settings.getMaxAttempts(), error))
+                .onErrorResume(error -> Mono.empty())
+                .subscribeOn(Schedulers.boundedElastic())
+                .then();
+    }
+
+    private record Pending(OutboxRecord record, Object request) {
+    }
+}
@@ -0,0 +1,480 @@
+/*
+ * Copyright 2024-2026 Firefly Software Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.fireflyframework.notifications.core.services.outbox;
+
+import org.fireflyframework.notifications.interfaces.dtos.email.v1.EmailAttachmentDTO;
+import org.fireflyframework.notifications.interfaces.dtos.email.v1.EmailRequestDTO;
+import org.fireflyframework.notifications.interfaces.dtos.email.v1.EmailTemplateRequestDTO;
+import org.fireflyframework.notifications.interfaces.dtos.push.v1.PushNotificationRequest;
+import org.fireflyframework.notifications.interfaces.dtos.sms.v1.SMSRequestDTO;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Compact binary encoding of the request DTOs stored in the outbox.
+ *
+ * <p>Every payload starts with a format version byte. Lengths and integers are unsigned varints,
+ * strings are UTF-8, and nullable values store {@code length + 1} so that {@code 0} means
+ * {@code null}. Fields are only ever appended, so older payloads remain readable.
+ *
+ * <p>Template variables support strings, booleans, {@link Integer}, {@link Long} and {@link Double}
+ * values, maps with string keys and collections of those; any other value is rejected rather than
+ * stored lossily.
+ */
+public final class OutboxCodec {
+
+    public static final byte EMAIL = 1;
+    public static final byte EMAIL_TEMPLATE = 2;
+    public static final byte SMS = 3;
+    public static final byte PUSH = 4;
+
+    private static final byte FORMAT_VERSION = 1;
+
+    private static final byte VALUE_NULL = 0;
+    private static final byte VALUE_STRING = 1;
+    private static final byte VALUE_TRUE = 2;
+    private static final byte VALUE_FALSE = 3;
+    private static final byte VALUE_INT = 4;
+    private static final byte VALUE_LONG = 5;
+    private static final byte VALUE_DOUBLE = 6;
+    private static final byte VALUE_MAP = 7;
+    private static final byte VALUE_LIST = 8;
+
+    private OutboxCodec() {
+    }
+
+    /**
+     * Returns the record type of a supported request.
+     *
+     * @throws IllegalArgumentException if the request type cannot be stored in the outbox
+     */
+    public static byte typeOf(Object request) {
+        return switch (request) {
+            case EmailRequestDTO ignored -> EMAIL;
+            case EmailTemplateRequestDTO ignored -> EMAIL_TEMPLATE;
+            case SMSRequestDTO ignored -> SMS;
+            case PushNotificationRequest ignored -> PUSH;
+            default -> throw new IllegalArgumentException("Unsupported outbox request: " + request.getClass().getName());
+        };
+    }
+
+    public static byte[] encode(Object request) {
+        Writer out = new Writer();
+        out.writeByte(FORMAT_VERSION);
+        switch (request) {
+            case EmailRequestDTO email -> {
+                out.writeString(email.getFrom());
+                out.writeString(email.getTo());
+                out.writeStrings(email.getCc());
+                out.writeStrings(email.getBcc());
+                out.writeString(email.getSubject());
+                out.writeString(email.getText());
+                out.writeString(email.getHtml());
+                List<EmailAttachmentDTO> attachments = email.getAttachments();
+                out.writeLength(attachments);
+                List<String> files = null;
+                List<String> digests = null;
+                for (int i = 0; attachments != null && i < attachments.size(); i++) {
+                    EmailAttachmentDTO attachment = attachments.get(i);
+                    out.writeString(attachment.getFilename());
+                    out.writeBytes(storedContent(attachment));
+                    out.writeString(attachment.getContentType());
+                    if (attachment.getFile() != null && attachment.getContent() == null) {
+                        files = files != null ? files : Arrays.asList(new String[attachments.size()]);
+                        files.set(i, attachment.getFile().toString());
+                    }
+                    if (attachment.getContentDigest() != null) {
+                        digests = digests != null ? digests : Arrays.asList(new String[attachments.size()]);
+                        digests.set(i, attachment.getContentDigest());
+                    }
+                }
+                out.writeString(email.getIdempotencyKey());
+                out.writeString(email.getUserId());
+                out.writeStrings(files);
+                out.writeStrings(digests);
+            }
+            case EmailTemplateRequestDTO email -> {
+                out.writeString(email.getTemplateId());
+                out.writeValue(email.getTemplateVariables());
+                out.writeString(email.getFrom());
+                out.writeString(email.getTo());
+                out.writeStrings(email.getCc());
+                out.writeStrings(email.getBcc());
+                out.writeString(email.getSubject());
+                out.writeString(email.getIdempotencyKey());
+                out.writeString(email.getUserId());
+                out.writeString(email.getLocale() != null ? email.getLocale().toLanguageTag() : null);
+            }
+            case SMSRequestDTO sms -> {
+                out.writeString(sms.getPhoneNumber());
+                out.writeString(sms.getMessage());
+                out.writeString(sms.getIdempotencyKey());
+                out.writeString(sms.getUserId());
+            }
+            case PushNotificationRequest push -> {
+                out.writeString(push.getToken());
+                out.writeString(push.getTitle());
+                out.writeString(push.getBody());
+                Map<String, String> data = push.getData();
+                out.writeLength(data == null ? null : data.entrySet());
+                if (data != null) {
+                    for (Map.Entry<String, String> entry : data.entrySet()) {
+                        out.writeString(entry.getKey());
+                        out.writeString(entry.getValue());
+                    }
+                }
+                out.writeString(push.getIdempotencyKey());
+                out.writeString(push.getUserId());
+            }
+            default -> throw new IllegalArgumentException("Unsupported outbox request: " + request.getClass().getName());
+        }
+        return out.toByteArray();
+    }
+
+    @SuppressWarnings("unchecked")
+    public static Object decode(byte type, byte[] payload) {
+        Reader in = new Reader(ByteBuffer.wrap(payload));
+        byte version = in.readByte();
+        if (version != FORMAT_VERSION) {
+            throw new IllegalArgumentException("Unsupported outbox format version " + version);
+        }
+        return switch (type) {
+            case EMAIL -> {
+                EmailRequestDTO email = EmailRequestDTO.builder()
+                        .from(in.readString())
+                        .to(in.readString())
+                        .cc(in.readStrings())
+                        .bcc(in.readStrings())
+                        .subject(in.readString())
+                        .text(in.readString())
+                        .html(in.readString())
+                        .build();
+                int attachments = in.readLength();
+                if (attachments < 0) {
+                    email.setAttachments(null);
+                }
+                for (int i = 0; i < attachments; i++) {
+                    email.addAttachment(EmailAttachmentDTO.builder()
+                            .filename(in.readString())
+                            .content(in.readBytes())
+                            .contentType(in.readString())
+                            .build());
+                }
+                email.setIdempotencyKey(in.readOptionalString());
+                email.setUserId(in.readOptionalString());
+                List<String> files = in.hasRemaining() ? in.readStrings() : null;
+                for (int i = 0; files != null && i < files.size(); i++) {
+                    if (files.get(i) != null) {
+                        email.getAttachments().get(i).setFile(Path.of(files.get(i)));
+                    }
+                }
+                List<String> digests = in.hasRemaining() ? in.readStrings() : null;
+                for (int i = 0; digests != null && i < digests.size(); i++) {
+                    email.getAttachments().get(i).setContentDigest(digests.get(i));
+                }
+                yield email;
+            }
+            case EMAIL_TEMPLATE -> EmailTemplateRequestDTO.builder()
+                    .templateId(in.readString())
+                    .templateVariables((Map<String, Object>) in.readValue())
+                    .from(in.readString())
+                    .to(in.readString())
+                    .cc(in.readStrings())
+                    .bcc(in.readStrings())
+                    .subject(in.readString())
+                    .idempotencyKey(in.readOptionalString())
+                    .userId(in.readOptionalString())
+                    .locale(locale(in.readOptionalString()))
+                    .build();
+            case SMS -> SMSRequestDTO.builder()
+                    .phoneNumber(in.readString())
+                    .message(in.readString())
+                    .idempotencyKey(in.readOptionalString())
+                    .userId(in.readOptionalString())
+                    .build();
+            case PUSH -> {
+                PushNotificationRequest push = PushNotificationRequest.builder()
+                        .token(in.readString())
+                        .title(in.readString())
+                        .body(in.readString())
+                        .build();
+                int entries = in.readLength();
+                if (entries >= 0) {
+                    Map<String, String> data = new LinkedHashMap<>();
+                    for (int i = 0; i < entries; i++) {
+                        data.put(in.readString(), in.readString());
+                    }
+                    push.setData(data);
+                }
+                push.setIdempotencyKey(in.readOptionalString());
+                push.setUserId(in.readOptionalString());
+                yield push;
+            }
+            default -> throw new IllegalArgumentException("Unknown outbox record type " + type);
+        };
+    }
+
+    /**
+     * Content to store inline: the in-memory bytes, or a copy of a shared buffer. File-backed
+     * attachments store only their path, since the file must outlive the record anyway, and stored
+     * attachments only their digest, so the content must be back in the attachment store before a
+     * replay after restart; streamed content is rejected because it can be read only once.
+     */
+    private static byte[] storedContent(EmailAttachmentDTO attachment) {
+        if (attachment.getContent() != null) {
+            return attachment.getContent();
+        }
+        if (attachment.getBuffer() != null) {
+            ByteBuffer buffer = attachment.getBuffer().asReadOnlyBuffer();
+            byte[] content = new byte[buffer.remaining()];
+            buffer.get(content);
+            return content;
+        }
+        if (attachment.getContentStream() != null && attachment.getFile() == null) {
+            throw new IllegalArgumentException(
+                    "Streamed attachment '" + attachment.getFilename() + "' cannot be stored in the outbox");
+        }
+        return null;
+    }
+
+    private static Locale locale(String languageTag) {
+        return languageTag != null ? Locale.forLanguageTag(languageTag) : null;
+    }
+
+    private static final class Writer {
+
+        private byte[] bytes = new byte[256];
+        private int size;
+
+        void writeByte(int value) {
+            ensure(1);
+            bytes[size++] = (byte) value;
+        }
+
+        void writeVarLong(long value) {
+            ensure(10);
+            while ((value & ~0x7FL) != 0) {
+                bytes[size++] = (byte) ((value & 0x7F) | 0x80);
+                value >>>= 7;
+            }
+            bytes[size++] = (byte) value;
+        }
+
+        void writeLength(Collection<?> values) {
+            writeVarLong(values == null ? 0 : values.size() + 1L);
+        }
+
+        void writeBytes(byte[] value) {
+            if (value == null) {
+                writeVarLong(0);
+                return;
+            }
+            writeVarLong(value.length + 1L);
+            ensure(value.length);
+            System.arraycopy(value, 0, bytes, size, value.length);
+            size += value.length;
+        }
+
+        void writeString(String value) {
+            writeBytes(value == null ? null : value.getBytes(StandardCharsets.UTF_8));
+        }
+
+        void writeStrings(List<String> values) {
+            writeLength(values);
+            if (values != null) {
+                for (String value : values) {
+                    writeString(value);
+                }
+            }
+        }
+
+        void writeValue(Object value) {
+            switch (value) {
+                case null -> writeByte(VALUE_NULL);
+                case CharSequence text -> {
+                    writeByte(VALUE_STRING);
+                    writeString(text.toString());
+                }
+                case Boolean flag -> writeByte(flag ? VALUE_TRUE : VALUE_FALSE);
+                case Integer number -> {
+                    writeByte(VALUE_INT);
+                    writeVarLong(zigZag(number));
+                }
+                case Long number -> {
+                    writeByte(VALUE_LONG);
+                    writeVarLong(zigZag(number));
+                }
+                case Double number -> {
+                    writeByte(VALUE_DOUBLE);
+                    ensure(Long.BYTES);
+                    long bits = Double.doubleToRawLongBits(number);
+                    for (int shift = 56; shift >= 0; shift -= 8) {
+                        bytes[size++] = (byte) (bits >>> shift);
+                    }
+                }
+                case Map<?, ?> map -> {
+                    writeByte(VALUE_MAP);
+                    writeVarLong(map.size());
+                    for (Map.Entry<?, ?> entry : map.entrySet()) {
+                        if (!(entry.getKey() instanceof String key)) {
+                            throw new IllegalArgumentException("Outbox template variable maps need String keys");
+                        }
+                        writeString(key);
+                        writeValue(entry.getValue());
+                    }
+                }
+                case Collection<?> collection -> {
+                    writeByte(VALUE_LIST);
+                    writeVarLong(collection.size());
+                    for (Object element : collection) {
+                        writeValue(element);
+                    }
+                }
+                case Object[] array -> writeValue(Arrays.asList(array));
+                default -> throw new IllegalArgumentException(
+                        "Template variable of type " + value.getClass().getName() + " cannot be stored in the outbox");
+            }
+        }
+
+        byte[] toByteArray() {
+            return Arrays.copyOf(bytes, size);
+        }
+
+        private void ensure(int extra) {
+            if (size + extra > bytes.length) {
+                bytes = Arrays.copyOf(bytes, Math.max(bytes.length * 2, size + extra));
+            }
+        }
+
+        private static long zigZag(long value) {
+            return (value << 1) ^ (value >> 63);
+        }
+    }
+
+    private static final class Reader {
+
+        private final ByteBuffer buffer;
+
+        Reader(ByteBuffer buffer) {
+            this.buffer = buffer;
+        }
+
+        boolean hasRemaining() {
+            return buffer.hasRemaining();
+        }
+
+        byte readByte() {
+            return buffer.get();
+        }
+
+        long readVarLong() {
+            long value = 0;
+            for (int shift = 0; shift < 64; shift += 7) {
+                byte b = buffer.get();
+                value |= (long) (b & 0x7F) << shift;
+                if ((b & 0x80) == 0) {
+                    return value;
+                }
+            }
+            throw new IllegalArgumentException("Malformed varint in outbox payload");
+        }
+
+        /**
+         * @return the length, or {@code -1} for {@code null}
+         */
+        int readLength() {
+            return Math.toIntExact(readVarLong() - 1);
+        }
+
+        byte[] readBytes() {
+            int length = readLength();
+            if (length < 0) {
+                return null;
+            }
+            byte[] value = new byte[length];
+            buffer.get(value);
+            return value;
+        }
+
+        String readString() {
+            byte[] value = readBytes();
+            return value == null ? null : new String(value, StandardCharsets.UTF_8);
+        }
+
+        /**
+         * Reads a string field appended in a later format revision, or {@code null} if the payload predates it.
+         */
+        String readOptionalString() {
+            return buffer.hasRemaining() ? readString() : null;
+        }
+
+        List<String> readStrings() {
+            int length = readLength();
+            if (length < 0) {
+                return null;
+            }
+            List<String> values = new ArrayList<>(length);
+            for (int i = 0; i < length; i++) {
+                values.add(readString());
+            }
+            return values;
+        }
+
+        Object readValue() {
+            byte tag = buffer.get();
+            return switch (tag) {
+                case VALUE_NULL -> null;
+                case VALUE_STRING -> readString();
+                case VALUE_TRUE -> Boolean.TRUE;
+                case VALUE_FALSE -> Boolean.FALSE;
+                case VALUE_INT -> (int) unZigZag(readVarLong());
+                case VALUE_LONG -> unZigZag(readVarLong());
+                case VALUE_DOUBLE -> buffer.getDouble();
+                case VALUE_MAP -> {
+                    int size = Math.toIntExact(readVarLong());
+                    Map<String, Object> map = new LinkedHashMap<>();
+                    for (int i = 0; i < size; i++) {
+                        map.put(readString(), readValue());
+                    }
+                    yield map;
+                }
+                case VALUE_LIST -> {
+                    int size = Math.toIntExact(readVarLong());
+                    List<Object> list = new ArrayList<>(size);
+                    for (int i = 0; i < size; i++) {
+                        list.add(readValue());
+                    }
+                    yield list;
+                }
+                default -> throw new IllegalArgumentException("Unknown outbox value tag " + tag);
+            };
+        }
+
+        private static long unZigZag(long value) {
+            return (value >>> 1) ^ -(value & 1);
+        }
+    }
+}
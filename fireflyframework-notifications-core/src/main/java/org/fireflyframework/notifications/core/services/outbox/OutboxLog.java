@@ -0,0 +1,392 @@
+/*
+ * Copyright 2024-2026 Firefly Software Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.fireflyframework.notifications.core.services.outbox;
+
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.MappedByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.locks.LockSupport;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Stream;
+import java.util.zip.CRC32C;
+
+/**
+ * Segmented, memory-mapped, append-only log.
+ *
+ * <p>Each segment is a fixed-size file mapped into memory; appends copy the record into the
+ * mapping and roll over to a new segment when the current one is full. Record layout:
+ * {@code [int length][int crc32c][byte status][byte type][payload]}, where the checksum covers the
+ * type and payload so a torn tail is detected and ignored on recovery.
+ *
+ * <p>With {@code fsync} enabled, a single committer thread forces the active segment and completes
+ * every append written before the force, so concurrent appends share one {@code msync} (group
+ * commit). Appends complete on the parallel scheduler rather than that thread, so continuations of
+ * {@link #append} never hold up the next commit.
+ *
+ * <p>{@link #ack(OutboxRecord) Acknowledging} a record flips its status byte in place. Acks are not
+ * forced to disk, so a power loss may replay acknowledged records: delivery is at-least-once.
+ * Segments whose records are all acknowledged are deleted; {@link #compact(double)} copies the
+ * remaining records of sparsely used segments forward so those can be deleted too.
+ */
+@Slf4j
+public class OutboxLog implements AutoCloseable {
+
+    static final int HEADER_SIZE = 10;
+    private static final int CRC_OFFSET = 4;
+    private static final int STATUS_OFFSET = 8;
+    private static final int TYPE_OFFSET = 9;
+    private static final byte LIVE = 0;
+    private static final byte ACKED = 1;
+    private static final String SUFFIX = ".log";
+
+    private final Path directory;
+    private final int segmentSize;
+    private final boolean fsync;
+    private final ConcurrentSkipListMap<Long, OutboxSegment> segments = new ConcurrentSkipListMap<>();
+    private final List<OutboxRecord> recovered = new ArrayList<>();
+    private final ReentrantLock appendLock = new ReentrantLock();
+    private final Queue<Commit> commits = new ConcurrentLinkedQueue<>();
+    private final Thread committer;
+    private volatile OutboxSegment active;
+    private volatile boolean closed;
+
+    public OutboxLog(Path directory, int segmentSize, boolean fsync) {
+        if (segmentSize <= HEADER_SIZE) {
+            throw new IllegalArgumentException("Segment size must exceed the " + HEADER_SIZE + "-byte record header");
+        }
+        this.directory = directory;
+        this.segmentSize = segmentSize;
+        this.fsync = fsync;
+        recover();
+        if (segments.isEmpty()) {
+            this.active = newSegment(0L);
+        } else {
+            this.active = segments.lastEntry().getValue();
+        }
+        this.committer = fsync ? Thread.ofPlatform().name("notification-outbox-commit").daemon().start(this::commitLoop) : null;
+    }
+
+    public OutboxLog(OutboxSettings settings) {
+        this(settings.getDirectory(), settings.getSegmentSize(), settings.isFsync());
+    }
+
+    /**
+     * Records that were live when the log was opened, in log order.
+     */
+    public List<OutboxRecord> recoveredRecords() {
+        return List.copyOf(recovered);
+    }
+
+    /**
+     * Appends a record. The returned {@link Mono} completes once the record is durable, i.e. after
+     * the group commit that covers it when {@code fsync} is enabled.
+     */
+    public Mono<OutboxRecord> append(byte type, byte[] payload) {
+        return Mono.defer(() -> {
+            if (!fsync) {
+                return Mono.just(write(type, payload, null));
+            }
+            CompletableFuture<OutboxRecord> durable = new CompletableFuture<>();
+            write(type, payload, durable);
+            LockSupport.unpark(committer);
+            // Hand completion off the committer thread, which every other appender is waiting on
+            return Mono.fromFuture(durable).publishOn(Schedulers.parallel());
+        });
+    }
+
+    /**
+     * Reads the payload of a live record.
+     */
+    public byte[] read(OutboxRecord record) {
+        synchronized (record) {
+            byte[] payload = new byte[record.getLength()];
+            record.segment.buffer().get(record.position + HEADER_SIZE, payload);
+            return payload;
+        }
+    }
+
+    /**
+     * Marks a record as done. Idempotent.
+     */
+    public void ack(OutboxRecord record) {
+        OutboxSegment emptied;
+        synchronized (record) {
+            if (record.acked) {
+                return;
+            }
+            record.acked = true;
+            record.segment.buffer().put(record.position + STATUS_OFFSET, ACKED);
+            emptied = record.segment.removeLive(record, HEADER_SIZE + record.getLength()) ? record.segment : null;
+        }
+        if (emptied != null && emptied.isSealed()) {
+            deleteSegment(emptied);
+        }
+    }
+
+    /**
+     * Copies the live records of sealed segments whose live bytes fall below {@code threshold} of
+     * their used space into the active segment, then deletes those segments.
+     */
+    public void compact(double threshold) {
+        for (OutboxSegment segment : segments.values()) {
+            if (!segment.isSealed() || segment.getWritePosition() == 0) {
+                continue;
+            }
+            if (segment.liveCount() == 0) {
+                deleteSegment(segment);
+            } else if (segment.liveBytes() < threshold * segment.getWritePosition()) {
+                relocate(segment);
+            }
+        }
+    }
+
+    /**
+     * Number of records appended and not yet acknowledged.
+     */
+    public long getLiveCount() {
+        long count = 0;
+        for (OutboxSegment segment : segments.values()) {
+            count += segment.liveCount();
+        }
+        return count;
+    }
+
+    public int getSegmentCount() {
+        return segments.size();
+    }
+
+    @Override
+    public void close() {
+        closed = true;
+        if (committer != null) {
+            LockSupport.unpark(committer);
+            try {
+                committer.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        appendLock.lock();
+        try {
+            OutboxSegment current = active;
+            current.force(current.getWritePosition());
+            segments.values().forEach(OutboxSegment::close);
+        } finally {
+            appendLock.unlock();
+        }
+        Commit commit;
+        while ((commit = commits.poll()) != null) {
+            commit.durable().completeExceptionally(new IllegalStateException("Outbox log is closed"));
+        }
+    }
+
+    private OutboxRecord write(byte type, byte[] payload, CompletableFuture<OutboxRecord> durable) {
+        int recordSize = HEADER_SIZE + payload.length;
+        if (payload.length == 0 || recordSize > segmentSize) {
+            throw new IllegalArgumentException("Outbox payload of " + payload.length
+                    + " bytes does not fit a " + segmentSize + "-byte segment");
+        }
+        appendLock.lock();
+        try {
+            if (closed) {
+                throw new IllegalStateException("Outbox log is closed");
+            }
+            OutboxSegment segment = active;
+            int position = segment.getWritePosition();
+            if (position + recordSize > segment.capacity()) {
+                segment = roll(segment);
+                position = 0;
+            }
+            MappedByteBuffer buffer = segment.buffer();
+            buffer.put(position + TYPE_OFFSET, type);
+            buffer.put(position + HEADER_SIZE, payload);
+            buffer.put(position + STATUS_OFFSET, LIVE);
+            buffer.putInt(position + CRC_OFFSET, checksum(type, payload, 0, payload.length));
+            buffer.putInt(position, payload.length);
+            segment.setWritePosition(position + recordSize);
+
+            OutboxRecord record = new OutboxRecord(type, payload.length, segment, position);
+            segment.addLive(record, recordSize);
+            if (durable != null) {
+                commits.add(new Commit(segment.getBaseOffset() + position + recordSize, record, durable));
+            }
+            return record;
+        } finally {
+            appendLock.unlock();
+        }
+    }
+
+    private OutboxSegment roll(OutboxSegment full) {
+        full.force(full.getWritePosition());
+        full.seal();
+        OutboxSegment next = newSegment(full.getBaseOffset() + full.capacity());
+        active = next;
+        if (full.liveCount() == 0) {
+            deleteSegment(full);
+        }
+        return next;
+    }
+
+    private void relocate(OutboxSegment segment) {
+        for (OutboxRecord record : List.copyOf(segment.liveRecords())) {
+            synchronized (record) {
+                if (record.acked) {
+                    continue;
+                }
+                byte[] payload = read(record);
+                OutboxRecord copy = write(record.getType(), payload, null);
+                synchronized (copy) {
+                    copy.segment.removeLive(copy, HEADER_SIZE + payload.length);
+                    segment.removeLive(record, HEADER_SIZE + payload.length);
+                    record.segment = copy.segment;
+                    record.position = copy.position;
+                    record.segment.addLive(record, HEADER_SIZE + payload.length);
+                }
+            }
+        }
+        appendLock.lock();
+        try {
+            OutboxSegment current = active;
+            current.force(current.getWritePosition());
+        } finally {
+            appendLock.unlock();
+        }
+        deleteSegment(segment);
+    }
+
+    private void commitLoop() {
+        while (!closed) {
+            if (commits.isEmpty()) {
+                LockSupport.park(this);
+                continue;
+            }
+            OutboxSegment segment = active;
+            int position = segment.getWritePosition();
+            try {
+                segment.force(position);
+            } catch (RuntimeException e) {
+                log.error("Outbox group commit failed", e);
+                Commit commit;
+                while ((commit = commits.poll()) != null) {
+                    commit.durable().completeExceptionally(e);
+                }
+                continue;
+            }
+            long durableOffset = segment.getBaseOffset() + position;
+            Commit commit;
+            while ((commit = commits.peek()) != null && commit.endOffset() <= durableOffset) {
+                commits.poll();
+                commit.durable().complete(commit.record());
+            }
+        }
+    }
+
+    private void recover() {
+        try {
+            Files.createDirectories(directory);
+            List<Path> files;
+            try (Stream<Path> listing = Files.list(directory)) {
+                files = listing.filter(path -> path.getFileName().toString().endsWith(SUFFIX)).sorted().toList();
+            }
+            for (Path file : files) {
+                String name = file.getFileName().toString();
+                long baseOffset = Long.parseLong(name.substring(0, name.length() - SUFFIX.length()));
+                OutboxSegment segment = OutboxSegment.open(file, baseOffset);
+                scan(segment);
+                segments.put(baseOffset, segment);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to open outbox log in " + directory, e);
+        }
+        if (segments.isEmpty()) {
+            return;
+        }
+        for (OutboxSegment segment : segments.headMap(segments.lastKey(), false).values()) {
+            segment.seal();
+            if (segment.liveCount() == 0) {
+                deleteSegment(segment);
+            }
+        }
+        if (!recovered.isEmpty()) {
+            log.info("Recovered {} unacknowledged outbox records from {}", recovered.size(), directory);
+        }
+    }
+
+    private void scan(OutboxSegment segment) {
+        MappedByteBuffer buffer = segment.buffer();
+        int position = 0;
+        while (position + HEADER_SIZE <= segment.capacity()) {
+            int length = buffer.getInt(position);
+            if (length <= 0 || position + HEADER_SIZE + length > segment.capacity()) {
+                break;
+            }
+            byte type = buffer.get(position + TYPE_OFFSET);
+            byte[] payload = new byte[length];
+            buffer.get(position + HEADER_SIZE, payload);
+            if (buffer.getInt(position + CRC_OFFSET) != checksum(type, payload, 0, length)) {
+                log.warn("Discarding torn outbox record at offset {}", segment.getBaseOffset() + position);
+                break;
+            }
+            if (buffer.get(position + STATUS_OFFSET) == LIVE) {
+                OutboxRecord record = new OutboxRecord(type, length, segment, position);
+                segment.addLive(record, HEADER_SIZE + length);
+                recovered.add(record);
+            }
+            position += HEADER_SIZE + length;
+        }
+        segment.setWritePosition(position);
+    }
+
+    private OutboxSegment newSegment(long baseOffset) {
+        OutboxSegment segment = OutboxSegment.create(directory.resolve(String.format("%020d%s", baseOffset, SUFFIX)),
+                baseOffset, segmentSize);
+        segments.put(baseOffset, segment);
+        return segment;
+    }
+
+    private void deleteSegment(OutboxSegment segment) {
+        if (segments.remove(segment.getBaseOffset(), segment)) {
+            try {
+                segment.delete();
+            } catch (UncheckedIOException e) {
+                log.warn("Failed to delete outbox segment at offset {}", segment.getBaseOffset(), e);
+            }
+        }
+    }
+
+    private static int checksum(byte type, byte[] payload, int offset, int length) {
+        CRC32C crc = new CRC32C();
+        crc.update(type);
+        crc.update(payload, offset, length);
+        return (int) crc.getValue();
+    }
+
+    private record Commit(long endOffset, OutboxRecord record, CompletableFuture<OutboxRecord> durable) {
+    }
+}
@@ -0,0 +1,60 @@
+/*
+ * Copyright 2024-2026 Firefly Software Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.fireflyframework.notifications.core.services.outbox;
+
+/**
+ * An entry appended to an {@link OutboxLog}.
+ *
+ * <p>Records are identified by their log offset. Compaction may move a live record to a newer
+ * segment, in which case its offset changes; acknowledge the record itself rather than a stored offset.
+ */
+public final class OutboxRecord {
+
+    private final byte type;
+    private final int length;
+    OutboxSegment segment;
+    int position;
+    boolean acked;
+
+    OutboxRecord(byte type, int length, OutboxSegment segment, int position) {
+        this.type = type;
+        this.length = length;
+        this.segment = segment;
+        this.position = position;
+    }
+
+    /**
+     * Application-defined type tag stored with the payload.
+     */
+    public byte getType() {
+        return type;
+    }
+
+    /**
+     * Payload length in bytes.
+     */
+    public int getLength() {
+        return length;
+    }
+
+    /**
+     * Current log offset of this record.
+     */
+    public synchronized long getOffset() {
+        return segment.getBaseOffset() + position;
+    }
+}
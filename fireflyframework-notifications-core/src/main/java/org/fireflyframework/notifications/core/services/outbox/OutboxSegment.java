@@ -0,0 +1,146 @@
+/*
+ * Copyright 2024-2026 Firefly Software Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.fireflyframework.notifications.core.services.outbox;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * One memory-mapped file of an {@link OutboxLog}.
+ */
+final class OutboxSegment {
+
+    private final long baseOffset;
+    private final Path path;
+    private final FileChannel channel;
+    private final MappedByteBuffer buffer;
+    private final Set<OutboxRecord> live = ConcurrentHashMap.newKeySet();
+    private final AtomicLong liveBytes = new AtomicLong();
+    private volatile int writePosition;
+    private volatile boolean sealed;
+
+    private OutboxSegment(long baseOffset, Path path, FileChannel channel, MappedByteBuffer buffer) {
+        this.baseOffset = baseOffset;
+        this.path = path;
+        this.channel = channel;
+        this.buffer = buffer;
+    }
+
+    static OutboxSegment create(Path path, long baseOffset, int size) {
+        try {
+            FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE_NEW,
+                    StandardOpenOption.READ, StandardOpenOption.WRITE);
+            return new OutboxSegment(baseOffset, path, channel, channel.map(FileChannel.MapMode.READ_WRITE, 0, size));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to create outbox segment " + path, e);
+        }
+    }
+
+    static OutboxSegment open(Path path, long baseOffset) {
+        try {
+            FileChannel channel = FileChannel.open(path, StandardOpenOption.READ, StandardOpenOption.WRITE);
+            return new OutboxSegment(baseOffset, path, channel,
+                    channel.map(FileChannel.MapMode.READ_WRITE, 0, channel.size()));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to open outbox segment " + path, e);
+        }
+    }
+
+    long getBaseOffset() {
+        return baseOffset;
+    }
+
+    MappedByteBuffer buffer() {
+        return buffer;
+    }
+
+    int capacity() {
+        return buffer.capacity();
+    }
+
+    int getWritePosition() {
+        return writePosition;
+    }
+
+    void setWritePosition(int writePosition) {
+        this.writePosition = writePosition;
+    }
+
+    boolean isSealed() {
+        return sealed;
+    }
+
+    void seal() {
+        sealed = true;
+    }
+
+    void addLive(OutboxRecord record, int bytes) {
+        live.add(record);
+        liveBytes.addAndGet(bytes);
+    }
+
+    /**
+     * @return {@code true} if the segment has no live records left
+     */
+    boolean removeLive(OutboxRecord record, int bytes) {
+        if (live.remove(record)) {
+            liveBytes.addAndGet(-bytes);
+        }
+        return live.isEmpty();
+    }
+
+    Set<OutboxRecord> liveRecords() {
+        return live;
+    }
+
+    int liveCount() {
+        return live.size();
+    }
+
+    long liveBytes() {
+        return liveBytes.get();
+    }
+
+    void force(int length) {
+        buffer.force(0, length);
+    }
+
+    void delete() {
+        try {
+            channel.close();
+            Files.deleteIfExists(path);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to delete outbox segment " + path, e);
+        }
+    }
+
+    void close() {
+        try {
+            channel.close();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to close outbox segment " + path, e);
+        }
+    }
+}
@@ -0,0 +1,100 @@
+/*
+ * Copyright 2024-2026 Firefly Software Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.fireflyframework.notifications.core.services.outbox;
+
+import org.fireflyframework.notifications.core.services.email.v1.EmailService;
+import org.fireflyframework.notifications.core.services.push.v1.PushService;
+import org.fireflyframework.notifications.core.services.sms.v1.SMSService;
+import org.fireflyframework.notifications.interfaces.dtos.email.v1.EmailRequestDTO;
+import org.fireflyframework.notifications.interfaces.dtos.email.v1.EmailResponseDTO;
+import org.fireflyframework.notifications.interfaces.dtos.email.v1.EmailTemplateRequestDTO;
+import org.fireflyframework.notifications.interfaces.dtos.push.v1.PushNotificationRequest;
+import org.fireflyframework.notifications.interfaces.dtos.push.v1.PushNotificationResponse;
+import org.fireflyframework.notifications.interfaces.dtos.sms.v1.SMSRequestDTO;
+import org.fireflyframework.notifications.interfaces.dtos.sms.v1.SMSResponseDTO;
+import org.fireflyframework.notifications.interfaces.enums.EmailStatusEnum;
+import reactor.core.publisher.Mono;
+import reactor.util.retry.Retry;
+
+import java.time.Duration;
+
+/**
+ * Sends requests that were stored in an {@link OutboxLog}, such as outbox and scheduled sends,
+ * through the channel service for their type.
+ *
+ * <p>Errors and {@code FAILED} responses are retried with exponential backoff; a send counts as done
+ * once the provider accepted it or it was suppressed by the user's preferences.
+ */
+public final class OutboxSender {
+
+    private final EmailService emailService;
+    private final SMSService smsService;
+    private final PushService pushService;
+    private final Retry retry;
+
+    public OutboxSender(EmailService emailService, SMSService smsService, PushService pushService,
+                        int maxAttempts, Duration retryBackoff) {
+        this.emailService = emailService;
+        this.smsService = smsService;
+        this.pushService = pushService;
+        this.retry = Retry.backoff(Math.max(0, maxAttempts - 1), retryBackoff);
+    }
+
+    /**
+     * Whether a service is configured for the request's type.
+     */
+    public boolean supports(Object request) {
+        return switch (request) {
+            case EmailRequestDTO email -> emailService != null;
+            case EmailTemplateRequestDTO email -> emailService != null;
+            case SMSRequestDTO sms -> smsService != null;
+            case PushNotificationRequest push -> pushService != null;
+            default -> false;
+        };
+    }
+
+    /**
+     * Sends {@code request}, completing once it is done and failing once the attempts are exhausted.
+     */
+    public Mono<Void> send(Object request) {
+        return Mono.defer(() -> sendOnce(request))
+                .flatMap(response -> failed(response)
+                        ? Mono.error(new IllegalStateException("Provider reported a failed send: " + response))
+                        : Mono.just(response))
+                .retryWhen(retry)
+                .then();
+    }
+
+    private Mono<?> sendOnce(Object request) {
+        return switch (request) {
+            case EmailRequestDTO email -> emailService.sendEmail(email);
+            case EmailTemplateRequestDTO email -> emailService.sendTemplateEmail(email);
+            case SMSRequestDTO sms -> smsService.sendSMS(sms);
+            case PushNotificationRequest push -> pushService.sendPush(push);
+            default -> Mono.error(new IllegalArgumentException("Unsupported request: " + request.getClass().getName()));
+        };
+    }
+
+    private static boolean failed(Object response) {
+        return switch (response) {
+            case EmailResponseDTO email -> email.getStatus() == EmailStatusEnum.FAILED;
+            case SMSResponseDTO sms -> "FAILED".equals(sms.getStatus());
+            case PushNotificationResponse push -> !push.isSuccess() && !push.isSuppressed();
+            default -> false;
+        };
+    }
+}
@@ -0,0 +1,84 @@
+/*
+ * Copyright 2024-2026 Firefly Software Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.fireflyframework.notifications.core.services.outbox;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+/**
+ * Settings for {@link NotificationOutbox} and its {@link OutboxLog}.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class OutboxSettings {
+
+    /**
+     * Directory holding the log segments; created if missing.
+     */
+    private Path directory;
+
+    /**
+     * Size of each memory-mapped segment file in bytes; bounds the largest request that can be stored.
+     */
+    @Builder.Default
+    private int segmentSize = 64 * 1024 * 1024;
+
+    /**
+     * Whether appends wait for a group-commit {@code fsync}. Without it, accepted requests survive a
+     * JVM crash (the pages belong to the OS) but not a power loss.
+     */
+    @Builder.Default
+    private boolean fsync = true;
+
+    /**
+     * Maximum number of requests dispatched concurrently.
+     */
+    @Builder.Default
+    private int dispatchConcurrency = 64;
+
+    /**
+     * Attempts per request before it is left in the log until the next start.
+     */
+    @Builder.Default
+    private int maxAttempts = 5;
+
+    /**
+     * First retry delay; doubles on every further attempt.
+     */
+    @Builder.Default
+    private Duration retryBackoff = Duration.ofSeconds(1);
+
+    /**
+     * How often sealed segments are checked for compaction.
+     */
+    @Builder.Default
+    private Duration compactionInterval = Duration.ofMinutes(1);
+
+    /**
+     * Sealed segments whose share of live bytes drops below this ratio have their remaining
+     * entries copied forward and are deleted.
+     */
+    @Builder.Default
+    private double compactionThreshold = 0.25;
+}
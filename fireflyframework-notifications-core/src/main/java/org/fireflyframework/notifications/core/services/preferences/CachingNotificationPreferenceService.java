@@ -0,0 +1,130 @@
+/*
+ * Copyright 2024-2026 Firefly Software Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.fireflyframework.notifications.core.services.preferences;
+
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import org.fireflyframework.notifications.interfaces.dtos.preferences.NotificationPreferenceDTO;
+import org.fireflyframework.notifications.observability.NotificationMetrics;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Read-through near cache in front of another {@link NotificationPreferenceService}.
+ *
+ * <p>Preferences are held in a size-bounded Caffeine cache (W-TinyLFU eviction) for {@code ttl}.
+ * Users whose preferences are the defaults are cached too, for {@code negativeTtl}, so users who
+ * never changed anything do not hit the backing store on every send. Concurrent misses for the same
+ * user share one load, and multi-gets load all missing users in one
+ * {@link NotificationPreferenceService#getPreferences(Collection)} call. {@code updatePreferences}
+ * writes through and replaces the cached entry with the stored result.
+ *
+ * <p>Hits, misses, evictions and load latency are reported as the {@code preferences} cache through
+ * {@link NotificationMetrics}.
+ */
+public class CachingNotificationPreferenceService implements NotificationPreferenceService {
+
+    private final NotificationPreferenceService delegate;
+    private final AsyncCache<String, NotificationPreferenceDTO> preferences;
+
+    public CachingNotificationPreferenceService(NotificationPreferenceService delegate, long maximumSize,
+                                                Duration ttl, Duration negativeTtl, NotificationMetrics metrics) {
+        this.delegate = delegate;
+        long ttlNanos = ttl.toNanos();
+        long negativeTtlNanos = negativeTtl.toNanos();
+        Caffeine<Object, Object> builder = Caffeine.newBuilder().maximumSize(maximumSize);
+        if (metrics != null) {
+            builder.recordStats(() -> metrics.cacheStatsCounter("preferences"));
+        }
+        this.preferences = builder
+                .expireAfter(new Expiry<String, NotificationPreferenceDTO>() {
+                    @Override
+                    public long expireAfterCreate(String userId, NotificationPreferenceDTO value, long currentTime) {
+                        return isDefault(value) ? negativeTtlNanos : ttlNanos;
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(String userId, NotificationPreferenceDTO value, long currentTime,
+                                                  long currentDuration) {
+                        return expireAfterCreate(userId, value, currentTime);
+                    }
+
+                    @Override
+                    public long expireAfterRead(String userId, NotificationPreferenceDTO value, long currentTime,
+                                                long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .buildAsync();
+    }
+
+    public CachingNotificationPreferenceService(NotificationPreferenceService delegate, long maximumSize,
+                                                Duration ttl, Duration negativeTtl) {
+        this(delegate, maximumSize, ttl, negativeTtl, null);
+    }
+
+    @Override
+    public Mono<NotificationPreferenceDTO> getPreferences(String userId) {
+        return Mono.defer(() -> Mono.fromFuture(
+                preferences.get(userId, (key, executor) -> delegate.getPreferences(key).toFuture()), true));
+    }
+
+    @Override
+    public Mono<Map<String, NotificationPreferenceDTO>> getPreferences(Collection<String> userIds) {
+        return Mono.defer(() -> Mono.fromFuture(
+                preferences.getAll(userIds, (missing, executor) -> loadAll(missing)), true));
+    }
+
+    @Override
+    public Mono<NotificationPreferenceDTO> updatePreferences(String userId, NotificationPreferenceDTO update) {
+        return Mono.defer(() -> {
+            preferences.synchronous().invalidate(userId);
+            return delegate.updatePreferences(userId, update)
+                    .doOnNext(stored -> preferences.put(userId, CompletableFuture.completedFuture(stored)));
+        });
+    }
+
+    @Override
+    public Mono<Boolean> isChannelEnabled(String userId, String channel) {
+        return getPreferences(userId).map(userPreferences -> userPreferences.isChannelEnabled(channel));
+    }
+
+    /**
+     * Drops a user's cached preferences, e.g. after they were changed outside this service.
+     */
+    public void invalidate(String userId) {
+        preferences.synchronous().invalidate(userId);
+    }
+
+    private CompletableFuture<Map<String, NotificationPreferenceDTO>> loadAll(Iterable<? extends String> userIds) {
+        List<String> missing = new ArrayList<>();
+        userIds.forEach(missing::add);
+        return delegate.getPreferences(missing).toFuture();
+    }
+
+    private static boolean isDefault(NotificationPreferenceDTO value) {
+        return value.isEmailEnabled() && value.isSmsEnabled() && value.isPushEnabled()
+                && (value.getChannels() == null || value.getChannels().isEmpty());
+    }
+}
@@ -20,6 +20,10 @@ import lombok.extern.slf4j.Slf4j;
 import org.fireflyframework.notifications.interfaces.dtos.preferences.NotificationPreferenceDTO;
 import reactor.core.publisher.Mono;
 
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
 
 /**
@@ -57,4 +61,32 @@ public class InMemoryNotificationPreferenceService implements NotificationPrefer
         return getPreferences(userId)
                 .map(prefs -> prefs.isChannelEnabled(channel));
     }
+
+    @Override
+    public Mono<Map<String, NotificationPreferenceDTO>> getPreferences(Collection<String> userIds) {
+        return Mono.fromSupplier(() -> {
+            Map<String, NotificationPreferenceDTO> preferences = new HashMap<>();
+            for (String userId : userIds) {
+                NotificationPreferenceDTO stored = store.get(userId);
+                preferences.put(userId, stored != null ? stored : NotificationPreferenceDTO.builder().userId(userId).build());
+            }
+            return preferences;
+        });
+    }
+
+    @Override
+    public Mono<BitSet> isChannelEnabledBatch(Collection<String> userIds, String channel) {
+        return Mono.fromSupplier(() -> {
+            BitSet enabled = new BitSet(userIds.size());
+            int index = 0;
+            for (String userId : userIds) {
+                NotificationPreferenceDTO stored = store.get(userId);
+                if (stored == null || stored.isChannelEnabled(channel)) {
+                    enabled.set(index);
+                }
+                index++;
+            }
+            return enabled;
+        });
+    }
 }
@@ -17,8 +17,16 @@
 package org.fireflyframework.notifications.core.services.preferences;
 
 import org.fireflyframework.notifications.interfaces.dtos.preferences.NotificationPreferenceDTO;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
+import java.util.AbstractMap;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
 /**
  * Service for managing user notification preferences.
  *
@@ -42,4 +50,57 @@ public interface NotificationPreferenceService {
      * Check if a specific channel is enabled for a user.
      */
     Mono<Boolean> isChannelEnabled(String userId, String channel);
+
+    /**
+     * Get notification preferences for many users at once, keyed by user ID. Users without stored
+     * preferences map to the defaults.
+     *
+     * <p>The default implementation looks users up one by one; implementations backed by a remote
+     * store should override it with a single multi-get.
+     */
+    default Mono<Map<String, NotificationPreferenceDTO>> getPreferences(Collection<String> userIds) {
+        return Flux.fromIterable(userIds)
+                .distinct()
+                .flatMap(userId -> getPreferences(userId)
+                        .map(preferences -> new AbstractMap.SimpleImmutableEntry<>(userId, preferences)))
+                .collectMap(Map.Entry::getKey, Map.Entry::getValue);
+    }
+
+    /**
+     * Check a channel for many users at once.
+     *
+     * @return a bitmap whose bit {@code i} is set if the channel is enabled for the {@code i}-th user,
+     *         in the iteration order of {@code userIds}
+     */
+    default Mono<BitSet> isChannelEnabledBatch(Collection<String> userIds, String channel) {
+        return getPreferences(userIds).map(preferences -> {
+            BitSet enabled = new BitSet(userIds.size());
+            int index = 0;
+            for (String userId : userIds) {
+                NotificationPreferenceDTO userPreferences = preferences.get(userId);
+                if (userPreferences == null || userPreferences.isChannelEnabled(channel)) {
+                    enabled.set(index);
+                }
+                index++;
+            }
+            return enabled;
+        });
+    }
+
+    /**
+     * Streaming form of {@link #isChannelEnabledBatch(Collection, String)}: emits one
+     * {@code (userId, enabled)} entry per user, in order, looking users up in chunks.
+     */
+    default Flux<Map.Entry<String, Boolean>> isChannelEnabledBatch(Flux<String> userIds, String channel) {
+        return userIds
+                .buffer(512)
+                .concatMap(chunk -> isChannelEnabledBatch(chunk, channel)
+                        .flatMapIterable(enabled -> {
+                            List<Map.Entry<String, Boolean>> entries = new ArrayList<>(chunk.size());
+                            for (int i = 0; i < chunk.size(); i++) {
+                                entries.add(new AbstractMap.SimpleImmutableEntry<>(chunk.get(i), enabled.get(i)));
+                            }
+                            return entries;
+                        }));
+    }
 }
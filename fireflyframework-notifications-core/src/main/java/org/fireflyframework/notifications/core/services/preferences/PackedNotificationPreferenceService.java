@@ -0,0 +1,309 @@
+/*
+ * Copyright 2024-2026 Firefly Software Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.fireflyframework.notifications.core.services.preferences;
+
+import lombok.extern.slf4j.Slf4j;
+import org.fireflyframework.notifications.interfaces.dtos.preferences.NotificationPreferenceDTO;
+import reactor.core.publisher.Mono;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Compact in-memory implementation of {@link NotificationPreferenceService} for very large user bases.
+ *
+ * <p>Each user costs one {@code long} key and one {@code long} value in an open-addressing table,
+ * about 23 bytes at the 0.7 load factor, instead of a DTO and a {@code HashMap}. The key is a 64-bit
+ * hash of the user ID, which is not stored; with tens of millions of users the chance of any two
+ * IDs colliding stays below one in a thousand, but callers that cannot accept that risk should use
+ * {@link InMemoryNotificationPreferenceService}.
+ *
+ * <p>The value packs the preferences into two 32-bit halves: the low half holds flag values, the
+ * high half marks which channel overrides are set. Bits 0-2 are the email, SMS and push toggles;
+ * bits 3-31 are channel overrides, assigned through a dictionary shared by all users, so at most
+ * 29 distinct override names can be stored.
+ *
+ * <p>The table is split into segments that grow independently. Reads are lock-free and allocate
+ * nothing ({@link #isEnabled(String, String)}); updates lock one segment and replace the user's
+ * value with a single atomic write.
+ */
+@Slf4j
+public class PackedNotificationPreferenceService implements NotificationPreferenceService {
+
+    private static final VarHandle LONGS = MethodHandles.arrayElementVarHandle(long[].class);
+    private static final int SEGMENT_BITS = 6;
+    private static final int SEGMENTS = 1 << SEGMENT_BITS;
+    private static final double LOAD_FACTOR = 0.7;
+    private static final int EMAIL_BIT = 0;
+    private static final int SMS_BIT = 1;
+    private static final int PUSH_BIT = 2;
+    private static final int FIRST_OVERRIDE_BIT = 3;
+    private static final int LAST_OVERRIDE_BIT = 31;
+    private static final long TOGGLE_BITS = (1L << EMAIL_BIT) | (1L << SMS_BIT) | (1L << PUSH_BIT);
+
+    private final Segment[] segments = new Segment[SEGMENTS];
+    private final PreferenceChannelDictionary dictionary =
+            new PreferenceChannelDictionary(FIRST_OVERRIDE_BIT, LAST_OVERRIDE_BIT);
+
+    public PackedNotificationPreferenceService(int expectedUsers) {
+        int perSegment = (int) Math.ceil(Math.max(1, expectedUsers) / (double) SEGMENTS / LOAD_FACTOR);
+        for (int i = 0; i < SEGMENTS; i++) {
+            segments[i] = new Segment(Math.max(16, Integer.highestOneBit(perSegment - 1) << 1));
+        }
+    }
+
+    public PackedNotificationPreferenceService() {
+        this(1 << 16);
+    }
+
+    @Override
+    public Mono<NotificationPreferenceDTO> getPreferences(String userId) {
+        return Mono.fromSupplier(() -> decode(userId, find(userId)));
+    }
+
+    @Override
+    public Mono<NotificationPreferenceDTO> updatePreferences(String userId, NotificationPreferenceDTO preferences) {
+        return Mono.fromSupplier(() -> {
+            preferences.setUserId(userId);
+            store(userId, encode(preferences));
+            log.debug("Updated notification preferences for user: {}", userId);
+            return preferences;
+        });
+    }
+
+    @Override
+    public Mono<Boolean> isChannelEnabled(String userId, String channel) {
+        return Mono.fromSupplier(() -> isEnabled(userId, channel));
+    }
+
+    @Override
+    public Mono<Map<String, NotificationPreferenceDTO>> getPreferences(Collection<String> userIds) {
+        return Mono.fromSupplier(() -> {
+            Map<String, NotificationPreferenceDTO> preferences = new HashMap<>();
+            for (String userId : userIds) {
+                preferences.put(userId, decode(userId, find(userId)));
+            }
+            return preferences;
+        });
+    }
+
+    @Override
+    public Mono<BitSet> isChannelEnabledBatch(Collection<String> userIds, String channel) {
+        return Mono.fromSupplier(() -> {
+            BitSet enabled = new BitSet(userIds.size());
+            int index = 0;
+            for (String userId : userIds) {
+                if (isEnabled(find(userId), channel)) {
+                    enabled.set(index);
+                }
+                index++;
+            }
+            return enabled;
+        });
+    }
+
+    /**
+     * Synchronous, allocation-free form of {@link #isChannelEnabled(String, String)}.
+     */
+    public boolean isEnabled(String userId, String channel) {
+        return isEnabled(find(userId), channel);
+    }
+
+    /**
+     * Number of users with stored preferences.
+     */
+    public long size() {
+        long size = 0;
+        for (Segment segment : segments) {
+            size += segment.size;
+        }
+        return size;
+    }
+
+    /**
+     * Packed preferences of a user; users without stored preferences get every toggle enabled.
+     */
+    long find(String userId) {
+        long hash = hash(userId);
+        return segmentFor(hash).get(hash);
+    }
+
+    void store(String userId, long packed) {
+        long hash = hash(userId);
+        segmentFor(hash).put(hash, packed);
+    }
+
+    boolean isEnabled(long packed, String channel) {
+        int override = dictionary.find(channel);
+        if (override >= 0 && (packed & (1L << (override + 32))) != 0) {
+            return (packed & (1L << override)) != 0;
+        }
+        int toggle = toggleBit(channel);
+        return toggle < 0 || (packed & (1L << toggle)) != 0;
+    }
+
+    long encode(NotificationPreferenceDTO preferences) {
+        long packed = 0;
+        packed |= preferences.isEmailEnabled() ? 1L << EMAIL_BIT : 0;
+        packed |= preferences.isSmsEnabled() ? 1L << SMS_BIT : 0;
+        packed |= preferences.isPushEnabled() ? 1L << PUSH_BIT : 0;
+        if (preferences.getChannels() != null) {
+            for (Map.Entry<String, Boolean> override : preferences.getChannels().entrySet()) {
+                if (override.getValue() == null) {
+                    continue;
+                }
+                int bit = dictionary.register(override.getKey());
+                packed |= 1L << (bit + 32);
+                packed |= override.getValue() ? 1L << bit : 0;
+            }
+        }
+        return packed;
+    }
+
+    private NotificationPreferenceDTO decode(String userId, long packed) {
+        Map<String, Boolean> channels = new HashMap<>();
+        for (int bit = FIRST_OVERRIDE_BIT; bit <= LAST_OVERRIDE_BIT; bit++) {
+            if ((packed & (1L << (bit + 32))) != 0) {
+                channels.put(dictionary.nameAt(bit), (packed & (1L << bit)) != 0);
+            }
+        }
+        return NotificationPreferenceDTO.builder()
+                .userId(userId)
+                .emailEnabled((packed & (1L << EMAIL_BIT)) != 0)
+                .smsEnabled((packed & (1L << SMS_BIT)) != 0)
+                .pushEnabled((packed & (1L << PUSH_BIT)) != 0)
+                .channels(channels)
+                .build();
+    }
+
+    private Segment segmentFor(long hash) {
+        return segments[(int) (hash >>> (64 - SEGMENT_BITS))];
+    }
+
+    private static int toggleBit(String channel) {
+        if (channel.equalsIgnoreCase("email")) {
+            return EMAIL_BIT;
+        }
+        if (channel.equalsIgnoreCase("sms")) {
+            return SMS_BIT;
+        }
+        if (channel.equalsIgnoreCase("push")) {
+            return PUSH_BIT;
+        }
+        return -1;
+    }
+
+    /**
+     * 64-bit FNV-1a over the UTF-16 code units, finished with the MurmurHash3 mixer. Never returns
+     * {@code 0}, which marks an empty slot.
+     */
+    static long hash(String userId) {
+        long h = 0xcbf29ce484222325L;
+        for (int i = 0; i < userId.length(); i++) {
+            h ^= userId.charAt(i);
+            h *= 0x100000001b3L;
+        }
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return h != 0 ? h : 1;
+    }
+
+    /**
+     * Open-addressing table with linear probing. Readers go through {@link #table} without locking;
+     * a resize publishes a fully populated copy.
+     */
+    private static final class Segment {
+
+        private volatile Table table;
+        private volatile int size;
+
+        Segment(int capacity) {
+            this.table = new Table(capacity);
+        }
+
+        long get(long hash) {
+            Table current = table;
+            int mask = current.keys.length - 1;
+            for (int index = (int) hash & mask; ; index = (index + 1) & mask) {
+                long key = (long) LONGS.getAcquire(current.keys, index);
+                if (key == hash) {
+                    return (long) LONGS.getAcquire(current.values, index);
+                }
+                if (key == 0) {
+                    return TOGGLE_BITS;
+                }
+            }
+        }
+
+        synchronized void put(long hash, long packed) {
+            Table current = table;
+            int mask = current.keys.length - 1;
+            for (int index = (int) hash & mask; ; index = (index + 1) & mask) {
+                long key = current.keys[index];
+                if (key == hash) {
+                    LONGS.setRelease(current.values, index, packed);
+                    return;
+                }
+                if (key == 0) {
+                    if (size + 1 > current.keys.length * LOAD_FACTOR) {
+                        table = current.resize();
+                        put(hash, packed);
+                        return;
+                    }
+                    LONGS.setRelease(current.values, index, packed);
+                    LONGS.setRelease(current.keys, index, hash);
+                    size++;
+                    return;
+                }
+            }
+        }
+    }
+
+    private static final class Table {
+
+        final long[] keys;
+        final long[] values;
+
+        Table(int capacity) {
+            this.keys = new long[capacity];
+            this.values = new long[capacity];
+        }
+
+        Table resize() {
+            Table larger = new Table(keys.length << 1);
+            int mask = larger.keys.length - 1;
+            for (int i = 0; i < keys.length; i++) {
+                if (keys[i] != 0) {
+                    int index = (int) keys[i] & mask;
+                    while (larger.keys[index] != 0) {
+                        index = (index + 1) & mask;
+                    }
+                    larger.keys[index] = keys[i];
+                    larger.values[index] = values[i];
+                }
+            }
+            return larger;
+        }
+    }
+}
@@ -0,0 +1,81 @@
+/*
+ * Copyright 2024-2026 Firefly Software Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.fireflyframework.notifications.core.services.preferences;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Assigns each channel override name a bit position shared by all users of a
+ * {@link PackedNotificationPreferenceService}.
+ */
+final class PreferenceChannelDictionary {
+
+    private final int firstPosition;
+    private final int lastPosition;
+    private final Map<String, Integer> positions = new ConcurrentHashMap<>();
+    private volatile String[] names;
+
+    PreferenceChannelDictionary(int firstPosition, int lastPosition) {
+        this.firstPosition = firstPosition;
+        this.lastPosition = lastPosition;
+        this.names = new String[lastPosition + 1];
+    }
+
+    /**
+     * @return the bit position of {@code channel}, or {@code -1} if no user has an override for it
+     */
+    int find(String channel) {
+        Integer position = positions.get(channel);
+        return position != null ? position : -1;
+    }
+
+    /**
+     * Returns the bit position of {@code channel}, assigning the next free one if needed.
+     *
+     * @throws IllegalStateException if every position is taken
+     */
+    int register(String channel) {
+        int position = find(channel);
+        if (position >= 0) {
+            return position;
+        }
+        synchronized (this) {
+            position = find(channel);
+            if (position >= 0) {
+                return position;
+            }
+            position = firstPosition + positions.size();
+            if (position > lastPosition) {
+                throw new IllegalStateException("Cannot track more than " + (lastPosition - firstPosition + 1)
+                        + " channel overrides; '" + channel + "' does not fit");
+            }
+            String[] updated = names.clone();
+            updated[position] = channel;
+            names = updated;
+            positions.put(channel, position);
+            return position;
+        }
+    }
+
+    /**
+     * Channel name at a bit position, or {@code null} if unassigned.
+     */
+    String nameAt(int position) {
+        return names[position];
+    }
+}
@@ -0,0 +1,109 @@
+/*
+ * Copyright 2024-2026 Firefly Software Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.fireflyframework.notifications.core.services.preferences;
+
+import reactor.core.publisher.Mono;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+import java.util.function.Function;
+import java.util.function.IntFunction;
+
+/**
+ * Preference checks used by the channel services to skip sends to opted-out users.
+ *
+ * <p>Requests without a user ID are always allowed, as is everything when no
+ * {@link NotificationPreferenceService} is configured.
+ */
+public final class PreferenceGate {
+
+    private PreferenceGate() {
+    }
+
+    /**
+     * Whether a send to {@code userId} on {@code channel} may go ahead.
+     */
+    public static Mono<Boolean> allows(NotificationPreferenceService preferences, String userId, String channel) {
+        if (preferences == null || userId == null) {
+            return Mono.just(true);
+        }
+        return preferences.isChannelEnabled(userId, channel).defaultIfEmpty(true);
+    }
+
+    /**
+     * Checks a whole batch with a single {@link NotificationPreferenceService#isChannelEnabledBatch} call.
+     *
+     * @return a bitmap whose bit {@code i} is set if the {@code i}-th request may be sent
+     */
+    public static <T> Mono<BitSet> allowed(NotificationPreferenceService preferences, List<T> requests,
+                                           Function<T, String> userIdOf, String channel) {
+        BitSet allowed = new BitSet(requests.size());
+        allowed.set(0, requests.size());
+        if (preferences == null) {
+            return Mono.just(allowed);
+        }
+        List<String> userIds = new ArrayList<>();
+        List<Integer> positions = new ArrayList<>();
+        for (int i = 0; i < requests.size(); i++) {
+            String userId = userIdOf.apply(requests.get(i));
+            if (userId != null) {
+                userIds.add(userId);
+                positions.add(i);
+            }
+        }
+        if (userIds.isEmpty()) {
+            return Mono.just(allowed);
+        }
+        return preferences.isChannelEnabledBatch(userIds, channel).map(enabled -> {
+            for (int i = 0; i < positions.size(); i++) {
+                if (!enabled.get(i)) {
+                    allowed.clear(positions.get(i));
+                }
+            }
+            return allowed;
+        });
+    }
+
+    /**
+     * Sends the allowed requests of a batch and fills the positions of the others with a suppressed
+     * response, keeping one response per request in request order.
+     *
+     * @param send       sends a sub-batch, returning one response per request
+     * @param suppressed builds the response for the request at a suppressed position
+     */
+    public static <T, R> Mono<List<R>> sendAllowed(List<T> requests, BitSet allowed,
+                                                   Function<List<T>, Mono<List<R>>> send, IntFunction<R> suppressed) {
+        int allowedCount = allowed.cardinality();
+        if (allowedCount == requests.size()) {
+            return send.apply(requests);
+        }
+        List<T> toSend = new ArrayList<>(allowedCount);
+        for (int i = allowed.nextSetBit(0); i >= 0; i = allowed.nextSetBit(i + 1)) {
+            toSend.add(requests.get(i));
+        }
+        Mono<List<R>> sent = toSend.isEmpty() ? Mono.just(List.of()) : send.apply(toSend);
+        return sent.map(responses -> {
+            List<R> merged = new ArrayList<>(requests.size());
+            int next = 0;
+            for (int i = 0; i < requests.size(); i++) {
+                merged.add(allowed.get(i) ? responses.get(next++) : suppressed.apply(i));
+            }
+            return merged;
+        });
+    }
+}
@@ -17,10 +17,65 @@
 
 package org.fireflyframework.notifications.core.services.push.v1;
 
+import org.fireflyframework.notifications.interfaces.dtos.push.v1.PushMulticastRequest;
+import org.fireflyframework.notifications.interfaces.dtos.push.v1.PushMulticastResponse;
 import org.fireflyframework.notifications.interfaces.dtos.push.v1.PushNotificationRequest;
 import org.fireflyframework.notifications.interfaces.dtos.push.v1.PushNotificationResponse;
+import org.fireflyframework.notifications.interfaces.dtos.push.v1.PushPayload;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
+import java.util.Map;
+import java.util.function.Function;
+
 public interface PushService {
     Mono<PushNotificationResponse> sendPush(PushNotificationRequest request);
+
+    /**
+     * Send one payload to every token of the request, skipping tokens whose user opted out.
+     *
+     * @param request the shared payload, its target device tokens and their users
+     * @return a Mono emitting the aggregated per-token results
+     */
+    default Mono<PushMulticastResponse> sendMulticast(PushMulticastRequest request) {
+        Map<String, String> userIds = request.getUserIds();
+        return sendMulticast(request.getPayload(), Flux.fromIterable(request.getTokens()),
+                userIds != null ? userIds::get : token -> null)
+                .collectList()
+                .map(PushMulticastResponse::of);
+    }
+
+    /**
+     * Send one payload to a stream of device tokens, for audiences too large to hold as a list.
+     *
+     * @param payload the shared notification content
+     * @param tokens  the target device tokens
+     * @return a Flux emitting one response per token, in token order
+     */
+    default Flux<PushNotificationResponse> sendMulticast(PushPayload payload, Flux<String> tokens) {
+        return sendMulticast(payload, tokens, token -> null);
+    }
+
+    /**
+     * Send one payload to a stream of device tokens, skipping tokens whose user opted out of push
+     * notifications.
+     *
+     * @param payload  the shared notification content
+     * @param tokens   the target device tokens
+     * @param userIdOf the ID of the user a token belongs to, or {@code null} to send to it regardless
+     * @return a Flux emitting one response per token, in token order; skipped tokens get a suppressed response
+     */
+    default Flux<PushNotificationResponse> sendMulticast(PushPayload payload, Flux<String> tokens,
+                                                         Function<String, String> userIdOf) {
+        return tokens.concatMap(token -> {
+            PushNotificationRequest request = payload.toRequest(token);
+            request.setUserId(userIdOf.apply(token));
+            return sendPush(request)
+                    .map(response -> {
+                        response.setToken(token);
+                        return response;
+                    })
+                    .onErrorResume(error -> Mono.just(PushNotificationResponse.error(token, error.getMessage())));
+        });
+    }
 }
\ No newline at end of file
@@ -17,21 +17,161 @@
 
 package org.fireflyframework.notifications.core.services.push.v1;
 
+import org.fireflyframework.notifications.core.services.hedging.NotificationHedging;
+import org.fireflyframework.notifications.core.services.hedging.RequestHedger;
+import org.fireflyframework.notifications.core.services.idempotency.IdempotencyCache;
+import org.fireflyframework.notifications.core.services.preferences.NotificationPreferenceService;
+import org.fireflyframework.notifications.core.services.preferences.PreferenceGate;
+import org.fireflyframework.notifications.core.services.ratelimit.NotificationRateLimiters;
+import org.fireflyframework.notifications.core.services.ratelimit.TokenBucketRateLimiter;
 import org.fireflyframework.notifications.interfaces.dtos.push.v1.PushNotificationRequest;
 import org.fireflyframework.notifications.interfaces.dtos.push.v1.PushNotificationResponse;
+import org.fireflyframework.notifications.interfaces.dtos.push.v1.PushPayload;
 import org.fireflyframework.notifications.interfaces.providers.push.v1.PushProvider;
+import org.fireflyframework.notifications.observability.NotificationMetrics;
+import org.fireflyframework.notifications.observability.SendMeters;
+import org.fireflyframework.notifications.observability.SendMeters.Outcome;
+import org.fireflyframework.notifications.observability.SendMeters.Stage;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Push service backed by the {@link PushProvider} beans in priority order.
+ *
+ * <p>Sends go to the first provider. When hedging is enabled for the {@code push} channel, a slow
+ * single push is hedged on the second provider, or on the first one again when it is the only bean.
+ *
+ * <p>Multicast tokens are sent in provider-sized chunks; the users of each chunk's tokens are checked
+ * with one {@link NotificationPreferenceService#isChannelEnabledBatch} call and opted-out tokens are
+ * answered with a suppressed response instead of being sent to.
+ */
 @Service
 public class PushServiceImpl implements PushService {
 
+    private static final String CHANNEL = "push";
+
     @Autowired
-    private PushProvider pushProvider;
+    private List<PushProvider> pushProviders;
+
+    @Autowired(required = false)
+    private NotificationRateLimiters rateLimiters;
+
+    @Autowired(required = false)
+    private NotificationHedging hedging;
+
+    @Autowired(required = false)
+    private IdempotencyCache idempotencyCache;
+
+    @Autowired(required = false)
+    private NotificationPreferenceService preferenceService;
+
+    @Autowired(required = false)
+    private NotificationMetrics metrics;
 
     @Override
     public Mono<PushNotificationResponse> sendPush(PushNotificationRequest request) {
-        return pushProvider.sendPush(request);
+        PushProvider primary = pushProviders.get(0);
+        SendMeters meters = meters(primary);
+        RequestHedger hedger = hedging != null ? hedging.find(CHANNEL) : null;
+        Supplier<Mono<PushNotificationResponse>> attempt = () -> hedger != null
+                ? hedger.hedge(() -> send(primary, request), () -> send(secondary(), request))
+                : send(primary, request);
+        Supplier<Mono<PushNotificationResponse>> deduplicated = () -> idempotencyCache != null
+                ? idempotencyCache.execute(CHANNEL, request.getIdempotencyKey(), attempt, PushNotificationResponse::isSuccess)
+                : attempt.get();
+        if (preferenceService == null || request.getUserId() == null) {
+            return meters.timed(Stage.TOTAL, deduplicated.get(), PushServiceImpl::outcome);
+        }
+        return meters.timed(Stage.TOTAL, meters.timed(Stage.PREFERENCE,
+                                PreferenceGate.allows(preferenceService, request.getUserId(), CHANNEL))
+                        .flatMap(allowed -> allowed
+                                ? deduplicated.get()
+                                : Mono.just(PushNotificationResponse.suppressed(request.getToken()))),
+                PushServiceImpl::outcome);
+    }
+
+    @Override
+    public Flux<PushNotificationResponse> sendMulticast(PushPayload payload, Flux<String> tokens,
+                                                        Function<String, String> userIdOf) {
+        PushProvider pushProvider = pushProviders.get(0);
+        int chunkSize = Math.max(1, pushProvider.getMaxBatchSize());
+        int concurrency = Math.max(1, pushProvider.getMaxConcurrentBatches());
+        return tokens
+                .buffer(chunkSize)
+                .flatMapSequential(chunk -> sendGatedChunk(pushProvider, payload, chunk, userIdOf), concurrency)
+                .flatMapIterable(responses -> responses);
+    }
+
+    private Mono<PushNotificationResponse> send(PushProvider provider, PushNotificationRequest request) {
+        return throttled(provider, 1, () -> meters(provider).timed(Stage.PROVIDER, provider.sendPush(request)));
+    }
+
+    private PushProvider secondary() {
+        return pushProviders.size() > 1 ? pushProviders.get(1) : pushProviders.get(0);
+    }
+
+    /**
+     * Looks up the chunk's users in one preference call and sends only to tokens whose user has not opted out.
+     */
+    private Mono<List<PushNotificationResponse>> sendGatedChunk(PushProvider pushProvider, PushPayload payload,
+                                                                List<String> chunk, Function<String, String> userIdOf) {
+        SendMeters meters = meters(pushProvider);
+        return meters.timed(Stage.PREFERENCE, PreferenceGate.allowed(preferenceService, chunk, userIdOf, CHANNEL))
+                .flatMap(allowed -> PreferenceGate.sendAllowed(chunk, allowed,
+                        allowedChunk -> sendChunk(pushProvider, payload, allowedChunk),
+                        i -> PushNotificationResponse.suppressed(chunk.get(i))))
+                .onErrorResume(error -> Mono.just(failedChunk(chunk, error)))
+                .doOnNext(responses -> responses.forEach(response -> meters.count(outcome(response))));
+    }
+
+    private Mono<List<PushNotificationResponse>> sendChunk(PushProvider pushProvider, PushPayload payload, List<String> chunk) {
+        return throttled(pushProvider, chunk.size(), () -> meters(pushProvider)
+                        .timed(Stage.PROVIDER, pushProvider.sendMulticast(payload, chunk).collectList()))
+                .map(responses -> {
+                    if (responses.size() == chunk.size()) {
+                        return responses;
+                    }
+                    List<PushNotificationResponse> aligned = new ArrayList<>(chunk.size());
+                    for (int i = 0; i < chunk.size(); i++) {
+                        aligned.add(i < responses.size()
+                                ? responses.get(i)
+                                : PushNotificationResponse.error(chunk.get(i), "Provider returned no response for this token"));
+                    }
+                    return aligned;
+                })
+                .onErrorResume(error -> Mono.just(failedChunk(chunk, error)));
+    }
+
+    private static List<PushNotificationResponse> failedChunk(List<String> chunk, Throwable error) {
+        List<PushNotificationResponse> failed = new ArrayList<>(chunk.size());
+        for (String token : chunk) {
+            failed.add(PushNotificationResponse.error(token, error.getMessage()));
+        }
+        return failed;
+    }
+
+    private SendMeters meters(PushProvider provider) {
+        return metrics != null ? metrics.sendMeters(CHANNEL, provider.getProviderName()) : SendMeters.DISABLED;
+    }
+
+    private static Outcome outcome(PushNotificationResponse response) {
+        if (response.isSuppressed()) {
+            return Outcome.SUPPRESSED;
+        }
+        return response.isSuccess() ? Outcome.SUCCESS : Outcome.FAILURE;
+    }
+
+    private <T> Mono<T> throttled(PushProvider provider, int permits, Supplier<Mono<T>> send) {
+        TokenBucketRateLimiter limiter = rateLimiters != null
+                ? rateLimiters.find(CHANNEL, provider.getProviderName())
+                : null;
+        return limiter != null ? limiter.acquire(permits).then(Mono.defer(send)) : send.get();
     }
 }
@@ -0,0 +1,80 @@
+/*
+ * Copyright 2024-2026 Firefly Software Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.fireflyframework.notifications.core.services.ratelimit;
+
+import lombok.extern.slf4j.Slf4j;
+import org.fireflyframework.notifications.observability.NotificationMetrics;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Registry of provider rate limiters, keyed by channel and provider name.
+ *
+ * <p>Declare it as a bean and register a limit for each vendor with a hard TPS limit; the channel
+ * services throttle every provider call through the matching limiter and leave providers without
+ * a registered limit untouched.
+ *
+ * <pre>{@code
+ * @Bean
+ * NotificationRateLimiters notificationRateLimiters(ObjectProvider<NotificationMetrics> metrics) {
+ *     return new NotificationRateLimiters(metrics.getIfAvailable())
+ *             .register("sms", "twilio", RateLimitSettings.builder().permitsPerSecond(100).burst(20).build());
+ * }
+ * }</pre>
+ */
+@Slf4j
+public class NotificationRateLimiters {
+
+    private final Map<String, Map<String, TokenBucketRateLimiter>> limiters = new ConcurrentHashMap<>();
+    private final NotificationMetrics metrics;
+
+    public NotificationRateLimiters(NotificationMetrics metrics) {
+        this.metrics = metrics;
+    }
+
+    public NotificationRateLimiters() {
+        this(null);
+    }
+
+    /**
+     * Registers (or replaces) the limit for a provider on a channel.
+     */
+    public NotificationRateLimiters register(String channel, String provider, RateLimitSettings settings) {
+        String name = channel + "/" + provider;
+        TokenBucketRateLimiter limiter = metrics != null
+                ? new TokenBucketRateLimiter(name, settings,
+                        metrics.rateLimitWaitTimer(channel, provider),
+                        metrics.rateLimitRejectedCounter(channel, provider))
+                : new TokenBucketRateLimiter(name, settings);
+        if (metrics != null) {
+            metrics.registerRateLimiter(channel, provider, limiter, TokenBucketRateLimiter::getAvailablePermits);
+        }
+        limiters.computeIfAbsent(channel, c -> new ConcurrentHashMap<>()).put(provider, limiter);
+        log.info("Registered rate limit for {}: {} msg/s, burst {}, policy {}",
+                name, settings.getPermitsPerSecond(), settings.getBurst(), settings.getPolicy());
+        return this;
+    }
+
+    /**
+     * Returns the limiter for a provider on a channel, or {@code null} if it is not rate limited.
+     */
+    public TokenBucketRateLimiter find(String channel, String provider) {
+        Map<String, TokenBucketRateLimiter> channelLimiters = limiters.get(channel);
+        return channelLimiters != null ? channelLimiters.get(provider) : null;
+    }
+}
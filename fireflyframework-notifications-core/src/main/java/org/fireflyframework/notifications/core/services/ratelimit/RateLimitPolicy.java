@@ -0,0 +1,33 @@
+/*
+ * Copyright 2024-2026 Firefly Software Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.fireflyframework.notifications.core.services.ratelimit;
+
+/**
+ * What a rate limiter does with a send that has no permit available.
+ */
+public enum RateLimitPolicy {
+
+    /**
+     * Delay the send until permits are available, up to the configured maximum wait.
+     */
+    WAIT,
+
+    /**
+     * Fail the send immediately with a {@link RateLimitExceededException}.
+     */
+    REJECT
+}
@@ -0,0 +1,59 @@
+/*
+ * Copyright 2024-2026 Firefly Software Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.fireflyframework.notifications.core.services.ratelimit;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Duration;
+
+/**
+ * Limits for one provider on one channel.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class RateLimitSettings {
+
+    /**
+     * Sustained number of messages per second the provider accepts.
+     */
+    private double permitsPerSecond;
+
+    /**
+     * Number of messages that may be sent back to back after an idle period. Batches larger than
+     * this are always throttled, so keep it at least as large as the provider's batch size.
+     */
+    @Builder.Default
+    private int burst = 1;
+
+    /**
+     * What happens to a send that has no permit available.
+     */
+    @Builder.Default
+    private RateLimitPolicy policy = RateLimitPolicy.WAIT;
+
+    /**
+     * Longest a send may be delayed under {@link RateLimitPolicy#WAIT}; sends that would wait
+     * longer are rejected.
+     */
+    @Builder.Default
+    private Duration maxWait = Duration.ofSeconds(30);
+}
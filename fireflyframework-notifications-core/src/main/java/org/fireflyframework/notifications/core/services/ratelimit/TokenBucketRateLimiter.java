@@ -0,0 +1,130 @@
+/*
+ * Copyright 2024-2026 Firefly Software Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.fireflyframework.notifications.core.services.ratelimit;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Timer;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Lock-free token bucket rate limiter.
+ *
+ * <p>The bucket is tracked as a single theoretical arrival time (the generic cell rate algorithm),
+ * so acquiring permits is one compare-and-set and never blocks a thread. Under
+ * {@link RateLimitPolicy#WAIT} a send reserves its permits immediately and is delayed on a timer
+ * until they are due, which keeps throughput at the sustained rate while queued sends apply
+ * backpressure to the pipeline feeding them. A wait that is cancelled gives back the permits it
+ * reserved, as far as they are still in the future.
+ */
+public class TokenBucketRateLimiter {
+
+    private final long intervalNanos;
+    private final long burstNanos;
+    private final long maxWaitNanos;
+    private final RateLimitPolicy policy;
+    private final String name;
+    private final AtomicLong theoreticalArrival;
+    private final Timer waitTimer;
+    private final Counter rejectedCounter;
+
+    public TokenBucketRateLimiter(String name, RateLimitSettings settings, Timer waitTimer, Counter rejectedCounter) {
+        if (settings.getPermitsPerSecond() <= 0 || settings.getBurst() < 1) {
+            throw new IllegalArgumentException("Rate limit for '" + name + "' needs a positive rate and burst");
+        }
+        this.name = name;
+        this.intervalNanos = Math.max(1L, (long) (TimeUnit.SECONDS.toNanos(1) / settings.getPermitsPerSecond()));
+        this.burstNanos = intervalNanos * settings.getBurst();
+        this.maxWaitNanos = settings.getMaxWait().toNanos();
+        this.policy = settings.getPolicy();
+        this.theoreticalArrival = new AtomicLong(System.nanoTime());
+        this.waitTimer = waitTimer;
+        this.rejectedCounter = rejectedCounter;
+    }
+
+    public TokenBucketRateLimiter(String name, RateLimitSettings settings) {
+        this(name, settings, null, null);
+    }
+
+    /**
+     * Acquires {@code permits} when subscribed to, completing once the send may proceed.
+     * Errors with {@link RateLimitExceededException} when the permits are refused.
+     */
+    public Mono<Void> acquire(int permits) {
+        return Mono.defer(() -> {
+            long waitNanos = reserve(permits);
+            if (waitNanos < 0) {
+                if (rejectedCounter != null) {
+                    rejectedCounter.increment();
+                }
+                return Mono.error(new RateLimitExceededException("Rate limit exceeded for " + name));
+            }
+            if (waitTimer != null) {
+                waitTimer.record(waitNanos, TimeUnit.NANOSECONDS);
+            }
+            return waitNanos == 0
+                    ? Mono.empty()
+                    : Mono.delay(Duration.ofNanos(waitNanos)).then().doOnCancel(() -> refund(permits));
+        });
+    }
+
+    /**
+     * Number of permits that could be acquired right now without waiting.
+     */
+    public double getAvailablePermits() {
+        long now = System.nanoTime();
+        long debt = Math.max(0L, theoreticalArrival.get() - now);
+        return Math.max(0L, burstNanos - debt) / (double) intervalNanos;
+    }
+
+    /**
+     * Reserves permits and returns how long the caller must wait for them, or {@code -1} if they
+     * were refused and nothing was reserved.
+     */
+    private long reserve(int permits) {
+        long cost = intervalNanos * permits;
+        while (true) {
+            long now = System.nanoTime();
+            long current = theoreticalArrival.get();
+            long next = Math.max(current, now) + cost;
+            long waitNanos = Math.max(0L, next - now - burstNanos);
+            if (waitNanos > 0 && (policy == RateLimitPolicy.REJECT || waitNanos > maxWaitNanos)) {
+                return -1L;
+            }
+            if (theoreticalArrival.compareAndSet(current, next)) {
+                return waitNanos;
+            }
+        }
+    }
+
+    /**
+     * Gives back permits reserved by a cancelled wait, never moving the arrival time into the past.
+     */
+    private void refund(int permits) {
+        long cost = intervalNanos * permits;
+        while (true) {
+            long now = System.nanoTime();
+            long current = theoreticalArrival.get();
+            if (current <= now || theoreticalArrival.compareAndSet(current, Math.max(now, current - cost))) {
+                return;
+            }
+        }
+    }
+}
@@ -0,0 +1,344 @@
+/*
+ * Copyright 2024-2026 Firefly Software Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.fireflyframework.notifications.core.services.scheduling;
+
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.fireflyframework.notifications.core.services.email.v1.EmailService;
+import org.fireflyframework.notifications.core.services.outbox.OutboxCodec;
+import org.fireflyframework.notifications.core.services.outbox.OutboxLog;
+import org.fireflyframework.notifications.core.services.outbox.OutboxRecord;
+import org.fireflyframework.notifications.core.services.outbox.OutboxSender;
+import org.fireflyframework.notifications.core.services.push.v1.PushService;
+import org.fireflyframework.notifications.core.services.sms.v1.SMSService;
+import org.fireflyframework.notifications.interfaces.dtos.email.v1.EmailRequestDTO;
+import org.fireflyframework.notifications.interfaces.dtos.email.v1.EmailTemplateRequestDTO;
+import org.fireflyframework.notifications.interfaces.dtos.push.v1.PushNotificationRequest;
+import org.fireflyframework.notifications.interfaces.dtos.sms.v1.SMSRequestDTO;
+import org.fireflyframework.notifications.observability.NotificationMetrics;
+import reactor.core.Disposable;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.core.scheduler.Schedulers;
+import reactor.util.concurrent.Queues;
+
+import java.nio.ByteBuffer;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Sends notifications at a future time through {@link EmailService}, {@link SMSService} or
+ * {@link PushService}.
+ *
+ * <p>Pending sends live in a hierarchical {@link TimingWheel}, so scheduling and cancelling are O(1)
+ * however many sends are pending. The wheel is owned by a single scheduling thread: callers hand new
+ * and cancelled sends over through lock-free queues, and each tick the sends that came due are passed
+ * as one batch to the dispatch path, which sends them through an {@link OutboxSender} with bounded
+ * concurrency, retrying errors and {@code FAILED} responses as the outbox does. Sends fire no
+ * earlier than their send time and at most one {@link SchedulerSettings#getTick() tick} later, plus
+ * any dispatch backlog.
+ *
+ * <p>With a {@link SchedulerSettings#getDirectory() directory}, every scheduled send is first appended
+ * to an {@link OutboxLog} and acknowledged once it has been sent or cancelled; sends still in the log
+ * when the scheduler is opened, including those that ran out of attempts, are scheduled again, and
+ * those whose time passed while it was down fire right away. Without one, pending sends are lost on shutdown.
+ *
+ * <pre>{@code
+ * @Bean(destroyMethod = "close")
+ * NotificationScheduler notificationScheduler(EmailService email, SMSService sms, PushService push) {
+ *     return new NotificationScheduler(SchedulerSettings.builder().directory(Path.of("/var/lib/app/schedule")).build(),
+ *             email, sms, push);
+ * }
+ * }</pre>
+ *
+ * <p>Any of the services may be {@code null}; scheduling a request for a missing service fails.
+ */
+@Slf4j
+public class NotificationScheduler implements AutoCloseable {
+
+    private static final int HEADER_BYTES = 2 * Long.BYTES;
+    private static final int IDS_PER_MILLISECOND_BITS = 16;
+
+    private final SchedulerSettings settings;
+    private final OutboxLog scheduleLog;
+    private final OutboxSender sender;
+    private final Timer lagTimer;
+    private final TimingWheel<ScheduledSend> wheel;
+    private final Map<Long, ScheduledSend> pending = new ConcurrentHashMap<>();
+    private final Queue<ScheduledSend> additions = Queues.<ScheduledSend>unboundedMultiproducer().get();
+    private final Queue<ScheduledSend> cancellations = Queues.<ScheduledSend>unboundedMultiproducer().get();
+    // Seeded from the clock so IDs handed out before a restart, including cancelled ones, are never reused
+    private final AtomicLong ids = new AtomicLong(System.currentTimeMillis() << IDS_PER_MILLISECOND_BITS);
+    private final Sinks.Many<List<ScheduledSend>> due = Sinks.many().unicast()
+            .onBackpressureBuffer(Queues.<List<ScheduledSend>>unboundedMultiproducer().get());
+    private final Disposable dispatcher;
+    private final Disposable compactor;
+    private final Thread ticker;
+    private volatile boolean running = true;
+
+    public NotificationScheduler(SchedulerSettings settings, EmailService emailService, SMSService smsService,
+                                 PushService pushService, NotificationMetrics metrics) {
+        this.settings = settings;
+        this.sender = new OutboxSender(emailService, smsService, pushService, settings.getMaxAttempts(),
+                settings.getRetryBackoff());
+        this.lagTimer = metrics != null ? metrics.schedulerLagTimer() : null;
+        this.wheel = new TimingWheel<>(settings.getTick().toMillis(), settings.getWheelSize(), System.currentTimeMillis());
+        this.dispatcher = due.asFlux()
+                .flatMapIterable(batch -> batch)
+                .flatMap(this::dispatch, Math.max(1, settings.getDispatchConcurrency()))
+                .subscribe();
+        if (settings.getDirectory() != null) {
+            this.scheduleLog = new OutboxLog(settings.getDirectory(), settings.getSegmentSize(), settings.isFsync());
+            this.compactor = Mono.delay(settings.getCompactionInterval(), Schedulers.boundedElastic())
+                    .repeat()
+                    .subscribe(tick -> compact());
+            recover();
+        } else {
+            this.scheduleLog = null;
+            this.compactor = null;
+        }
+        if (metrics != null) {
+            metrics.registerScheduler(this, NotificationScheduler::getPendingCount);
+        }
+        this.ticker = Thread.ofPlatform()
+                .name("notification-scheduler")
+                .daemon()
+                .start(this::run);
+    }
+
+    public NotificationScheduler(SchedulerSettings settings, EmailService emailService, SMSService smsService,
+                                 PushService pushService) {
+        this(settings, emailService, smsService, pushService, null);
+    }
+
+    /**
+     * Schedules an email for {@code sendAt}, completing with the ID that cancels it once the send is
+     * scheduled (and durable, with a schedule directory).
+     */
+    public Mono<Long> schedule(EmailRequestDTO request, Instant sendAt) {
+        return add(request, sendAt);
+    }
+
+    public Mono<Long> schedule(EmailTemplateRequestDTO request, Instant sendAt) {
+        return add(request, sendAt);
+    }
+
+    public Mono<Long> schedule(SMSRequestDTO request, Instant sendAt) {
+        return add(request, sendAt);
+    }
+
+    public Mono<Long> schedule(PushNotificationRequest request, Instant sendAt) {
+        return add(request, sendAt);
+    }
+
+    /**
+     * Cancels a pending send.
+     *
+     * @return {@code false} if the send already fired, was cancelled or does not exist
+     */
+    public boolean cancel(long scheduleId) {
+        ScheduledSend send = pending.remove(scheduleId);
+        if (send == null) {
+            return false;
+        }
+        cancellations.offer(send);
+        acknowledge(send);
+        return true;
+    }
+
+    /**
+     * Number of scheduled sends that have neither fired nor been cancelled.
+     */
+    public long getPendingCount() {
+        return pending.size();
+    }
+
+    /**
+     * Runs a compaction pass of the schedule log now; it also runs every
+     * {@link SchedulerSettings#getCompactionInterval()}.
+     */
+    public void compact() {
+        if (scheduleLog == null) {
+            return;
+        }
+        try {
+            scheduleLog.compact(settings.getCompactionThreshold());
+        } catch (RuntimeException e) {
+            log.warn("Schedule log compaction failed", e);
+        }
+    }
+
+    /**
+     * Stops the scheduling thread and dispatching and closes the schedule log. Persisted sends that
+     * have not been dispatched are scheduled again on the next start.
+     */
+    @Override
+    public void close() {
+        running = false;
+        ticker.interrupt();
+        try {
+            ticker.join(TimeUnit.SECONDS.toMillis(5));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (compactor != null) {
+            compactor.dispose();
+        }
+        dispatcher.dispose();
+        if (scheduleLog != null) {
+            scheduleLog.close();
+        }
+    }
+
+    private Mono<Long> add(Object request, Instant sendAt) {
+        return Mono.defer(() -> {
+            if (!sender.supports(request)) {
+                return Mono.error(new IllegalStateException(
+                        "No service configured for " + request.getClass().getSimpleName()));
+            }
+            long id = ids.incrementAndGet();
+            long sendAtMillis = sendAt.toEpochMilli();
+            if (scheduleLog == null) {
+                return Mono.just(enqueue(new ScheduledSend(id, sendAtMillis, request, null)));
+            }
+            return scheduleLog.append(OutboxCodec.typeOf(request), encode(id, sendAtMillis, request))
+                    .map(record -> enqueue(new ScheduledSend(id, sendAtMillis, request, record)));
+        });
+    }
+
+    private long enqueue(ScheduledSend send) {
+        pending.put(send.id, send);
+        additions.offer(send);
+        return send.id;
+    }
+
+    private void recover() {
+        long maxId = 0;
+        for (OutboxRecord record : scheduleLog.recoveredRecords()) {
+            try {
+                ByteBuffer payload = ByteBuffer.wrap(scheduleLog.read(record));
+                long id = payload.getLong();
+                long sendAtMillis = payload.getLong();
+                Object request = OutboxCodec.decode(record.getType(),
+                        Arrays.copyOfRange(payload.array(), HEADER_BYTES, payload.capacity()));
+                maxId = Math.max(maxId, id);
+                enqueue(new ScheduledSend(id, sendAtMillis, request, record));
+            } catch (RuntimeException e) {
+                log.error("Dropping unreadable schedule record at offset {}", record.getOffset(), e);
+                scheduleLog.ack(record);
+            }
+        }
+        ids.set(Math.max(ids.get(), maxId));
+        if (maxId > 0) {
+            log.info("Recovered {} scheduled notifications", pending.size());
+        }
+    }
+
+    private static byte[] encode(long id, long sendAtMillis, Object request) {
+        byte[] encoded = OutboxCodec.encode(request);
+        return ByteBuffer.allocate(HEADER_BYTES + encoded.length)
+                .putLong(id)
+                .putLong(sendAtMillis)
+                .put(encoded)
+                .array();
+    }
+
+    private void run() {
+        long tickNanos = settings.getTick().toNanos();
+        while (running) {
+            try {
+                tick();
+            } catch (RuntimeException e) {
+                log.error("Scheduler tick failed", e);
+            }
+            LockSupport.parkNanos(tickNanos);
+        }
+    }
+
+    /**
+     * Applies the queued additions and cancellations, then advances the wheel to now and hands the
+     * sends that came due to the dispatcher in one batch.
+     */
+    private void tick() {
+        for (ScheduledSend send; (send = additions.poll()) != null; ) {
+            // Cancelled before it reached the wheel
+            if (pending.get(send.id) == send) {
+                send.node = wheel.add(send, send.sendAtMillis);
+            }
+        }
+        for (ScheduledSend send; (send = cancellations.poll()) != null; ) {
+            if (send.node != null) {
+                wheel.remove(send.node);
+            }
+        }
+        long now = System.currentTimeMillis();
+        List<ScheduledSend> batch = new ArrayList<>();
+        wheel.advance(now, send -> {
+            if (pending.remove(send.id, send)) {
+                batch.add(send);
+                if (lagTimer != null) {
+                    lagTimer.record(Math.max(0, now - send.sendAtMillis), TimeUnit.MILLISECONDS);
+                }
+            }
+        });
+        if (!batch.isEmpty()) {
+            due.emitNext(batch, Sinks.EmitFailureHandler.busyLooping(Duration.ofSeconds(1)));
+        }
+    }
+
+    private Mono<Void> dispatch(ScheduledSend send) {
+        return sender.send(send.request)
+                .then(Mono.fromRunnable(() -> acknowledge(send)))
+                .doOnError(error -> log.error("Scheduled send {} still failing after {} attempts{}", send.id,
+                        settings.getMaxAttempts(), send.record != null ? "; leaving it for the next start" : "", error))
+                .onErrorResume(error -> Mono.empty())
+                .subscribeOn(Schedulers.boundedElastic())
+                .then();
+    }
+
+    private void acknowledge(ScheduledSend send) {
+        if (send.record != null) {
+            scheduleLog.ack(send.record);
+        }
+    }
+
+    private static final class ScheduledSend {
+
+        final long id;
+        final long sendAtMillis;
+        final Object request;
+        final OutboxRecord record;
+        // Written and read by the scheduling thread only
+        TimingWheel.Node<ScheduledSend> node;
+
+        ScheduledSend(long id, long sendAtMillis, Object request, OutboxRecord record) {
+            this.id = id;
+            this.sendAtMillis = sendAtMillis;
+            this.request = request;
+            this.record = record;
+        }
+    }
+}
@@ -0,0 +1,96 @@
+/*
+ * Copyright 2024-2026 Firefly Software Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.fireflyframework.notifications.core.services.scheduling;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+/**
+ * Settings for {@link NotificationScheduler}.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SchedulerSettings {
+
+    /**
+     * Resolution of the timing wheel; sends fire at most one tick after their send time.
+     */
+    @Builder.Default
+    private Duration tick = Duration.ofMillis(100);
+
+    /**
+     * Buckets per timing-wheel level, rounded up to a power of two.
+     */
+    @Builder.Default
+    private int wheelSize = 512;
+
+    /**
+     * Directory persisting the schedule so pending sends survive restarts; {@code null} keeps the
+     * schedule in memory only.
+     */
+    private Path directory;
+
+    /**
+     * Size of each memory-mapped schedule log segment in bytes; bounds the largest request that can be scheduled.
+     */
+    @Builder.Default
+    private int segmentSize = 64 * 1024 * 1024;
+
+    /**
+     * Whether scheduling waits for a group-commit {@code fsync} of the schedule log.
+     */
+    @Builder.Default
+    private boolean fsync = true;
+
+    /**
+     * Maximum number of due sends dispatched concurrently.
+     */
+    @Builder.Default
+    private int dispatchConcurrency = 64;
+
+    /**
+     * Attempts per due send; with a {@link #directory}, a send that runs out of them stays in the schedule
+     * log and fires again on the next start.
+     */
+    @Builder.Default
+    private int maxAttempts = 5;
+
+    /**
+     * First retry delay of a due send; doubles on every further attempt.
+     */
+    @Builder.Default
+    private Duration retryBackoff = Duration.ofSeconds(1);
+
+    /**
+     * How often sealed schedule log segments are checked for compaction.
+     */
+    @Builder.Default
+    private Duration compactionInterval = Duration.ofMinutes(1);
+
+    /**
+     * Sealed segments whose share of live bytes drops below this ratio are compacted.
+     */
+    @Builder.Default
+    private double compactionThreshold = 0.25;
+}
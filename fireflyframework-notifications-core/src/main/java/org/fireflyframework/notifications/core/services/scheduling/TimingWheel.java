@@ -0,0 +1,209 @@
+/*
+ * Copyright 2024-2026 Firefly Software Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.fireflyframework.notifications.core.services.scheduling;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Hierarchical timing wheel: level 0 has one bucket per tick, and every further level has buckets
+ * spanning a full rotation of the level below. An entry is placed in the lowest level whose range
+ * covers its deadline, and moves down a level each time the wheel reaches the start of its bucket,
+ * until it expires from level 0 on its exact tick.
+ *
+ * <p>Buckets are intrusive doubly-linked lists, so {@link #add} and {@link #remove} are O(1)
+ * regardless of how many entries are pending, and each tick only touches the buckets that come due.
+ * Entries never expire before their deadline and at most one tick after it. Levels are created on
+ * first use.
+ *
+ * <p>Not thread-safe; {@link NotificationScheduler} confines it to its scheduling thread.
+ */
+final class TimingWheel<T> {
+
+    private final long tickMillis;
+    private final long startMillis;
+    private final int bits;
+    private final long mask;
+    private final List<Bucket<T>[]> levels = new ArrayList<>();
+    private long currentTick;
+    private int size;
+
+    /**
+     * @param tickMillis  resolution of the wheel
+     * @param wheelSize   buckets per level, rounded up to a power of two
+     * @param startMillis time of tick zero
+     */
+    TimingWheel(long tickMillis, int wheelSize, long startMillis) {
+        if (tickMillis <= 0 || wheelSize < 2) {
+            throw new IllegalArgumentException("Timing wheel needs a positive tick and at least two buckets");
+        }
+        this.tickMillis = tickMillis;
+        this.startMillis = startMillis;
+        this.bits = 32 - Integer.numberOfLeadingZeros(wheelSize - 1);
+        this.mask = (1L << bits) - 1;
+    }
+
+    /**
+     * Adds an entry expiring at {@code deadlineMillis}; deadlines already passed expire on the next tick.
+     */
+    Node<T> add(T value, long deadlineMillis) {
+        long offset = deadlineMillis - startMillis;
+        Node<T> node = new Node<>(value, offset <= 0 ? 0 : (offset + tickMillis - 1) / tickMillis);
+        place(node);
+        size++;
+        return node;
+    }
+
+    /**
+     * Removes an entry that has neither expired nor been removed yet; otherwise does nothing.
+     */
+    void remove(Node<T> node) {
+        if (node.bucket != null) {
+            node.bucket.unlink(node);
+            size--;
+        }
+    }
+
+    /**
+     * Processes every tick up to {@code nowMillis}, handing expired entries to {@code expired} tick by tick.
+     */
+    void advance(long nowMillis, Consumer<T> expired) {
+        long targetTick = Math.floorDiv(nowMillis - startMillis, tickMillis);
+        while (currentTick <= targetTick) {
+            if (size == 0) {
+                currentTick = targetTick + 1;
+                return;
+            }
+            cascade();
+            Bucket<T> bucket = bucket(0, currentTick);
+            for (Node<T> node = bucket.clear(); node != null; ) {
+                Node<T> next = node.next;
+                node.detach();
+                size--;
+                expired.accept(node.value);
+                node = next;
+            }
+            currentTick++;
+        }
+    }
+
+    int size() {
+        return size;
+    }
+
+    /**
+     * Moves the entries of every higher-level bucket starting at the current tick down the wheel,
+     * highest level first so they can cascade through several levels in one tick.
+     */
+    private void cascade() {
+        for (int level = levels.size() - 1; level >= 1; level--) {
+            if ((currentTick & ((1L << bits * level) - 1)) != 0) {
+                continue;
+            }
+            for (Node<T> node = bucket(level, currentTick).clear(); node != null; ) {
+                Node<T> next = node.next;
+                node.detach();
+                place(node);
+                node = next;
+            }
+        }
+    }
+
+    private void place(Node<T> node) {
+        long tick = Math.max(node.deadlineTick, currentTick);
+        long delta = tick - currentTick;
+        int level = 0;
+        while (bits * (level + 1) < Long.SIZE - 1 && delta >= 1L << bits * (level + 1)) {
+            level++;
+        }
+        bucket(level, tick).append(node);
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private Bucket<T> bucket(int level, long tick) {
+        while (levels.size() <= level) {
+            Bucket<T>[] buckets = new Bucket[1 << bits];
+            for (int i = 0; i < buckets.length; i++) {
+                buckets[i] = new Bucket<>();
+            }
+            levels.add(buckets);
+        }
+        return levels.get(level)[(int) (tick >>> bits * level & mask)];
+    }
+
+    static final class Node<T> {
+
+        private final T value;
+        private final long deadlineTick;
+        private Node<T> prev;
+        private Node<T> next;
+        private Bucket<T> bucket;
+
+        private Node(T value, long deadlineTick) {
+            this.value = value;
+            this.deadlineTick = deadlineTick;
+        }
+
+        private void detach() {
+            prev = null;
+            next = null;
+            bucket = null;
+        }
+    }
+
+    private static final class Bucket<T> {
+
+        private Node<T> head;
+        private Node<T> tail;
+
+        void append(Node<T> node) {
+            node.bucket = this;
+            node.prev = tail;
+            if (tail == null) {
+                head = node;
+            } else {
+                tail.next = node;
+            }
+            tail = node;
+        }
+
+        void unlink(Node<T> node) {
+            if (node.prev == null) {
+                head = node.next;
+            } else {
+                node.prev.next = node.next;
+            }
+            if (node.next == null) {
+                tail = node.prev;
+            } else {
+                node.next.prev = node.prev;
+            }
+            node.detach();
+        }
+
+        /**
+         * Empties the bucket, returning its former first node; the nodes stay chained through {@code next}.
+         */
+        Node<T> clear() {
+            Node<T> first = head;
+            head = null;
+            tail = null;
+            return first;
+        }
+    }
+}
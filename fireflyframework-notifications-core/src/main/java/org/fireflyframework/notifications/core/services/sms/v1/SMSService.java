@@ -19,8 +19,33 @@ package org.fireflyframework.notifications.core.services.sms.v1;
 
 import org.fireflyframework.notifications.interfaces.dtos.sms.v1.SMSRequestDTO;
 import org.fireflyframework.notifications.interfaces.dtos.sms.v1.SMSResponseDTO;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
+import java.time.Duration;
+
 public interface SMSService {
     Mono<SMSResponseDTO> sendSMS(SMSRequestDTO request);
+
+    /**
+     * Send a stream of SMS messages, grouping them into provider batches of up to the provider's
+     * maximum batch size or whatever arrived within a 50 ms window, whichever comes first.
+     *
+     * @param requests the messages to send
+     * @return a Flux emitting one response per request, in request order
+     */
+    default Flux<SMSResponseDTO> sendSMSBatch(Flux<SMSRequestDTO> requests) {
+        return sendSMSBatch(requests, Duration.ofMillis(50));
+    }
+
+    /**
+     * Send a stream of SMS messages, grouping them into micro-batches by size or time window.
+     *
+     * @param requests    the messages to send
+     * @param batchWindow the longest time a message waits for its batch to fill up
+     * @return a Flux emitting one response per request, in request order
+     */
+    default Flux<SMSResponseDTO> sendSMSBatch(Flux<SMSRequestDTO> requests, Duration batchWindow) {
+        return requests.concatMap(this::sendSMS);
+    }
 }
\ No newline at end of file
@@ -17,22 +17,155 @@
 
 package org.fireflyframework.notifications.core.services.sms.v1;
 
+import org.fireflyframework.notifications.core.services.hedging.NotificationHedging;
+import org.fireflyframework.notifications.core.services.hedging.RequestHedger;
+import org.fireflyframework.notifications.core.services.idempotency.IdempotencyCache;
+import org.fireflyframework.notifications.core.services.preferences.NotificationPreferenceService;
+import org.fireflyframework.notifications.core.services.preferences.PreferenceGate;
+import org.fireflyframework.notifications.core.services.ratelimit.NotificationRateLimiters;
+import org.fireflyframework.notifications.core.services.ratelimit.TokenBucketRateLimiter;
 import org.fireflyframework.notifications.interfaces.dtos.sms.v1.SMSRequestDTO;
 import org.fireflyframework.notifications.interfaces.dtos.sms.v1.SMSResponseDTO;
 import org.fireflyframework.notifications.interfaces.providers.sms.v1.SMSProvider;
+import org.fireflyframework.notifications.observability.NotificationMetrics;
+import org.fireflyframework.notifications.observability.SendMeters;
+import org.fireflyframework.notifications.observability.SendMeters.Outcome;
+import org.fireflyframework.notifications.observability.SendMeters.Stage;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * SMS service backed by the {@link SMSProvider} beans in priority order.
+ *
+ * <p>Sends go to the first provider. When hedging is enabled for the {@code sms} channel, a slow
+ * send is hedged on the second provider, or on the first one again when it is the only bean.
+ */
 @Service
 @RequiredArgsConstructor
 public class SMSServiceImpl implements SMSService {
 
-    private final SMSProvider smsProvider;
+    private static final String CHANNEL = "sms";
+
+    private final List<SMSProvider> smsProviders;
+
+    @Autowired(required = false)
+    private NotificationRateLimiters rateLimiters;
+
+    @Autowired(required = false)
+    private NotificationHedging hedging;
+
+    @Autowired(required = false)
+    private IdempotencyCache idempotencyCache;
+
+    @Autowired(required = false)
+    private NotificationPreferenceService preferenceService;
+
+    @Autowired(required = false)
+    private NotificationMetrics metrics;
 
     @Override
     public Mono<SMSResponseDTO> sendSMS(SMSRequestDTO request) {
-        return smsProvider.sendSMS(request)
+        SMSProvider primary = smsProviders.get(0);
+        SendMeters meters = meters(primary);
+        RequestHedger hedger = hedging != null ? hedging.find(CHANNEL) : null;
+        Supplier<Mono<SMSResponseDTO>> attempt = () -> (hedger != null
+                ? hedger.hedge(() -> send(primary, request), () -> send(secondary(), request))
+                : send(primary, request))
                 .onErrorResume(error -> Mono.just(SMSResponseDTO.error(error.getMessage())));
+        Supplier<Mono<SMSResponseDTO>> deduplicated = () -> idempotencyCache != null
+                ? idempotencyCache.execute(CHANNEL, request.getIdempotencyKey(), attempt,
+                        response -> !"FAILED".equals(response.getStatus()))
+                : attempt.get();
+        if (preferenceService == null || request.getUserId() == null) {
+            return meters.timed(Stage.TOTAL, deduplicated.get(), SMSServiceImpl::outcome);
+        }
+        return meters.timed(Stage.TOTAL, meters.timed(Stage.PREFERENCE,
+                                PreferenceGate.allows(preferenceService, request.getUserId(), CHANNEL))
+                        .flatMap(allowed -> allowed ? deduplicated.get() : Mono.just(SMSResponseDTO.suppressed())),
+                SMSServiceImpl::outcome);
+    }
+
+    @Override
+    public Flux<SMSResponseDTO> sendSMSBatch(Flux<SMSRequestDTO> requests, Duration batchWindow) {
+        SMSProvider smsProvider = smsProviders.get(0);
+        int batchSize = Math.max(1, smsProvider.getMaxBatchSize());
+        int concurrency = Math.max(1, smsProvider.getMaxConcurrentBatches());
+        return requests
+                .bufferTimeout(batchSize, batchWindow, true)
+                .flatMapSequential(batch -> sendGatedBatch(smsProvider, batch), concurrency)
+                .flatMapIterable(responses -> responses);
+    }
+
+    private Mono<SMSResponseDTO> send(SMSProvider provider, SMSRequestDTO request) {
+        return throttled(provider, 1, () -> meters(provider).timed(Stage.PROVIDER, provider.sendSMS(request)));
+    }
+
+    private SMSProvider secondary() {
+        return smsProviders.size() > 1 ? smsProviders.get(1) : smsProviders.get(0);
+    }
+
+    /**
+     * Looks up the batch's users in one preference call and sends only to those who have not opted out.
+     */
+    private Mono<List<SMSResponseDTO>> sendGatedBatch(SMSProvider smsProvider, List<SMSRequestDTO> batch) {
+        SendMeters meters = meters(smsProvider);
+        return meters.timed(Stage.PREFERENCE,
+                        PreferenceGate.allowed(preferenceService, batch, SMSRequestDTO::getUserId, CHANNEL))
+                .flatMap(allowed -> PreferenceGate.sendAllowed(batch, allowed,
+                        allowedBatch -> sendBatch(smsProvider, allowedBatch), i -> SMSResponseDTO.suppressed()))
+                .onErrorResume(error -> Mono.just(failedBatch(batch, error)))
+                .doOnNext(responses -> responses.forEach(response -> meters.count(outcome(response))));
+    }
+
+    private Mono<List<SMSResponseDTO>> sendBatch(SMSProvider smsProvider, List<SMSRequestDTO> batch) {
+        return throttled(smsProvider, batch.size(), () -> meters(smsProvider)
+                        .timed(Stage.PROVIDER, smsProvider.sendSMSBatch(batch).collectList()))
+                .map(responses -> {
+                    if (responses.size() == batch.size()) {
+                        return responses;
+                    }
+                    List<SMSResponseDTO> aligned = new ArrayList<>(batch.size());
+                    for (int i = 0; i < batch.size(); i++) {
+                        aligned.add(i < responses.size()
+                                ? responses.get(i)
+                                : SMSResponseDTO.error("Provider returned no response for this message"));
+                    }
+                    return aligned;
+                })
+                .onErrorResume(error -> Mono.just(failedBatch(batch, error)));
+    }
+
+    private static List<SMSResponseDTO> failedBatch(List<SMSRequestDTO> batch, Throwable error) {
+        List<SMSResponseDTO> failed = new ArrayList<>(batch.size());
+        for (int i = 0; i < batch.size(); i++) {
+            failed.add(SMSResponseDTO.error(error.getMessage()));
+        }
+        return failed;
+    }
+
+    private SendMeters meters(SMSProvider provider) {
+        return metrics != null ? metrics.sendMeters(CHANNEL, provider.getProviderName()) : SendMeters.DISABLED;
+    }
+
+    private static Outcome outcome(SMSResponseDTO response) {
+        if ("SENT".equals(response.getStatus())) {
+            return Outcome.SUCCESS;
+        }
+        return "SUPPRESSED".equals(response.getStatus()) ? Outcome.SUPPRESSED : Outcome.FAILURE;
+    }
+
+    private <T> Mono<T> throttled(SMSProvider provider, int permits, Supplier<Mono<T>> send) {
+        TokenBucketRateLimiter limiter = rateLimiters != null
+                ? rateLimiters.find(CHANNEL, provider.getProviderName())
+                : null;
+        return limiter != null ? limiter.acquire(permits).then(Mono.defer(send)) : send.get();
     }
 }
\ No newline at end of file
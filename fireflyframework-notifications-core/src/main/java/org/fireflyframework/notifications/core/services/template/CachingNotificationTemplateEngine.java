@@ -0,0 +1,161 @@
+/*
+ * Copyright 2024-2026 Firefly Software Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.fireflyframework.notifications.core.services.template;
+
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.extern.slf4j.Slf4j;
+import org.fireflyframework.notifications.observability.NotificationMetrics;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import reactor.core.publisher.Mono;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * {@link NotificationTemplateEngine} decorator that memoizes render results.
+ *
+ * <p>Results are keyed by template ID, locale, {@linkplain NotificationTemplateEngine#getTemplateVersion(String, Locale)
+ * template version} and a content digest of the variable map, so a template rendered with identical
+ * variables for many recipients is rendered once. Concurrent renders of the same key share a single
+ * in-flight render. The cache is bounded by the total size of the encoded output; results above the
+ * per-entry limit, templates listed as non-cacheable and variable maps holding values without a
+ * stable content representation bypass the cache and go straight to the delegate.
+ *
+ * <p>Cached output is shared: {@link #renderToBuffer(String, Map)} wraps it in a read-only buffer
+ * instead of copying it.
+ */
+@Slf4j
+public class CachingNotificationTemplateEngine implements NotificationTemplateEngine, AutoCloseable {
+
+    private final NotificationTemplateEngine delegate;
+    private final AsyncCache<RenderKey, byte[]> renders;
+    private final Set<String> nonCacheableTemplates;
+    private final int maxEntryBytes;
+
+    public CachingNotificationTemplateEngine(NotificationTemplateEngine delegate,
+                                             NotificationTemplateProperties properties,
+                                             NotificationMetrics metrics) {
+        this.delegate = delegate;
+        this.nonCacheableTemplates = Set.copyOf(properties.getNonCacheableTemplates());
+        this.maxEntryBytes = properties.getRenderCacheMaxEntryBytes();
+        Caffeine<Object, Object> builder = Caffeine.newBuilder()
+                .maximumWeight(properties.getRenderCacheMaxBytes())
+                .expireAfterWrite(properties.getRenderCacheTtl());
+        if (metrics != null) {
+            builder.recordStats(() -> metrics.cacheStatsCounter("renders"));
+        }
+        this.renders = builder
+                .<RenderKey, byte[]>weigher((key, output) -> output.length)
+                .buildAsync();
+    }
+
+    public CachingNotificationTemplateEngine(NotificationTemplateEngine delegate,
+                                             NotificationTemplateProperties properties) {
+        this(delegate, properties, null);
+    }
+
+    @Override
+    public Mono<String> render(String templateId, Map<String, Object> variables) {
+        return render(templateId, null, variables);
+    }
+
+    @Override
+    public Mono<DataBuffer> renderToBuffer(String templateId, Map<String, Object> variables) {
+        return renderToBuffer(templateId, null, variables);
+    }
+
+    @Override
+    public long getTemplateVersion(String templateId) {
+        return delegate.getTemplateVersion(templateId);
+    }
+
+    @Override
+    public Mono<String> render(String templateId, Locale locale, Map<String, Object> variables) {
+        RenderKey key = keyFor(templateId, locale, variables);
+        if (key == null) {
+            return delegate.render(templateId, locale, variables);
+        }
+        return cachedRender(key, variables)
+                .map(output -> new String(output, StandardCharsets.UTF_8));
+    }
+
+    @Override
+    public Mono<DataBuffer> renderToBuffer(String templateId, Locale locale, Map<String, Object> variables) {
+        RenderKey key = keyFor(templateId, locale, variables);
+        if (key == null) {
+            return delegate.renderToBuffer(templateId, locale, variables);
+        }
+        return cachedRender(key, variables)
+                .map(output -> DefaultDataBufferFactory.sharedInstance.wrap(ByteBuffer.wrap(output).asReadOnlyBuffer()));
+    }
+
+    @Override
+    public long getTemplateVersion(String templateId, Locale locale) {
+        return delegate.getTemplateVersion(templateId, locale);
+    }
+
+    /**
+     * Drops every cached render result.
+     */
+    public void invalidateAll() {
+        renders.synchronous().invalidateAll();
+    }
+
+    @Override
+    public void close() throws Exception {
+        if (delegate instanceof AutoCloseable closeable) {
+            closeable.close();
+        }
+    }
+
+    private Mono<byte[]> cachedRender(RenderKey key, Map<String, Object> variables) {
+        CompletableFuture<byte[]> output = renders.get(key, (k, executor) ->
+                delegate.render(k.templateId(), k.locale(), variables)
+                        .map(rendered -> rendered.getBytes(StandardCharsets.UTF_8))
+                        .toFuture());
+        // Oversized results are still shared with the renders already waiting on them, then dropped.
+        // An empty render completes with null, which the cache drops by itself.
+        output.thenAccept(bytes -> {
+            if (bytes != null && bytes.length > maxEntryBytes) {
+                renders.synchronous().invalidate(key);
+            }
+        });
+        // Cancelling one subscriber must not cancel the render other subscribers are waiting on.
+        return Mono.fromFuture(output, true);
+    }
+
+    private RenderKey keyFor(String templateId, Locale locale, Map<String, Object> variables) {
+        if (nonCacheableTemplates.contains(templateId)) {
+            return null;
+        }
+        long[] digest = TemplateVariablesDigest.digest(variables);
+        if (digest == null) {
+            log.debug("Render of template '{}' bypasses the cache: variables have no stable digest", templateId);
+            return null;
+        }
+        return new RenderKey(templateId, locale, delegate.getTemplateVersion(templateId, locale), digest[0], digest[1]);
+    }
+
+    private record RenderKey(String templateId, Locale locale, long version, long digestHigh, long digestLow) {
+    }
+}
@@ -16,41 +16,105 @@
 
 package org.fireflyframework.notifications.core.services.template;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
 import freemarker.cache.ClassTemplateLoader;
 import freemarker.cache.FileTemplateLoader;
 import freemarker.cache.MultiTemplateLoader;
+import freemarker.cache.MruCacheStorage;
 import freemarker.cache.TemplateLoader;
+import freemarker.core.Environment;
 import freemarker.template.Configuration;
 import freemarker.template.Template;
+import freemarker.template.TemplateException;
 import freemarker.template.TemplateExceptionHandler;
+import freemarker.template.TemplateNotFoundException;
+import io.netty.buffer.PooledByteBufAllocator;
 import lombok.extern.slf4j.Slf4j;
+import org.fireflyframework.notifications.observability.NotificationMetrics;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferFactory;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.core.io.buffer.NettyDataBufferFactory;
 import reactor.core.publisher.Mono;
-import reactor.core.scheduler.Schedulers;
 
 import java.io.File;
 import java.io.IOException;
+import java.io.OutputStreamWriter;
 import java.io.StringWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
 import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * FreeMarker-based implementation of {@link NotificationTemplateEngine}.
  *
  * <p>Loads templates from a configurable classpath prefix (default: {@code /notification-templates})
  * and an optional filesystem directory. Template files use the {@code .ftl} extension by convention.
+ *
+ * <p>Localized variants follow FreeMarker's naming convention ({@code welcome_fr_CA.ftl},
+ * {@code welcome_fr.ftl}, {@code welcome.ftl}) and are resolved by {@link #render(String, Locale, Map)}
+ * from the most specific match down, with the configuration's {@link Locale#US} when no locale is given;
+ * the locale also drives number and date formatting. Resolutions,
+ * including templates known to be missing, are cached, so repeated lookups do not reach the loaders.
+ *
+ * <p>Compiled templates are held in a bounded cache sized by {@link NotificationTemplateProperties}
+ * instead of FreeMarker's soft-reference cache, so they are neither re-parsed under GC pressure nor
+ * re-checked against the loaders on every render. Templates pulled in by {@code <#include>} or
+ * {@code <#import>} stay parsed in FreeMarker's own cache, with the same size bound and TTL. Templates
+ * listed in {@link NotificationTemplateProperties#getPreloadTemplates()} are compiled at construction time.
+ *
+ * <p>{@link #renderToBuffer(String, Map)} encodes output straight into pooled Netty buffers, sized
+ * from the template's previous render so large HTML bodies are written once without regrowing.
+ *
+ * <p>With {@link NotificationTemplateProperties#isWatchFilesystem()}, the filesystem directory is watched
+ * and changed templates are recompiled in the background, so edits go live without waiting for
+ * {@link NotificationTemplateProperties#getCacheTtl()}.
+ *
+ * <p>Renders run on a dedicated {@link TemplateRenderScheduler} sized by the render settings of
+ * {@link NotificationTemplateProperties}; {@link #close()} shuts it down.
  */
 @Slf4j
-public class FreemarkerNotificationTemplateEngine implements NotificationTemplateEngine {
+public class FreemarkerNotificationTemplateEngine implements NotificationTemplateEngine, AutoCloseable {
+
+    private static final int INITIAL_BUFFER_SIZE = 4096;
 
     private final Configuration configuration;
+    private final Cache<String, Template> templates;
+    private final TemplateRenderScheduler renderScheduler;
+    private final DataBufferFactory bufferFactory = new NettyDataBufferFactory(PooledByteBufAllocator.DEFAULT);
+    private final Map<String, Integer> renderSizeHints = new ConcurrentHashMap<>();
+    private final TemplateVersions templateVersions = new TemplateVersions();
+    private final LocalizedTemplateResolver resolver;
+    private final TemplateReloader<Template> reloader;
+
+    public FreemarkerNotificationTemplateEngine(NotificationTemplateProperties properties, NotificationMetrics metrics) {
+        this.configuration = buildConfiguration(properties);
+        this.templates = buildTemplateCache(properties, metrics);
+        this.renderScheduler = new TemplateRenderScheduler(properties, metrics);
+        this.resolver = new LocalizedTemplateResolver(".ftl", this::templateExists, configuration.getLocale(),
+                properties, metrics);
+        this.reloader = TemplateReloader.watch(properties, ".ftl", templates, templateVersions, this::loadTemplate,
+                this::templatesChanged, metrics);
+        log.info("FreemarkerNotificationTemplateEngine initialized (classpath: {}, filesystem: {}, cache size: {})",
+                properties.getClasspathPrefix(), properties.getFilesystemDir(), properties.getCacheMaxSize());
+        preload(properties.getPreloadTemplates());
+    }
+
+    public FreemarkerNotificationTemplateEngine(NotificationTemplateProperties properties) {
+        this(properties, null);
+    }
 
     public FreemarkerNotificationTemplateEngine(String classpathPrefix, String filesystemDir) {
-        this.configuration = buildConfiguration(classpathPrefix, filesystemDir);
-        log.info("FreemarkerNotificationTemplateEngine initialized (classpath: {}, filesystem: {})",
-                classpathPrefix, filesystemDir);
+        this(NotificationTemplateProperties.builder()
+                .classpathPrefix(classpathPrefix)
+                .filesystemDir(filesystemDir)
+                .build());
     }
 
     public FreemarkerNotificationTemplateEngine() {
@@ -59,22 +123,184 @@ public class FreemarkerNotificationTemplateEngine implements NotificationTemplat
 
     @Override
     public Mono<String> render(String templateId, Map<String, Object> variables) {
-        return Mono.fromCallable(() -> {
-                    String templateName = templateId.endsWith(".ftl") ? templateId : templateId + ".ftl";
-                    Template template = configuration.getTemplate(templateName);
+        return render(templateId, null, variables);
+    }
+
+    @Override
+    public Mono<DataBuffer> renderToBuffer(String templateId, Map<String, Object> variables) {
+        return renderToBuffer(templateId, null, variables);
+    }
+
+    @Override
+    public long getTemplateVersion(String templateId) {
+        return getTemplateVersion(templateId, null);
+    }
+
+    @Override
+    public Mono<String> render(String templateId, Locale locale, Map<String, Object> variables) {
+        return renderScheduler.schedule(() -> {
+                    Template template = getTemplate(templateId, locale);
                     StringWriter writer = new StringWriter();
-                    template.process(variables != null ? variables : Map.of(), writer);
+                    process(template, locale, variables, writer);
                     return writer.toString();
                 })
-                .subscribeOn(Schedulers.boundedElastic())
                 .doOnError(e -> log.error("Failed to render template '{}': {}", templateId, e.getMessage()));
     }
 
-    private Configuration buildConfiguration(String classpathPrefix, String filesystemDir) {
+    @Override
+    public Mono<DataBuffer> renderToBuffer(String templateId, Locale locale, Map<String, Object> variables) {
+        return renderScheduler.schedule(() -> {
+                    Template template = getTemplate(templateId, locale);
+                    DataBuffer buffer = bufferFactory.allocateBuffer(
+                            renderSizeHints.getOrDefault(template.getName(), INITIAL_BUFFER_SIZE));
+                    try {
+                        Writer writer = new OutputStreamWriter(buffer.asOutputStream(), StandardCharsets.UTF_8);
+                        process(template, locale, variables, writer);
+                        writer.flush();
+                    } catch (IOException | TemplateException | RuntimeException e) {
+                        DataBufferUtils.release(buffer);
+                        throw e;
+                    }
+                    renderSizeHints.put(template.getName(), buffer.readableByteCount());
+                    return buffer;
+                })
+                .doOnDiscard(DataBuffer.class, DataBufferUtils::release)
+                .doOnError(e -> log.error("Failed to render template '{}': {}", templateId, e.getMessage()));
+    }
+
+    /**
+     * Version of the variant resolved for {@code locale}; {@code 0} when no variant exists.
+     */
+    @Override
+    public long getTemplateVersion(String templateId, Locale locale) {
+        String templateName;
+        try {
+            templateName = resolver.resolve(templateId, locale);
+        } catch (UncheckedIOException e) {
+            return 0L;
+        }
+        return templateName != null ? templateVersions.get(templateName) : 0L;
+    }
+
+    @Override
+    public void close() {
+        if (reloader != null) {
+            reloader.close();
+        }
+        renderScheduler.close();
+    }
+
+    private void templatesChanged() {
+        resolver.invalidateAll();
+        // Included templates are looked up at render time through FreeMarker's cache
+        configuration.clearTemplateCache();
+    }
+
+    private void process(Template template, Locale locale, Map<String, Object> variables, Writer writer)
+            throws IOException, TemplateException {
+        Environment environment = template.createProcessingEnvironment(variables != null ? variables : Map.of(), writer);
+        if (locale != null) {
+            environment.setLocale(locale);
+        }
+        environment.process();
+    }
+
+    private static String templateName(String templateId) {
+        return templateId.endsWith(".ftl") ? templateId : templateId + ".ftl";
+    }
+
+    private Template getTemplate(String templateId, Locale locale) throws IOException {
+        try {
+            String templateName = resolver.resolve(templateId, locale);
+            if (templateName == null) {
+                throw new TemplateNotFoundException(templateName(templateId), locale,
+                        "Template not found for name \"" + templateName(templateId) + "\""
+                                + (locale != null ? " and locale " + locale : "") + ".");
+            }
+            return templates.get(templateName, this::loadTemplate);
+        } catch (UncheckedIOException e) {
+            if (e.getCause() instanceof TemplateNotFoundException) {
+                // The resolved variant disappeared since it was resolved
+                resolver.invalidateAll();
+            }
+            throw e.getCause();
+        }
+    }
+
+    private Template loadTemplate(String templateName) {
+        try {
+            Template template = configuration.getTemplate(templateName);
+            templateVersions.bump(templateName);
+            return template;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private boolean templateExists(String templateName) {
+        if (templates.asMap().containsKey(templateName)) {
+            return true;
+        }
+        TemplateLoader loader = configuration.getTemplateLoader();
+        try {
+            Object source = loader.findTemplateSource(templateName);
+            if (source == null) {
+                return false;
+            }
+            loader.closeTemplateSource(source);
+            return true;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void preload(List<String> templateIds) {
+        if (templateIds == null || templateIds.isEmpty()) {
+            return;
+        }
+        int loaded = 0;
+        for (String templateId : templateIds) {
+            try {
+                getTemplate(templateId, null);
+                loaded++;
+            } catch (IOException e) {
+                log.warn("Could not preload template '{}': {}", templateId, e.getMessage());
+            }
+        }
+        log.info("Preloaded {} of {} notification templates", loaded, templateIds.size());
+    }
+
+    private Cache<String, Template> buildTemplateCache(NotificationTemplateProperties properties,
+                                                      NotificationMetrics metrics) {
+        Caffeine<Object, Object> builder = Caffeine.newBuilder()
+                .maximumSize(properties.getCacheMaxSize());
+        if (properties.getCacheTtl() != null) {
+            builder.expireAfterWrite(properties.getCacheTtl());
+        }
+        if (properties.getCacheIdleTimeout() != null) {
+            builder.expireAfterAccess(properties.getCacheIdleTimeout());
+        }
+        if (metrics != null) {
+            builder.recordStats(() -> metrics.cacheStatsCounter("templates"));
+        }
+        return builder.build();
+    }
+
+    private Configuration buildConfiguration(NotificationTemplateProperties properties) {
+        String classpathPrefix = properties.getClasspathPrefix();
+        String filesystemDir = properties.getFilesystemDir();
         Configuration cfg = new Configuration(Configuration.VERSION_2_3_32);
         cfg.setDefaultEncoding(StandardCharsets.UTF_8.name());
         cfg.setLocale(Locale.US);
         cfg.setTemplateExceptionHandler(TemplateExceptionHandler.RETHROW_HANDLER);
+        // Top-level templates are cached by this engine. FreeMarker's cache is what included and imported
+        // templates are looked up in on every render, so it keeps them parsed under the same bounds.
+        cfg.setCacheStorage(new MruCacheStorage((int) Math.min(properties.getCacheMaxSize(), Integer.MAX_VALUE), 0));
+        cfg.setTemplateUpdateDelayMilliseconds(properties.getCacheTtl() != null
+                ? properties.getCacheTtl().toMillis()
+                : Long.MAX_VALUE);
+        // Localized variants are resolved, and their misses cached, by LocalizedTemplateResolver
+        cfg.setLocalizedLookup(false);
 
         List<TemplateLoader> loaders = new ArrayList<>();
         loaders.add(new ClassTemplateLoader(getClass().getClassLoader(),
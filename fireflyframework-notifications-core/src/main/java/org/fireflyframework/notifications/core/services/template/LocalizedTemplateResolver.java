@@ -0,0 +1,129 @@
+/*
+ * Copyright 2024-2026 Firefly Software Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.fireflyframework.notifications.core.services.template;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.fireflyframework.notifications.observability.NotificationMetrics;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.function.Predicate;
+
+/**
+ * Resolves a template ID and locale to the most specific template variant that exists, falling back
+ * from {@code id_language_COUNTRY_variant} through {@code id_language_COUNTRY} and {@code id_language}
+ * to {@code id}. Lookups without a locale use the engine's default locale, if it has one.
+ *
+ * <p>Answers are cached, including the answer that no variant exists, so after warm-up a lookup is a
+ * single cache probe and repeated misses no longer reach the template loaders. The cache is bounded by
+ * {@link NotificationTemplateProperties#getResolutionCacheMaxSize()}, expires with
+ * {@link NotificationTemplateProperties#getCacheTtl()} when set, and is dropped by
+ * {@link #invalidateAll()} whenever templates change.
+ */
+final class LocalizedTemplateResolver {
+
+    private static final String MISSING = "";
+
+    private final String extension;
+    private final Predicate<String> exists;
+    private final Locale defaultLocale;
+    private final Cache<Key, String> resolutions;
+
+    /**
+     * @param extension template file extension, e.g. {@code .ftl}
+     * @param exists        whether a template file of the given name exists
+     * @param defaultLocale locale resolved when none is given, or {@code null} to try only {@code id}
+     */
+    LocalizedTemplateResolver(String extension, Predicate<String> exists, Locale defaultLocale,
+                              NotificationTemplateProperties properties, NotificationMetrics metrics) {
+        this.extension = extension;
+        this.exists = exists;
+        this.defaultLocale = defaultLocale;
+        Caffeine<Object, Object> builder = Caffeine.newBuilder()
+                .maximumSize(properties.getResolutionCacheMaxSize());
+        if (properties.getCacheTtl() != null) {
+            builder.expireAfterWrite(properties.getCacheTtl());
+        }
+        if (metrics != null) {
+            builder.recordStats(() -> metrics.cacheStatsCounter("template-resolutions"));
+        }
+        this.resolutions = builder.build();
+    }
+
+    /**
+     * Name of the template variant to render for {@code locale}, or {@code null} if none exists.
+     */
+    String resolve(String templateId, Locale locale) {
+        String templateName = resolutions.get(new Key(templateId, locale != null ? locale : defaultLocale),
+                this::lookup);
+        return templateName.isEmpty() ? null : templateName;
+    }
+
+    /**
+     * Name of the template variant to render for {@code locale} if that is already cached, without
+     * ever reaching the template loaders; {@code null} otherwise.
+     */
+    String resolveCached(String templateId, Locale locale) {
+        Key key = new Key(templateId, locale != null ? locale : defaultLocale);
+        if (!resolutions.asMap().containsKey(key)) {
+            return null;
+        }
+        String templateName = resolutions.getIfPresent(key);
+        return templateName != null && !templateName.isEmpty() ? templateName : null;
+    }
+
+    void invalidateAll() {
+        resolutions.invalidateAll();
+    }
+
+    private String lookup(Key key) {
+        for (String candidate : candidates(key.templateId(), key.locale())) {
+            if (exists.test(candidate)) {
+                return candidate;
+            }
+        }
+        return MISSING;
+    }
+
+    /**
+     * Template names to try for {@code locale}, most specific first.
+     */
+    List<String> candidates(String templateId, Locale locale) {
+        String base = templateId.endsWith(extension)
+                ? templateId.substring(0, templateId.length() - extension.length())
+                : templateId;
+        List<String> candidates = new ArrayList<>(4);
+        if (locale != null && !locale.getLanguage().isEmpty()) {
+            String language = base + "_" + locale.getLanguage();
+            if (!locale.getCountry().isEmpty()) {
+                String country = language + "_" + locale.getCountry();
+                if (!locale.getVariant().isEmpty()) {
+                    candidates.add(country + "_" + locale.getVariant() + extension);
+                }
+                candidates.add(country + extension);
+            }
+            candidates.add(language + extension);
+        }
+        candidates.add(base + extension);
+        return candidates;
+    }
+
+    private record Key(String templateId, Locale locale) {
+    }
+}
@@ -16,8 +16,12 @@
 
 package org.fireflyframework.notifications.core.services.template;
 
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
 import reactor.core.publisher.Mono;
 
+import java.nio.charset.StandardCharsets;
+import java.util.Locale;
 import java.util.Map;
 
 /**
@@ -25,6 +29,10 @@ import java.util.Map;
  *
  * <p>Templates are resolved by ID and rendered with variable substitution.
  * Implementations may use FreeMarker, Mustache, Thymeleaf, or any other engine.
+ *
+ * <p>The locale-aware variants resolve a localized template by falling back from the most specific
+ * match, e.g. {@code welcome_fr_CA} → {@code welcome_fr} → {@code welcome}. Engines without localized
+ * templates inherit defaults that ignore the locale.
  */
 public interface NotificationTemplateEngine {
 
@@ -36,4 +44,75 @@ public interface NotificationTemplateEngine {
      * @return a Mono emitting the rendered content (typically HTML)
      */
     Mono<String> render(String templateId, Map<String, Object> variables);
+
+    /**
+     * Render a template by its ID straight into a UTF-8 encoded buffer, without materializing
+     * the output as a {@code String}.
+     *
+     * <p>The subscriber owns the emitted buffer and must release it with
+     * {@link org.springframework.core.io.buffer.DataBufferUtils#release(DataBuffer)} once consumed.
+     * The default implementation encodes the result of {@link #render(String, Map)}; engines that
+     * can write encoded output directly should override it.
+     *
+     * @param templateId the template identifier
+     * @param variables  the variable map for template substitution
+     * @return a Mono emitting the rendered content as a buffer
+     */
+    default Mono<DataBuffer> renderToBuffer(String templateId, Map<String, Object> variables) {
+        return render(templateId, variables)
+                .map(rendered -> DefaultDataBufferFactory.sharedInstance.wrap(rendered.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    /**
+     * Current version of a template's source. Engines that reload templates return a different
+     * value after each reload, which lets render-result caches tell stale output apart.
+     *
+     * @param templateId the template identifier
+     * @return the template version; {@code 0} for engines that never reload
+     */
+    default long getTemplateVersion(String templateId) {
+        return 0L;
+    }
+
+    /**
+     * Render the variant of a template that best matches {@code locale}.
+     *
+     * @param templateId the template identifier
+     * @param locale     the recipient's locale; {@code null} renders the unlocalized template
+     * @param variables  the variable map for template substitution
+     * @return a Mono emitting the rendered content
+     */
+    default Mono<String> render(String templateId, Locale locale, Map<String, Object> variables) {
+        return render(templateId, variables);
+    }
+
+    /**
+     * Render the variant of a template that best matches {@code locale} into a UTF-8 encoded buffer,
+     * with the same ownership rules as {@link #renderToBuffer(String, Map)}.
+     *
+     * @param templateId the template identifier
+     * @param locale     the recipient's locale; {@code null} renders the unlocalized template
+     * @param variables  the variable map for template substitution
+     * @return a Mono emitting the rendered content as a buffer
+     */
+    default Mono<DataBuffer> renderToBuffer(String templateId, Locale locale, Map<String, Object> variables) {
+        if (locale == null) {
+            return renderToBuffer(templateId, variables);
+        }
+        return render(templateId, locale, variables)
+                .map(rendered -> DefaultDataBufferFactory.sharedInstance.wrap(rendered.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    /**
+     * Current version of the template variant {@link #render(String, Locale, Map)} resolves for
+     * {@code locale}. Versions change when the variant's source is reloaded or a different variant is
+     * resolved, so render-result caches can key on it.
+     *
+     * @param templateId the template identifier
+     * @param locale     the recipient's locale, or {@code null}
+     * @return the template version
+     */
+    default long getTemplateVersion(String templateId, Locale locale) {
+        return getTemplateVersion(templateId);
+    }
 }
@@ -0,0 +1,147 @@
+/*
+ * Copyright 2024-2026 Firefly Software Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.fireflyframework.notifications.core.services.template;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Settings for {@link FreemarkerNotificationTemplateEngine} and the {@link CachingNotificationTemplateEngine}
+ * render-result cache.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class NotificationTemplateProperties {
+
+    /**
+     * Classpath prefix templates are loaded from.
+     */
+    @Builder.Default
+    private String classpathPrefix = "/notification-templates";
+
+    /**
+     * Optional filesystem directory whose templates take part in resolution.
+     */
+    private String filesystemDir;
+
+    /**
+     * Watch {@link #filesystemDir} for changes and recompile changed templates in the background, instead
+     * of relying on {@link #cacheTtl} to pick up edits.
+     */
+    private boolean watchFilesystem;
+
+    /**
+     * Quiet period after a filesystem change before it is applied, so multi-step writes are seen whole.
+     */
+    @Builder.Default
+    private Duration watchDebounce = Duration.ofMillis(200);
+
+    /**
+     * Maximum number of compiled templates kept in memory; the least valuable are evicted beyond it.
+     */
+    @Builder.Default
+    private long cacheMaxSize = 500;
+
+    /**
+     * Time after loading at which a compiled template, or one it includes, is re-read from its loader,
+     * so edits to filesystem templates go live within it. With {@link #watchFilesystem}, it can be set to
+     * {@code null} to keep templates until the watcher sees a change.
+     */
+    @Builder.Default
+    private Duration cacheTtl = Duration.ofMinutes(1);
+
+    /**
+     * Time after its last use at which a compiled template is evicted. {@code null} disables idle eviction.
+     */
+    private Duration cacheIdleTimeout;
+
+    /**
+     * Maximum number of template ID and locale pairs whose resolved template variant, or the absence of
+     * one, is remembered.
+     */
+    @Builder.Default
+    private long resolutionCacheMaxSize = 10_000;
+
+    /**
+     * Template IDs compiled when the engine starts, so their first render does not pay for parsing.
+     */
+    @Builder.Default
+    private List<String> preloadTemplates = new ArrayList<>();
+
+    /**
+     * Number of threads rendering templates; defaults to the number of available processors.
+     */
+    @Builder.Default
+    private int renderThreads = Runtime.getRuntime().availableProcessors();
+
+    /**
+     * Maximum number of renders waiting for a render thread.
+     */
+    @Builder.Default
+    private int renderQueueCapacity = 1024;
+
+    /**
+     * Run renders on virtual threads instead of platform threads.
+     */
+    private boolean renderVirtualThreads;
+
+    /**
+     * What happens to a render submitted while the render queue is full.
+     */
+    @Builder.Default
+    private RenderRejectionPolicy renderRejectionPolicy = RenderRejectionPolicy.WAIT;
+
+    /**
+     * Longest a render waits for a queue slot under {@link RenderRejectionPolicy#WAIT} before it fails.
+     */
+    @Builder.Default
+    private Duration renderQueueTimeout = Duration.ofSeconds(30);
+
+    /**
+     * Total size, in bytes of encoded output, of the render results kept by the render-result cache.
+     */
+    @Builder.Default
+    private long renderCacheMaxBytes = 64L * 1024 * 1024;
+
+    /**
+     * Render results larger than this many bytes are returned but not cached.
+     */
+    @Builder.Default
+    private int renderCacheMaxEntryBytes = 1024 * 1024;
+
+    /**
+     * Time after which a cached render result expires.
+     */
+    @Builder.Default
+    private Duration renderCacheTtl = Duration.ofMinutes(10);
+
+    /**
+     * Template IDs whose output is never cached, e.g. templates reading the clock or random values.
+     */
+    @Builder.Default
+    private Set<String> nonCacheableTemplates = new HashSet<>();
+}
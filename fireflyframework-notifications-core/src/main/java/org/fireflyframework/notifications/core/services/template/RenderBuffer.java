@@ -0,0 +1,174 @@
+/*
+ * Copyright 2024-2026 Firefly Software Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.fireflyframework.notifications.core.services.template;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * Growable UTF-8 output buffer plus the variable scope stack of a {@link SimpleTemplate} render.
+ *
+ * <p>One instance is kept per thread by {@link SimpleNotificationTemplateEngine} and reset between
+ * renders, so steady-state rendering writes into an already-sized array. Buffers that grew past
+ * {@link #MAX_RETAINED_BYTES} for an unusually large render are dropped on {@link #reset()} rather than
+ * pinned to the thread.
+ */
+final class RenderBuffer {
+
+    static final int MAX_RETAINED_BYTES = 256 * 1024;
+
+    private static final int INITIAL_BYTES = 4096;
+    private static final byte[][] HTML_ESCAPES = new byte[128][];
+
+    static {
+        HTML_ESCAPES['&'] = "&amp;".getBytes(StandardCharsets.US_ASCII);
+        HTML_ESCAPES['<'] = "&lt;".getBytes(StandardCharsets.US_ASCII);
+        HTML_ESCAPES['>'] = "&gt;".getBytes(StandardCharsets.US_ASCII);
+        HTML_ESCAPES['"'] = "&quot;".getBytes(StandardCharsets.US_ASCII);
+        HTML_ESCAPES['\''] = "&#39;".getBytes(StandardCharsets.US_ASCII);
+    }
+
+    private byte[] bytes = new byte[INITIAL_BYTES];
+    private int length;
+    private Object[] scopes = new Object[8];
+    private int depth;
+
+    byte[] bytes() {
+        return bytes;
+    }
+
+    int length() {
+        return length;
+    }
+
+    String asString() {
+        return new String(bytes, 0, length, StandardCharsets.UTF_8);
+    }
+
+    void reset() {
+        length = 0;
+        Arrays.fill(scopes, 0, depth, null);
+        depth = 0;
+        if (bytes.length > MAX_RETAINED_BYTES) {
+            bytes = new byte[INITIAL_BYTES];
+        }
+    }
+
+    void push(Object scope) {
+        if (depth == scopes.length) {
+            scopes = Arrays.copyOf(scopes, depth * 2);
+        }
+        scopes[depth++] = scope;
+    }
+
+    void pop() {
+        scopes[--depth] = null;
+    }
+
+    Object peek() {
+        return scopes[depth - 1];
+    }
+
+    Object scope(int index) {
+        return scopes[index];
+    }
+
+    int depth() {
+        return depth;
+    }
+
+    void write(byte[] utf8) {
+        ensureCapacity(utf8.length);
+        System.arraycopy(utf8, 0, bytes, length, utf8.length);
+        length += utf8.length;
+    }
+
+    void write(long value) {
+        if (value == Long.MIN_VALUE) {
+            write(Long.toString(value), false);
+            return;
+        }
+        ensureCapacity(20);
+        if (value < 0) {
+            bytes[length++] = '-';
+            value = -value;
+        }
+        int end = length + digits(value);
+        for (int i = end - 1; i >= length; i--) {
+            bytes[i] = (byte) ('0' + value % 10);
+            value /= 10;
+        }
+        length = end;
+    }
+
+    /**
+     * Encodes {@code text} as UTF-8, optionally HTML-escaping it. Unpaired surrogates become {@code ?}.
+     */
+    void write(CharSequence text, boolean escape) {
+        int count = text.length();
+        // Worst case per char: a 6-byte entity when escaping, 3 bytes of UTF-8 otherwise
+        ensureCapacity(count * (escape ? 6 : 3));
+        byte[] out = bytes;
+        int position = length;
+        for (int i = 0; i < count; i++) {
+            char c = text.charAt(i);
+            if (c < 0x80) {
+                byte[] entity = escape ? HTML_ESCAPES[c] : null;
+                if (entity == null) {
+                    out[position++] = (byte) c;
+                } else {
+                    System.arraycopy(entity, 0, out, position, entity.length);
+                    position += entity.length;
+                }
+            } else if (c < 0x800) {
+                out[position++] = (byte) (0xC0 | c >> 6);
+                out[position++] = (byte) (0x80 | c & 0x3F);
+            } else if (Character.isSurrogate(c)) {
+                if (Character.isHighSurrogate(c) && i + 1 < count && Character.isLowSurrogate(text.charAt(i + 1))) {
+                    int codePoint = Character.toCodePoint(c, text.charAt(++i));
+                    out[position++] = (byte) (0xF0 | codePoint >> 18);
+                    out[position++] = (byte) (0x80 | codePoint >> 12 & 0x3F);
+                    out[position++] = (byte) (0x80 | codePoint >> 6 & 0x3F);
+                    out[position++] = (byte) (0x80 | codePoint & 0x3F);
+                } else {
+                    out[position++] = '?';
+                }
+            } else {
+                out[position++] = (byte) (0xE0 | c >> 12);
+                out[position++] = (byte) (0x80 | c >> 6 & 0x3F);
+                out[position++] = (byte) (0x80 | c & 0x3F);
+            }
+        }
+        length = position;
+    }
+
+    private void ensureCapacity(int additional) {
+        int required = length + additional;
+        if (required > bytes.length) {
+            bytes = Arrays.copyOf(bytes, Math.max(required, bytes.length * 2));
+        }
+    }
+
+    private static int digits(long value) {
+        int digits = 1;
+        while (value >= 10) {
+            value /= 10;
+            digits++;
+        }
+        return digits;
+    }
+}
@@ -0,0 +1,36 @@
+/*
+ * Copyright 2024-2026 Firefly Software Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.fireflyframework.notifications.core.services.template;
+
+/**
+ * What the template render scheduler does with a render when its queue is full.
+ */
+public enum RenderRejectionPolicy {
+
+    /**
+     * Fail the render with a {@link java.util.concurrent.RejectedExecutionException}.
+     */
+    REJECT,
+
+    /**
+     * Hold the render back, without blocking any thread, until a queue slot frees up, and fail it
+     * with a {@link java.util.concurrent.RejectedExecutionException} if none does within
+     * {@link NotificationTemplateProperties#getRenderQueueTimeout()}. Producers are slowed down to the
+     * rate the render pool sustains, and overflow renders never run anywhere but on the render pool.
+     */
+    WAIT
+}
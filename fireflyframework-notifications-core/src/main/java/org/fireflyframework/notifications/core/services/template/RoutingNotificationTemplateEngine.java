@@ -0,0 +1,83 @@
+/*
+ * Copyright 2024-2026 Firefly Software Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.fireflyframework.notifications.core.services.template;
+
+import org.springframework.core.io.buffer.DataBuffer;
+import reactor.core.publisher.Mono;
+
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * {@link NotificationTemplateEngine} that renders each template with the engine assigned to its ID,
+ * and every other template with a default engine.
+ *
+ * <p>Typically the default is the {@link FreemarkerNotificationTemplateEngine} and simple, high-volume
+ * templates are routed to a {@link SimpleNotificationTemplateEngine} as they are ported. Routes are
+ * fixed at construction, so a template's {@linkplain #getTemplateVersion version} always comes from the
+ * same engine and render caches in front of this engine stay consistent. The routed engines are not
+ * closed by this one.
+ */
+public class RoutingNotificationTemplateEngine implements NotificationTemplateEngine {
+
+    private final NotificationTemplateEngine defaultEngine;
+    private final Map<String, NotificationTemplateEngine> routes;
+
+    /**
+     * @param defaultEngine engine for template IDs without a route
+     * @param routes        engine per template ID
+     */
+    public RoutingNotificationTemplateEngine(NotificationTemplateEngine defaultEngine,
+                                             Map<String, NotificationTemplateEngine> routes) {
+        this.defaultEngine = defaultEngine;
+        this.routes = Map.copyOf(routes);
+    }
+
+    @Override
+    public Mono<String> render(String templateId, Map<String, Object> variables) {
+        return engineFor(templateId).render(templateId, variables);
+    }
+
+    @Override
+    public Mono<DataBuffer> renderToBuffer(String templateId, Map<String, Object> variables) {
+        return engineFor(templateId).renderToBuffer(templateId, variables);
+    }
+
+    @Override
+    public long getTemplateVersion(String templateId) {
+        return engineFor(templateId).getTemplateVersion(templateId);
+    }
+
+    @Override
+    public Mono<String> render(String templateId, Locale locale, Map<String, Object> variables) {
+        return engineFor(templateId).render(templateId, locale, variables);
+    }
+
+    @Override
+    public Mono<DataBuffer> renderToBuffer(String templateId, Locale locale, Map<String, Object> variables) {
+        return engineFor(templateId).renderToBuffer(templateId, locale, variables);
+    }
+
+    @Override
+    public long getTemplateVersion(String templateId, Locale locale) {
+        return engineFor(templateId).getTemplateVersion(templateId, locale);
+    }
+
+    private NotificationTemplateEngine engineFor(String templateId) {
+        return routes.getOrDefault(templateId, defaultEngine);
+    }
+}
@@ -0,0 +1,308 @@
+/*
+ * Copyright 2024-2026 Firefly Software Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.fireflyframework.notifications.core.services.template;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.netty.buffer.PooledByteBufAllocator;
+import lombok.extern.slf4j.Slf4j;
+import org.fireflyframework.notifications.observability.NotificationMetrics;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferFactory;
+import org.springframework.core.io.buffer.NettyDataBufferFactory;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Lightweight {@link NotificationTemplateEngine} for placeholder-style templates.
+ *
+ * <p>Templates are compiled once into pre-encoded static text and variable slots, with HTML escaping,
+ * conditionals and loops (see {@link SimpleTemplate} for the syntax). Rendering walks the compiled
+ * segments into a per-thread reusable buffer, so a render allocates little more than its result: the
+ * {@code String} for {@link #render(String, Map)}, or one exactly-sized pooled buffer for
+ * {@link #renderToBuffer(String, Map)}. Renders are cheap enough to run on the subscribing thread, so
+ * unlike {@link FreemarkerNotificationTemplateEngine} there is no render pool. Only renders of already
+ * resolved and compiled templates run there, though: a render that has to look up or load a template
+ * from the classpath or filesystem runs on {@code boundedElastic} instead.
+ *
+ * <p>Templates are loaded from the same classpath prefix and optional filesystem directory as the
+ * FreeMarker engine, using the {@code .tmpl} extension, or registered from a string with
+ * {@link #register(String, String)}. Compiled templates share the cache and filesystem watch settings of
+ * {@link NotificationTemplateProperties}; {@link #close()} stops the watcher. Localized variants
+ * ({@code welcome_fr_CA.tmpl}, {@code welcome_fr.tmpl}, ...) are resolved as by the FreeMarker engine;
+ * the locale only selects the variant, since values are written without locale-specific formatting.
+ * Combine this engine with FreeMarker through
+ * {@link RoutingNotificationTemplateEngine} to move templates over one ID at a time.
+ */
+@Slf4j
+public class SimpleNotificationTemplateEngine implements NotificationTemplateEngine, AutoCloseable {
+
+    private static final String EXTENSION = ".tmpl";
+
+    private final String classpathPrefix;
+    private final Path filesystemDir;
+    private final Cache<String, SimpleTemplate> templates;
+    private final Map<String, SimpleTemplate> registered = new ConcurrentHashMap<>();
+    private final TemplateVersions templateVersions = new TemplateVersions();
+    private final LocalizedTemplateResolver resolver;
+    private final ThreadLocal<RenderBuffer> renderBuffers = ThreadLocal.withInitial(RenderBuffer::new);
+    private final DataBufferFactory bufferFactory = new NettyDataBufferFactory(PooledByteBufAllocator.DEFAULT);
+    private final TemplateReloader<SimpleTemplate> reloader;
+
+    public SimpleNotificationTemplateEngine(NotificationTemplateProperties properties, NotificationMetrics metrics) {
+        String prefix = properties.getClasspathPrefix() != null ? properties.getClasspathPrefix() : "/notification-templates";
+        this.classpathPrefix = prefix.replaceAll("^/+|/+$", "");
+        this.filesystemDir = properties.getFilesystemDir() != null ? Path.of(properties.getFilesystemDir()) : null;
+        this.templates = buildTemplateCache(properties, metrics);
+        this.resolver = new LocalizedTemplateResolver(EXTENSION, this::templateExists, null, properties, metrics);
+        this.reloader = TemplateReloader.watch(properties, EXTENSION, templates, templateVersions, this::loadTemplate,
+                resolver::invalidateAll, metrics);
+        log.info("SimpleNotificationTemplateEngine initialized (classpath: {}, filesystem: {})",
+                properties.getClasspathPrefix(), properties.getFilesystemDir());
+        preload(properties.getPreloadTemplates());
+    }
+
+    public SimpleNotificationTemplateEngine(NotificationTemplateProperties properties) {
+        this(properties, null);
+    }
+
+    public SimpleNotificationTemplateEngine() {
+        this(new NotificationTemplateProperties());
+    }
+
+    /**
+     * Compiles {@code source} and serves it for {@code templateId}, replacing any earlier registration
+     * and taking precedence over template files.
+     *
+     * @throws IllegalArgumentException if the source is not a valid template
+     */
+    public SimpleNotificationTemplateEngine register(String templateId, String source) {
+        String name = templateName(templateId);
+        registered.put(name, SimpleTemplate.compile(name, source));
+        templateVersions.bump(name);
+        resolver.invalidateAll();
+        return this;
+    }
+
+    @Override
+    public Mono<String> render(String templateId, Map<String, Object> variables) {
+        return render(templateId, null, variables);
+    }
+
+    @Override
+    public Mono<DataBuffer> renderToBuffer(String templateId, Map<String, Object> variables) {
+        return renderToBuffer(templateId, null, variables);
+    }
+
+    @Override
+    public long getTemplateVersion(String templateId) {
+        return getTemplateVersion(templateId, null);
+    }
+
+    @Override
+    public Mono<String> render(String templateId, Locale locale, Map<String, Object> variables) {
+        return withTemplate(templateId, locale, () -> {
+                    RenderBuffer buffer = renderInto(templateId, locale, variables);
+                    try {
+                        return buffer.asString();
+                    } finally {
+                        buffer.reset();
+                    }
+                })
+                .doOnError(e -> log.error("Failed to render template '{}': {}", templateId, e.getMessage()));
+    }
+
+    @Override
+    public Mono<DataBuffer> renderToBuffer(String templateId, Locale locale, Map<String, Object> variables) {
+        return withTemplate(templateId, locale, () -> {
+                    RenderBuffer buffer = renderInto(templateId, locale, variables);
+                    try {
+                        return bufferFactory.allocateBuffer(buffer.length()).write(buffer.bytes(), 0, buffer.length());
+                    } finally {
+                        buffer.reset();
+                    }
+                })
+                .doOnError(e -> log.error("Failed to render template '{}': {}", templateId, e.getMessage()));
+    }
+
+    /**
+     * Version of the variant resolved for {@code locale}; {@code 0} when no variant exists.
+     */
+    @Override
+    public long getTemplateVersion(String templateId, Locale locale) {
+        String templateName;
+        try {
+            templateName = resolver.resolve(templateId, locale);
+        } catch (UncheckedIOException e) {
+            return 0L;
+        }
+        return templateName != null ? templateVersions.get(templateName) : 0L;
+    }
+
+    @Override
+    public void close() {
+        if (reloader != null) {
+            reloader.close();
+        }
+    }
+
+    /**
+     * Runs {@code render} on the subscribing thread when the template is already compiled, and on
+     * {@code boundedElastic} when it first has to be resolved or read.
+     */
+    private <T> Mono<T> withTemplate(String templateId, Locale locale, Callable<T> render) {
+        return Mono.defer(() -> {
+            Mono<T> rendered = Mono.fromCallable(render);
+            return isCompiled(templateId, locale) ? rendered : rendered.subscribeOn(Schedulers.boundedElastic());
+        });
+    }
+
+    private boolean isCompiled(String templateId, Locale locale) {
+        String name = resolver.resolveCached(templateId, locale);
+        return name != null && (registered.containsKey(name) || templates.asMap().containsKey(name));
+    }
+
+    private RenderBuffer renderInto(String templateId, Locale locale, Map<String, Object> variables)
+            throws IOException {
+        SimpleTemplate template = getTemplate(templateId, locale);
+        RenderBuffer buffer = renderBuffers.get();
+        try {
+            template.render(variables, buffer);
+        } catch (RuntimeException e) {
+            buffer.reset();
+            throw e;
+        }
+        return buffer;
+    }
+
+    private static String templateName(String templateId) {
+        return templateId.endsWith(EXTENSION) ? templateId : templateId + EXTENSION;
+    }
+
+    private SimpleTemplate getTemplate(String templateId, Locale locale) throws IOException {
+        try {
+            String name = resolver.resolve(templateId, locale);
+            if (name == null) {
+                throw new FileNotFoundException("Template not found: " + templateName(templateId)
+                        + (locale != null ? " for locale " + locale : ""));
+            }
+            SimpleTemplate template = registered.get(name);
+            return template != null ? template : templates.get(name, this::loadTemplate);
+        } catch (UncheckedIOException e) {
+            if (e.getCause() instanceof FileNotFoundException) {
+                // The resolved variant disappeared since it was resolved
+                resolver.invalidateAll();
+            }
+            throw e.getCause();
+        }
+    }
+
+    private SimpleTemplate loadTemplate(String templateName) {
+        try {
+            SimpleTemplate template = SimpleTemplate.compile(templateName, readSource(templateName));
+            templateVersions.bump(templateName);
+            return template;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private boolean templateExists(String templateName) {
+        if (registered.containsKey(templateName) || templates.asMap().containsKey(templateName)) {
+            return true;
+        }
+        if (getClass().getClassLoader().getResource(classpathResource(templateName)) != null) {
+            return true;
+        }
+        Path file = filesystemFile(templateName);
+        return file != null && Files.isRegularFile(file);
+    }
+
+    /**
+     * Reads a template from the classpath, then from the filesystem directory, the same order as the
+     * FreeMarker engine's loaders.
+     */
+    private String readSource(String templateName) throws IOException {
+        try (InputStream in = getClass().getClassLoader().getResourceAsStream(classpathResource(templateName))) {
+            if (in != null) {
+                return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+            }
+        }
+        Path file = filesystemFile(templateName);
+        if (file != null && Files.isRegularFile(file)) {
+            return Files.readString(file);
+        }
+        throw new FileNotFoundException("Template not found: " + templateName);
+    }
+
+    private String classpathResource(String templateName) {
+        return classpathPrefix.isEmpty() ? templateName : classpathPrefix + "/" + templateName;
+    }
+
+    private Path filesystemFile(String templateName) {
+        if (filesystemDir == null) {
+            return null;
+        }
+        Path file = filesystemDir.resolve(templateName).normalize();
+        return file.startsWith(filesystemDir.normalize()) ? file : null;
+    }
+
+    private void preload(List<String> templateIds) {
+        if (templateIds == null || templateIds.isEmpty()) {
+            return;
+        }
+        int loaded = 0;
+        for (String templateId : templateIds) {
+            try {
+                getTemplate(templateId, null);
+                loaded++;
+            } catch (IOException | IllegalArgumentException e) {
+                log.warn("Could not preload template '{}': {}", templateId, e.getMessage());
+            }
+        }
+        log.info("Preloaded {} of {} simple notification templates", loaded, templateIds.size());
+    }
+
+    private Cache<String, SimpleTemplate> buildTemplateCache(NotificationTemplateProperties properties,
+                                                            NotificationMetrics metrics) {
+        Caffeine<Object, Object> builder = Caffeine.newBuilder()
+                .maximumSize(properties.getCacheMaxSize());
+        if (properties.getCacheTtl() != null) {
+            builder.expireAfterWrite(properties.getCacheTtl());
+        }
+        if (properties.getCacheIdleTimeout() != null) {
+            builder.expireAfterAccess(properties.getCacheIdleTimeout());
+        }
+        if (metrics != null) {
+            builder.recordStats(() -> metrics.cacheStatsCounter("simple-templates"));
+        }
+        return builder.build();
+    }
+}
@@ -0,0 +1,289 @@
+/*
+ * Copyright 2024-2026 Firefly Software Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.fireflyframework.notifications.core.services.template;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.RandomAccess;
+
+/**
+ * A template compiled by {@link SimpleNotificationTemplateEngine}: static text pre-encoded as UTF-8,
+ * variable slots, conditionals and loops, rendered by walking the segments into a {@link RenderBuffer}.
+ *
+ * <p>Syntax:
+ * <ul>
+ *   <li>{@code {{name}}} — the value of {@code name}, HTML-escaped. Dotted paths such as
+ *       {@code {{user.firstName}}} walk nested maps.</li>
+ *   <li>{@code {{{name}}}} — the value of {@code name}, unescaped.</li>
+ *   <li>{@code {{#if name}}...{{else}}...{{/if}}} — the first block when {@code name} is set, the
+ *       optional second one otherwise. Missing values, {@code false}, zero and empty strings,
+ *       collections, maps and arrays count as unset.</li>
+ *   <li>{@code {{#each name}}...{{/each}}} — the block once per element of a collection or array.
+ *       Inside it {@code {{this}}} is the element, and names are looked up in the element (when it is
+ *       a map) before the enclosing scopes.</li>
+ *   <li>{@code {{! comment}}} — dropped at compile time.</li>
+ * </ul>
+ *
+ * <p>Variables are plain maps, collections, arrays and scalars; there is no bean introspection,
+ * formatting or expression language. Templates that need them stay on FreeMarker.
+ */
+final class SimpleTemplate {
+
+    private static final Segment[] NO_SEGMENTS = new Segment[0];
+    private static final String[] THIS = new String[0];
+
+    private final Segment[] segments;
+
+    private SimpleTemplate(Segment[] segments) {
+        this.segments = segments;
+    }
+
+    /**
+     * Compiles {@code source}, failing with an {@link IllegalArgumentException} naming the template and
+     * line on a syntax error.
+     */
+    static SimpleTemplate compile(String name, String source) {
+        return new SimpleTemplate(new Parser(name, source).template());
+    }
+
+    void render(Map<String, Object> variables, RenderBuffer out) {
+        out.push(variables != null ? variables : Map.of());
+        render(segments, out);
+    }
+
+    private static void render(Segment[] segments, RenderBuffer out) {
+        for (Segment segment : segments) {
+            switch (segment) {
+                case Text text -> out.write(text.utf8());
+                case Value value -> write(resolve(value.path(), out), value.escape(), out);
+                case Conditional conditional -> render(
+                        isSet(resolve(conditional.path(), out)) ? conditional.then() : conditional.otherwise(), out);
+                case Loop loop -> renderLoop(loop, resolve(loop.path(), out), out);
+            }
+        }
+    }
+
+    private static void renderLoop(Loop loop, Object items, RenderBuffer out) {
+        switch (items) {
+            case List<?> list when list instanceof RandomAccess -> {
+                for (int i = 0; i < list.size(); i++) {
+                    renderElement(loop, list.get(i), out);
+                }
+            }
+            case Iterable<?> iterable -> {
+                for (Object item : iterable) {
+                    renderElement(loop, item, out);
+                }
+            }
+            case Object[] array -> {
+                for (Object item : array) {
+                    renderElement(loop, item, out);
+                }
+            }
+            case null, default -> {
+            }
+        }
+    }
+
+    private static void renderElement(Loop loop, Object item, RenderBuffer out) {
+        out.push(item);
+        try {
+            render(loop.body(), out);
+        } finally {
+            out.pop();
+        }
+    }
+
+    private static Object resolve(String[] path, RenderBuffer out) {
+        if (path.length == 0) {
+            return out.peek();
+        }
+        Object value = null;
+        for (int i = out.depth() - 1; i >= 0; i--) {
+            if (out.scope(i) instanceof Map<?, ?> scope) {
+                value = scope.get(path[0]);
+                if (value != null || scope.containsKey(path[0])) {
+                    break;
+                }
+            }
+        }
+        for (int i = 1; i < path.length && value != null; i++) {
+            value = value instanceof Map<?, ?> map ? map.get(path[i]) : null;
+        }
+        return value;
+    }
+
+    private static boolean isSet(Object value) {
+        return switch (value) {
+            case null -> false;
+            case Boolean flag -> flag;
+            case CharSequence text -> !text.isEmpty();
+            case Collection<?> collection -> !collection.isEmpty();
+            case Map<?, ?> map -> !map.isEmpty();
+            case Object[] array -> array.length > 0;
+            case Integer number -> number != 0;
+            case Long number -> number != 0;
+            case Number number -> number.doubleValue() != 0;
+            default -> true;
+        };
+    }
+
+    private static void write(Object value, boolean escape, RenderBuffer out) {
+        switch (value) {
+            case null -> {
+            }
+            case CharSequence text -> out.write(text, escape);
+            case Integer number -> out.write(number.longValue());
+            case Long number -> out.write(number);
+            default -> out.write(String.valueOf(value), escape);
+        }
+    }
+
+    private sealed interface Segment permits Text, Value, Conditional, Loop {
+    }
+
+    private record Text(byte[] utf8) implements Segment {
+    }
+
+    private record Value(String[] path, boolean escape) implements Segment {
+    }
+
+    private record Conditional(String[] path, Segment[] then, Segment[] otherwise) implements Segment {
+    }
+
+    private record Loop(String[] path, Segment[] body) implements Segment {
+    }
+
+    /**
+     * Single-pass recursive descent over the template source.
+     */
+    private static final class Parser {
+
+        private final String name;
+        private final String source;
+        private int position;
+        private String terminator;
+
+        Parser(String name, String source) {
+            this.name = name;
+            this.source = source;
+        }
+
+        Segment[] template() {
+            return block(null);
+        }
+
+        /**
+         * Parses up to the tag closing {@code open} ({@code if}, {@code else} or {@code each}), or to the end
+         * of the source for the top level, leaving the closing tag in {@link #terminator}.
+         */
+        private Segment[] block(String open) {
+            List<Segment> segments = new ArrayList<>();
+            StringBuilder text = new StringBuilder();
+            while (true) {
+                int start = source.indexOf("{{", position);
+                if (start < 0) {
+                    text.append(source, position, source.length());
+                    position = source.length();
+                    flush(text, segments);
+                    if (open != null) {
+                        throw syntaxError(source.length(), "missing {{/" + ("each".equals(open) ? "each" : "if") + "}}");
+                    }
+                    return segments.toArray(NO_SEGMENTS);
+                }
+                text.append(source, position, start);
+                boolean raw = source.startsWith("{{{", start);
+                String close = raw ? "}}}" : "}}";
+                int end = source.indexOf(close, start + close.length());
+                if (end < 0) {
+                    throw syntaxError(start, "unterminated tag");
+                }
+                String tag = source.substring(start + close.length(), end).strip();
+                position = end + close.length();
+                if (raw) {
+                    flush(text, segments);
+                    segments.add(new Value(path(tag, start), false));
+                } else if (tag.startsWith("!")) {
+                    continue;
+                } else if (tag.startsWith("#if ")) {
+                    flush(text, segments);
+                    String[] path = path(tag.substring(4).strip(), start);
+                    Segment[] then = block("if");
+                    Segment[] otherwise = "else".equals(terminator) ? block("else") : NO_SEGMENTS;
+                    segments.add(new Conditional(path, then, otherwise));
+                } else if (tag.startsWith("#each ")) {
+                    flush(text, segments);
+                    String[] path = path(tag.substring(6).strip(), start);
+                    segments.add(new Loop(path, block("each")));
+                } else if (tag.equals("else") || tag.equals("/if") || tag.equals("/each")) {
+                    if (!closes(open, tag)) {
+                        throw syntaxError(start, "unexpected {{" + tag + "}}");
+                    }
+                    flush(text, segments);
+                    terminator = tag;
+                    return segments.toArray(NO_SEGMENTS);
+                } else if (tag.startsWith("#") || tag.startsWith("/")) {
+                    throw syntaxError(start, "unknown tag {{" + tag + "}}");
+                } else {
+                    flush(text, segments);
+                    segments.add(new Value(path(tag, start), true));
+                }
+            }
+        }
+
+        private static boolean closes(String open, String tag) {
+            return switch (tag) {
+                case "else" -> "if".equals(open);
+                case "/if" -> "if".equals(open) || "else".equals(open);
+                default -> "each".equals(open);
+            };
+        }
+
+        private String[] path(String expression, int start) {
+            if (expression.equals("this") || expression.equals(".")) {
+                return THIS;
+            }
+            String[] path = expression.split("\\.", -1);
+            for (String part : path) {
+                if (part.isEmpty() || !part.chars().allMatch(c -> Character.isLetterOrDigit(c) || c == '_' || c == '-')) {
+                    throw syntaxError(start, "invalid variable '" + expression + "'");
+                }
+            }
+            return path;
+        }
+
+        private static void flush(StringBuilder text, List<Segment> segments) {
+            if (!text.isEmpty()) {
+                segments.add(new Text(text.toString().getBytes(StandardCharsets.UTF_8)));
+                text.setLength(0);
+            }
+        }
+
+        private IllegalArgumentException syntaxError(int offset, String message) {
+            int line = 1;
+            for (int i = 0; i < offset; i++) {
+                if (source.charAt(i) == '\n') {
+                    line++;
+                }
+            }
+            return new IllegalArgumentException("Template '" + name + "' line " + line + ": " + message);
+        }
+    }
+}
@@ -0,0 +1,201 @@
+/*
+ * Copyright 2024-2026 Firefly Software Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.fireflyframework.notifications.core.services.template;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.Files;
+import java.nio.file.LinkOption;
+import java.nio.file.Path;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.time.Duration;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import static java.nio.file.StandardWatchEventKinds.ENTRY_CREATE;
+import static java.nio.file.StandardWatchEventKinds.ENTRY_DELETE;
+import static java.nio.file.StandardWatchEventKinds.ENTRY_MODIFY;
+import static java.nio.file.StandardWatchEventKinds.OVERFLOW;
+
+/**
+ * Watches a template directory tree with a {@link WatchService} and reports changed template files
+ * from a background daemon thread.
+ *
+ * <p>Events are coalesced: after the first one the watcher keeps collecting until the directory has
+ * been quiet for the debounce interval, so an editor's truncate-and-write reaches the listener as one
+ * change to a complete file. Subdirectories created later are watched as they appear. When the watch
+ * service drops events, or a watched directory disappears, the listener is told that any template may
+ * have changed.
+ */
+@Slf4j
+final class TemplateDirectoryWatcher implements AutoCloseable {
+
+    /**
+     * Receives batches of changes on the watcher thread.
+     */
+    interface Listener {
+
+        /**
+         * Templates, by name relative to the watched directory with {@code /} separators, that were
+         * created, modified or deleted.
+         */
+        void templatesChanged(Set<String> templateNames);
+
+        /**
+         * Changes were lost; every template must be treated as changed.
+         */
+        void allTemplatesChanged();
+    }
+
+    private static final int MAX_DEBOUNCE_ROUNDS = 10;
+
+    private final Path root;
+    private final String extension;
+    private final Duration debounce;
+    private final Listener listener;
+    private final WatchService watchService;
+    private final Map<WatchKey, Path> directories = new ConcurrentHashMap<>();
+    private final Thread thread;
+
+    TemplateDirectoryWatcher(Path root, String extension, Duration debounce, Listener listener) throws IOException {
+        this.root = root.toAbsolutePath().normalize();
+        this.extension = extension;
+        this.debounce = debounce;
+        this.listener = listener;
+        this.watchService = this.root.getFileSystem().newWatchService();
+        try {
+            registerTree(this.root);
+        } catch (IOException e) {
+            watchService.close();
+            throw e;
+        }
+        this.thread = Thread.ofPlatform()
+                .name("notification-template-watcher")
+                .daemon()
+                .start(this::run);
+    }
+
+    @Override
+    public void close() {
+        try {
+            watchService.close();
+        } catch (IOException e) {
+            log.warn("Could not close template directory watcher for '{}': {}", root, e.getMessage());
+        }
+        thread.interrupt();
+    }
+
+    private void run() {
+        try {
+            while (true) {
+                WatchKey key = watchService.take();
+                Set<String> changed = new LinkedHashSet<>();
+                boolean lost = false;
+                for (int round = 0; key != null && round < MAX_DEBOUNCE_ROUNDS; round++) {
+                    do {
+                        lost |= collect(key, changed);
+                        key = watchService.poll();
+                    } while (key != null);
+                    key = watchService.poll(debounce.toMillis(), TimeUnit.MILLISECONDS);
+                }
+                if (key != null) {
+                    lost |= collect(key, changed);
+                }
+                notifyListener(changed, lost);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ClosedWatchServiceException e) {
+            // closed
+        }
+    }
+
+    /**
+     * Adds the template names touched by {@code key}'s events to {@code changed}; returns whether
+     * events were lost.
+     */
+    private boolean collect(WatchKey key, Set<String> changed) {
+        Path directory = directories.get(key);
+        boolean lost = directory == null;
+        for (WatchEvent<?> event : key.pollEvents()) {
+            if (event.kind() == OVERFLOW || directory == null) {
+                lost = true;
+                continue;
+            }
+            Path child = directory.resolve((Path) event.context());
+            if (event.kind() == ENTRY_CREATE && Files.isDirectory(child, LinkOption.NOFOLLOW_LINKS)) {
+                lost |= !addTree(child, changed);
+            } else if (isTemplate(child)) {
+                changed.add(templateName(child));
+            }
+        }
+        if (!key.reset()) {
+            directories.remove(key);
+            lost = true;
+        }
+        return lost;
+    }
+
+    private boolean addTree(Path directory, Set<String> changed) {
+        try (Stream<Path> files = Files.walk(directory)) {
+            registerTree(directory);
+            files.filter(file -> Files.isRegularFile(file) && isTemplate(file))
+                    .forEach(file -> changed.add(templateName(file)));
+            return true;
+        } catch (IOException e) {
+            log.warn("Could not watch new template directory '{}': {}", directory, e.getMessage());
+            return false;
+        }
+    }
+
+    private void registerTree(Path start) throws IOException {
+        try (Stream<Path> tree = Files.walk(start)) {
+            for (Path directory : (Iterable<Path>) tree.filter(Files::isDirectory)::iterator) {
+                directories.put(directory.register(watchService, ENTRY_CREATE, ENTRY_MODIFY, ENTRY_DELETE), directory);
+            }
+        }
+    }
+
+    private void notifyListener(Set<String> changed, boolean lost) {
+        try {
+            if (lost) {
+                listener.allTemplatesChanged();
+            } else if (!changed.isEmpty()) {
+                listener.templatesChanged(changed);
+            }
+        } catch (RuntimeException e) {
+            log.warn("Template change listener failed: {}", e.getMessage(), e);
+        }
+    }
+
+    private boolean isTemplate(Path file) {
+        return file.getFileName().toString().endsWith(extension);
+    }
+
+    private String templateName(Path file) {
+        return root.relativize(file).toString().replace(File.separatorChar, '/');
+    }
+}
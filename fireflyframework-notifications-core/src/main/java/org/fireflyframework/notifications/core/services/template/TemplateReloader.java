@@ -0,0 +1,150 @@
+/*
+ * Copyright 2024-2026 Firefly Software Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.fireflyframework.notifications.core.services.template;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import io.micrometer.core.instrument.Counter;
+import lombok.extern.slf4j.Slf4j;
+import org.fireflyframework.notifications.observability.NotificationMetrics;
+
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * Keeps an engine's compiled-template cache in step with a watched filesystem directory.
+ *
+ * <p>Every change drops the engine's cached locale resolutions and bumps the template's version, so render results cached under the old version are
+ * no longer served. A changed template that was compiled is recompiled on the watcher thread and
+ * swapped into the cache, so the next render neither waits for the compile nor touches the
+ * filesystem; templates that were not compiled, or were deleted, are just dropped and load again on
+ * their next render. Renders themselves never check the directory for staleness.
+ *
+ * <p>Each change is counted in {@code firefly.notifications.templates.reloads} by outcome:
+ * {@code reloaded}, {@code invalidated}, {@code failed} (the new version does not compile; the next
+ * render reports the error) or {@code overflow} (events were lost and the whole cache was dropped).
+ */
+@Slf4j
+final class TemplateReloader<T> implements TemplateDirectoryWatcher.Listener, AutoCloseable {
+
+    private final Cache<String, T> templates;
+    private final TemplateVersions templateVersions;
+    private final Function<String, T> loader;
+    private final Runnable onChange;
+    private final Counter reloaded;
+    private final Counter invalidated;
+    private final Counter failed;
+    private final Counter overflow;
+    private final TemplateDirectoryWatcher watcher;
+
+    private TemplateReloader(Path directory, String extension, NotificationTemplateProperties properties,
+                             Cache<String, T> templates, TemplateVersions templateVersions,
+                             Function<String, T> loader, Runnable onChange, NotificationMetrics metrics)
+            throws IOException {
+        this.templates = templates;
+        this.templateVersions = templateVersions;
+        this.loader = loader;
+        this.onChange = onChange;
+        this.reloaded = metrics != null ? metrics.templateReloadCounter("reloaded") : null;
+        this.invalidated = metrics != null ? metrics.templateReloadCounter("invalidated") : null;
+        this.failed = metrics != null ? metrics.templateReloadCounter("failed") : null;
+        this.overflow = metrics != null ? metrics.templateReloadCounter("overflow") : null;
+        this.watcher = new TemplateDirectoryWatcher(directory, extension, properties.getWatchDebounce(), this);
+    }
+
+    /**
+     * Starts watching the properties' filesystem directory when
+     * {@link NotificationTemplateProperties#isWatchFilesystem()} is set, or returns {@code null}.
+     *
+     * @param loader   compiles a template by name, throwing {@link UncheckedIOException} when it cannot be read
+     * @param onChange run after each batch of changes, e.g. to drop cached template resolutions
+     */
+    static <T> TemplateReloader<T> watch(NotificationTemplateProperties properties, String extension,
+                                         Cache<String, T> templates, TemplateVersions templateVersions,
+                                         Function<String, T> loader, Runnable onChange,
+                                         NotificationMetrics metrics) {
+        if (!properties.isWatchFilesystem() || properties.getFilesystemDir() == null) {
+            return null;
+        }
+        Path directory = Path.of(properties.getFilesystemDir());
+        if (!Files.isDirectory(directory)) {
+            log.warn("Not watching template directory '{}': not a directory", directory);
+            return null;
+        }
+        try {
+            TemplateReloader<T> reloader = new TemplateReloader<>(directory, extension, properties,
+                    templates, templateVersions, loader, onChange, metrics);
+            log.info("Watching template directory '{}' for changes", directory);
+            return reloader;
+        } catch (IOException e) {
+            log.warn("Could not watch template directory '{}': {}", directory, e.getMessage());
+            return null;
+        }
+    }
+
+    @Override
+    public void templatesChanged(Set<String> templateNames) {
+        // Created and deleted variants change which template a locale resolves to
+        onChange.run();
+        for (String templateName : templateNames) {
+            templateVersions.bump(templateName);
+            if (templates.asMap().remove(templateName) == null) {
+                increment(invalidated);
+                continue;
+            }
+            try {
+                templates.put(templateName, loader.apply(templateName));
+                increment(reloaded);
+                log.info("Reloaded template '{}'", templateName);
+            } catch (UncheckedIOException e) {
+                if (e.getCause() instanceof FileNotFoundException) {
+                    increment(invalidated);
+                } else {
+                    increment(failed);
+                    log.warn("Could not reload template '{}': {}", templateName, e.getCause().getMessage());
+                }
+            } catch (RuntimeException e) {
+                increment(failed);
+                log.warn("Could not reload template '{}': {}", templateName, e.getMessage());
+            }
+        }
+    }
+
+    @Override
+    public void allTemplatesChanged() {
+        templateVersions.bumpAll();
+        templates.invalidateAll();
+        onChange.run();
+        increment(overflow);
+        log.warn("Template directory events were lost; dropped all compiled templates");
+    }
+
+    @Override
+    public void close() {
+        watcher.close();
+    }
+
+    private static void increment(Counter counter) {
+        if (counter != null) {
+            counter.increment();
+        }
+    }
+}
@@ -0,0 +1,228 @@
+/*
+ * Copyright 2024-2026 Firefly Software Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.fireflyframework.notifications.core.services.template;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.fireflyframework.notifications.observability.NotificationMetrics;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.MonoSink;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+import java.time.Duration;
+import java.util.Queue;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Dedicated, bounded scheduler for template rendering.
+ *
+ * <p>Rendering is CPU-bound, so it runs on its own fixed-size pool instead of the shared
+ * {@code boundedElastic} scheduler, where a campaign would starve blocking provider calls. Renders
+ * wait in a bounded queue; once it is full the configured {@link RenderRejectionPolicy} applies.
+ * Under {@link RenderRejectionPolicy#WAIT}, a render only reaches the pool once it holds one of the
+ * pool's thread and queue slots; until then its subscription waits in line without occupying a thread,
+ * and a slot released by a finished render is handed to the oldest waiting render.
+ * Queue depth, queue wait time and rejections are reported through {@link NotificationMetrics}.
+ */
+@Slf4j
+public class TemplateRenderScheduler implements AutoCloseable {
+
+    private final ThreadPoolExecutor executor;
+    private final Scheduler scheduler;
+    private final Timer waitTimer;
+    private final Counter rejected;
+    private final boolean waitForSlot;
+    private final Duration slotTimeout;
+    private final AtomicInteger freeSlots;
+    private final Queue<Slot> waiting = new ConcurrentLinkedQueue<>();
+
+    public TemplateRenderScheduler(int threads, int queueCapacity, boolean virtualThreads,
+                                   RenderRejectionPolicy rejectionPolicy, Duration queueTimeout,
+                                   NotificationMetrics metrics) {
+        this.rejected = metrics != null ? metrics.renderRejectedCounter() : null;
+        this.waitForSlot = rejectionPolicy == RenderRejectionPolicy.WAIT;
+        this.slotTimeout = queueTimeout;
+        this.freeSlots = new AtomicInteger(threads + queueCapacity);
+        // Under WAIT the slots bound the queue; a render cancelled while queued may linger there until polled
+        BlockingQueue<Runnable> queue = waitForSlot ? new LinkedBlockingQueue<>() : new ArrayBlockingQueue<>(queueCapacity);
+        this.executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS, queue,
+                threadFactory(virtualThreads),
+                (task, pool) -> {
+                    increment(rejected);
+                    throw new RejectedExecutionException("Template render queue is full (" + queueCapacity + " renders)");
+                });
+        this.scheduler = Schedulers.fromExecutorService(executor, "notification-render");
+        this.waitTimer = metrics != null ? metrics.renderWaitTimer() : null;
+        if (metrics != null) {
+            metrics.registerRenderQueue(executor);
+        }
+        log.info("TemplateRenderScheduler initialized (threads: {}, queue: {}, virtual: {}, policy: {})",
+                threads, queueCapacity, virtualThreads, rejectionPolicy);
+    }
+
+    public TemplateRenderScheduler(NotificationTemplateProperties properties, NotificationMetrics metrics) {
+        this(properties.getRenderThreads(), properties.getRenderQueueCapacity(), properties.isRenderVirtualThreads(),
+                properties.getRenderRejectionPolicy(), properties.getRenderQueueTimeout(), metrics);
+    }
+
+    /**
+     * Runs {@code task} on the render pool when subscribed to.
+     */
+    public <T> Mono<T> schedule(Callable<T> task) {
+        return Mono.defer(() -> {
+            long queuedAt = System.nanoTime();
+            Mono<T> render = Mono.fromCallable(() -> {
+                        if (waitTimer != null) {
+                            waitTimer.record(System.nanoTime() - queuedAt, TimeUnit.NANOSECONDS);
+                        }
+                        return task.call();
+                    })
+                    .subscribeOn(scheduler);
+            if (!waitForSlot) {
+                return render;
+            }
+            Slot slot = new Slot();
+            return slot.acquire()
+                    .then(render)
+                    .doFinally(signal -> slot.release());
+        });
+    }
+
+    /**
+     * Number of renders waiting for a render thread.
+     */
+    public int getQueueDepth() {
+        return executor.getQueue().size();
+    }
+
+    @Override
+    public void close() {
+        scheduler.dispose();
+        Slot slot;
+        while ((slot = waiting.poll()) != null) {
+            slot.fail(new RejectedExecutionException("Template render scheduler is closed"));
+        }
+    }
+
+    /**
+     * Hands free slots to waiting renders, oldest first. Called whenever a slot is freed or a render
+     * starts waiting, so neither can be missed by the other.
+     */
+    private void grantSlots() {
+        while (!waiting.isEmpty() && tryTakeSlot()) {
+            Slot slot = waiting.poll();
+            if (slot == null || !slot.grant()) {
+                freeSlots.incrementAndGet();
+            }
+        }
+    }
+
+    private boolean tryTakeSlot() {
+        int free;
+        do {
+            free = freeSlots.get();
+            if (free <= 0) {
+                return false;
+            }
+        } while (!freeSlots.compareAndSet(free, free - 1));
+        return true;
+    }
+
+    private static void increment(Counter counter) {
+        if (counter != null) {
+            counter.increment();
+        }
+    }
+
+    private static ThreadFactory threadFactory(boolean virtualThreads) {
+        if (virtualThreads) {
+            return Thread.ofVirtual().name("notification-render-", 0).factory();
+        }
+        AtomicInteger counter = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, "notification-render-" + counter.getAndIncrement());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    /**
+     * One render's claim on a pool slot: waiting, then held, then released or abandoned.
+     */
+    private final class Slot {
+
+        private static final int WAITING = 0;
+        private static final int HELD = 1;
+        private static final int DONE = 2;
+
+        private final AtomicInteger state = new AtomicInteger(WAITING);
+        private volatile MonoSink<Void> sink;
+
+        Mono<Void> acquire() {
+            if (tryTakeSlot()) {
+                state.set(HELD);
+                return Mono.empty();
+            }
+            return Mono.<Void>create(waiter -> {
+                        sink = waiter;
+                        waiting.add(this);
+                        grantSlots();
+                    })
+                    .timeout(slotTimeout, Mono.defer(() -> {
+                        increment(rejected);
+                        return Mono.error(new RejectedExecutionException(
+                                "No template render slot freed up within " + slotTimeout));
+                    }));
+        }
+
+        boolean grant() {
+            if (!state.compareAndSet(WAITING, HELD)) {
+                return false;
+            }
+            sink.success();
+            return true;
+        }
+
+        void fail(Throwable error) {
+            if (state.compareAndSet(WAITING, DONE)) {
+                sink.error(error);
+            }
+        }
+
+        /**
+         * Frees the slot if this render held one; a render that gave up waiting is left for
+         * {@link #grantSlots()} to skip.
+         */
+        void release() {
+            if (state.getAndSet(DONE) == HELD) {
+                freeSlots.incrementAndGet();
+                grantSlots();
+            }
+        }
+    }
+}
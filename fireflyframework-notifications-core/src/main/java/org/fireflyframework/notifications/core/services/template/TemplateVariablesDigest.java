@@ -0,0 +1,144 @@
+/*
+ * Copyright 2024-2026 Firefly Software Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.fireflyframework.notifications.core.services.template;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.temporal.TemporalAccessor;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.SortedSet;
+import java.util.UUID;
+
+/**
+ * Stable, content-based digest of a template variable map.
+ *
+ * <p>Maps are digested in key order, so two maps with equal contents always produce the same
+ * digest regardless of their implementation or insertion order. Only value types whose identity
+ * is fully described by their contents are supported; any other value (an arbitrary bean, an
+ * unordered {@link Set}) makes the map non-digestible, and its render is never cached.
+ */
+final class TemplateVariablesDigest {
+
+    private static final byte NULL = 0;
+    private static final byte STRING = 1;
+    private static final byte SCALAR = 2;
+    private static final byte MAP = 3;
+    private static final byte LIST = 4;
+
+    private TemplateVariablesDigest() {
+    }
+
+    /**
+     * Computes a 128-bit digest of {@code variables}.
+     *
+     * @return the digest as two longs, or {@code null} if the map holds a value that cannot be digested
+     */
+    static long[] digest(Map<String, Object> variables) {
+        MessageDigest digest = newDigest();
+        if (variables != null && !update(digest, variables)) {
+            return null;
+        }
+        ByteBuffer hash = ByteBuffer.wrap(digest.digest());
+        return new long[]{hash.getLong(), hash.getLong()};
+    }
+
+    private static boolean update(MessageDigest digest, Object value) {
+        if (value == null) {
+            digest.update(NULL);
+            return true;
+        }
+        if (value instanceof CharSequence text) {
+            digest.update(STRING);
+            writeString(digest, text.toString());
+            return true;
+        }
+        if (value instanceof Number || value instanceof Boolean || value instanceof Character
+                || value instanceof Enum<?> || value instanceof TemporalAccessor || value instanceof UUID) {
+            digest.update(SCALAR);
+            writeString(digest, value.getClass().getName());
+            writeString(digest, value.toString());
+            return true;
+        }
+        if (value instanceof Map<?, ?> map) {
+            List<String> keys = new ArrayList<>(map.size());
+            for (Object key : map.keySet()) {
+                if (!(key instanceof String name)) {
+                    return false;
+                }
+                keys.add(name);
+            }
+            keys.sort(null);
+            digest.update(MAP);
+            writeInt(digest, keys.size());
+            for (String key : keys) {
+                writeString(digest, key);
+                if (!update(digest, map.get(key))) {
+                    return false;
+                }
+            }
+            return true;
+        }
+        if (value instanceof Collection<?> collection) {
+            if (value instanceof Set<?> && !(value instanceof SortedSet<?>)) {
+                return false;
+            }
+            return updateSequence(digest, collection.size(), collection);
+        }
+        if (value instanceof Object[] array) {
+            return updateSequence(digest, array.length, List.of(array));
+        }
+        return false;
+    }
+
+    private static boolean updateSequence(MessageDigest digest, int size, Iterable<?> elements) {
+        digest.update(LIST);
+        writeInt(digest, size);
+        for (Object element : elements) {
+            if (!update(digest, element)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static void writeString(MessageDigest digest, String value) {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        writeInt(digest, bytes.length);
+        digest.update(bytes);
+    }
+
+    private static void writeInt(MessageDigest digest, int value) {
+        digest.update((byte) (value >>> 24));
+        digest.update((byte) (value >>> 16));
+        digest.update((byte) (value >>> 8));
+        digest.update((byte) value);
+    }
+
+    private static MessageDigest newDigest() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+}
@@ -0,0 +1,53 @@
+/*
+ * Copyright 2024-2026 Firefly Software Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.fireflyframework.notifications.core.services.template;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Source versions of an engine's templates, keyed by template name.
+ *
+ * <p>All versions are drawn from one sequence, so a version identifies both a template and a revision
+ * of its source: a render cache keyed on it notices a reloaded template as well as a switch to another
+ * localized variant of the same template ID.
+ */
+final class TemplateVersions {
+
+    private final AtomicLong sequence = new AtomicLong();
+    private final Map<String, Long> versions = new ConcurrentHashMap<>();
+
+    /**
+     * Current version of a template, assigning one on first use.
+     */
+    long get(String templateName) {
+        Long version = versions.get(templateName);
+        return version != null ? version : versions.computeIfAbsent(templateName, name -> sequence.incrementAndGet());
+    }
+
+    /**
+     * Gives a template a new version after its source was (re)loaded or changed.
+     */
+    void bump(String templateName) {
+        versions.put(templateName, sequence.incrementAndGet());
+    }
+
+    void bumpAll() {
+        versions.replaceAll((templateName, version) -> sequence.incrementAndGet());
+    }
+}
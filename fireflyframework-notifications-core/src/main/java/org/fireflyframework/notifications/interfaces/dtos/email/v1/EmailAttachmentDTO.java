@@ -21,9 +21,33 @@ import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferFactory;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * An email attachment.
+ *
+ * <p>The content comes from exactly one source: an in-memory {@code content} array, a {@code file}
+ * that is memory-mapped when read, a shared read-only {@code buffer}, or a {@code contentStream}.
+ * Only {@code content} keeps the bytes on the heap; the other sources are read lazily through
+ * {@link #streamContent(DataBufferFactory)}.
+ *
+ * <p>Alternatively, {@code contentDigest} refers to content kept once in an attachment store and
+ * shared by many requests; the email service resolves it into {@code buffer} and
+ * {@code encodedContent} before the provider sees the attachment.
+ */
 @Data
-@Builder
+@Builder(toBuilder = true)
 @NoArgsConstructor
 @AllArgsConstructor
 public class EmailAttachmentDTO {
@@ -38,4 +62,107 @@ public class EmailAttachmentDTO {
      * MIME type of the attachment (e.g., "application/pdf").
      */
     private String contentType;
+
+    /**
+     * File whose content is attached; mapped into memory when the attachment is streamed.
+     */
+    private Path file;
+
+    /**
+     * Shared content buffer; never modified or consumed, so one buffer can back many attachments.
+     */
+    private ByteBuffer buffer;
+
+    /**
+     * Content as a stream of buffers; can typically be consumed only once, and whoever subscribes
+     * must release the buffers.
+     */
+    private Flux<DataBuffer> contentStream;
+
+    /**
+     * Hex SHA-256 digest of content held in an attachment store, instead of the content itself.
+     */
+    private String contentDigest;
+
+    /**
+     * Standard base64 encoding of the content, when it is already known. Providers that upload
+     * attachments base64-encoded should send this as-is rather than encode the content again.
+     */
+    private ByteBuffer encodedContent;
+
+    /**
+     * Creates an attachment with in-memory content.
+     */
+    public EmailAttachmentDTO(String filename, byte[] content, String contentType) {
+        this(filename, content, contentType, null, null, null, null, null);
+    }
+
+    /**
+     * Creates an attachment backed by a file, named after it.
+     */
+    public static EmailAttachmentDTO ofFile(Path file, String contentType) {
+        return EmailAttachmentDTO.builder()
+                .filename(file.getFileName().toString())
+                .file(file)
+                .contentType(contentType)
+                .build();
+    }
+
+    /**
+     * Whether the content is already held in {@link #getContent()}.
+     */
+    public boolean isInMemory() {
+        return content != null;
+    }
+
+    /**
+     * Streams the content from whichever source is set. In-memory and buffer-backed content is
+     * wrapped without copying; file content is memory-mapped read-only, so it is paged in from
+     * the OS cache instead of being copied onto the heap.
+     */
+    public Flux<DataBuffer> streamContent(DataBufferFactory factory) {
+        if (content != null) {
+            return Flux.just(factory.wrap(content));
+        }
+        if (buffer != null) {
+            return Flux.just(factory.wrap(buffer.asReadOnlyBuffer()));
+        }
+        if (file != null) {
+            return Mono.fromCallable(() -> factory.wrap(map(file))).flux();
+        }
+        if (contentStream != null) {
+            return contentStream;
+        }
+        if (contentDigest != null) {
+            return Flux.error(new IllegalStateException("Attachment '" + filename
+                    + "' refers to stored content " + contentDigest + " that was not resolved"));
+        }
+        return Flux.empty();
+    }
+
+    /**
+     * Content length in bytes, or {@code -1} if it is only known once the stream has been read.
+     */
+    public long contentLength() {
+        if (content != null) {
+            return content.length;
+        }
+        if (buffer != null) {
+            return buffer.remaining();
+        }
+        if (file != null) {
+            try {
+                return Files.size(file);
+            } catch (IOException e) {
+                throw new UncheckedIOException("Cannot read size of attachment " + file, e);
+            }
+        }
+        return contentStream != null || contentDigest != null ? -1 : 0;
+    }
+
+    private static ByteBuffer map(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            return channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+    }
 }
\ No newline at end of file
@@ -25,7 +25,7 @@ import java.util.ArrayList;
 import java.util.List;
 
 @Data
-@Builder
+@Builder(toBuilder = true)
 @NoArgsConstructor
 @AllArgsConstructor
 public class EmailRequestDTO {
@@ -78,6 +78,25 @@ public class EmailRequestDTO {
     @Builder.Default
     private List<EmailAttachmentDTO> attachments = new ArrayList<>();
 
+    /**
+     * Optional ID of the recipient user; when set, the send is skipped if the user opted out of email.
+     */
+    private String userId;
+
+    /**
+     * Optional caller-chosen key identifying this send; repeats with the same key within the
+     * deduplication window return the original response instead of sending again.
+     */
+    private String idempotencyKey;
+
+    /**
+     * Creates a request without a user ID or idempotency key, as before those fields existed.
+     */
+    public EmailRequestDTO(String from, String to, List<String> cc, List<String> bcc, String subject,
+                           String text, String html, List<EmailAttachmentDTO> attachments) {
+        this(from, to, cc, bcc, subject, text, html, attachments, null, null);
+    }
+
     /**
      * Convenience method to add a single attachment.
      */
@@ -43,6 +43,13 @@ public class EmailResponseDTO {
                 .build();
     }
 
+    public static EmailResponseDTO suppressed() {
+        return EmailResponseDTO.builder()
+                .status(EmailStatusEnum.SUPPRESSED)
+                .timestamp(System.currentTimeMillis())
+                .build();
+    }
+
     public static EmailResponseDTO error(String errorMessage) {
         return EmailResponseDTO.builder()
                 .status(EmailStatusEnum.FAILED)
@@ -24,6 +24,7 @@ import lombok.NoArgsConstructor;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
 
 /**
@@ -31,6 +32,7 @@ import java.util.Map;
  *
  * <p>The {@code templateId} identifies a template (e.g., "welcome-email"),
  * and {@code templateVariables} are substituted into the template before sending.
+ * An optional {@code locale} selects the best-matching localized variant of the template.
  */
 @Data
 @Builder
@@ -53,4 +55,18 @@ public class EmailTemplateRequestDTO {
     private List<String> bcc = new ArrayList<>();
 
     private String subject;
+
+    private String userId;
+
+    private String idempotencyKey;
+
+    private Locale locale;
+
+    /**
+     * Creates a request without a user ID, idempotency key or locale.
+     */
+    public EmailTemplateRequestDTO(String templateId, Map<String, Object> templateVariables, String from, String to,
+                                   List<String> cc, List<String> bcc, String subject) {
+        this(templateId, templateVariables, from, to, cc, bcc, subject, null, null, null);
+    }
 }
@@ -0,0 +1,59 @@
+/*
+ * Copyright 2024-2026 Firefly Software Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.fireflyframework.notifications.interfaces.dtos.push.v1;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Request for sending one push payload to many devices.
+ *
+ * <p>The {@code payload} is held once and shared by every token chunk the service sends,
+ * instead of being copied into a {@link PushNotificationRequest} per device. Tokens mapped to a user in
+ * {@code userIds} are skipped when that user opted out of push notifications.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class PushMulticastRequest {
+    private PushPayload payload;
+
+    @Builder.Default
+    private List<String> tokens = new ArrayList<>();
+
+    /**
+     * Optional ID of the user each token belongs to; tokens without an entry are always sent to.
+     */
+    @Builder.Default
+    private Map<String, String> userIds = new HashMap<>();
+
+    /**
+     * Creates a request whose tokens are not mapped to users.
+     */
+    public PushMulticastRequest(PushPayload payload, List<String> tokens) {
+        this(payload, tokens, new HashMap<>());
+    }
+}
@@ -0,0 +1,56 @@
+/*
+ * Copyright 2024-2026 Firefly Software Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.fireflyframework.notifications.interfaces.dtos.push.v1;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Aggregated result of a push multicast, with one {@link PushNotificationResponse} per token
+ * in the order the tokens were given.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class PushMulticastResponse {
+    private int successCount;
+    private int failureCount;
+
+    @Builder.Default
+    private List<PushNotificationResponse> responses = new ArrayList<>();
+
+    public static PushMulticastResponse of(List<PushNotificationResponse> responses) {
+        int successes = 0;
+        for (PushNotificationResponse response : responses) {
+            if (response.isSuccess()) {
+                successes++;
+            }
+        }
+        return PushMulticastResponse.builder()
+                .successCount(successes)
+                .failureCount(responses.size() - successes)
+                .responses(responses)
+                .build();
+    }
+}
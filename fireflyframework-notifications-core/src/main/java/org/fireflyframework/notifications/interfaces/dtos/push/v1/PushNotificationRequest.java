@@ -33,4 +33,23 @@ public class PushNotificationRequest {
     private String title;
     private String body;
     private Map<String, String> data;
+
+    /**
+     * Optional ID of the recipient user; when set, the push is skipped if the user opted out of push
+     * notifications.
+     */
+    private String userId;
+
+    /**
+     * Optional caller-chosen key identifying this send; repeats with the same key within the
+     * deduplication window return the original response instead of sending again.
+     */
+    private String idempotencyKey;
+
+    /**
+     * Creates a request without a user ID or idempotency key.
+     */
+    public PushNotificationRequest(String token, String title, String body, Map<String, String> data) {
+        this(token, title, body, data, null, null);
+    }
 }
\ No newline at end of file
@@ -30,4 +30,29 @@ public class PushNotificationResponse {
     private String messageId;
     private boolean success;
     private String errorMessage;
+
+    /**
+     * Device token the response refers to; populated for multicast results.
+     */
+    private String token;
+
+    /**
+     * Set when the push was not sent because the user opted out of push notifications.
+     */
+    private boolean suppressed;
+
+    public static PushNotificationResponse suppressed(String token) {
+        return PushNotificationResponse.builder()
+                .token(token)
+                .suppressed(true)
+                .build();
+    }
+
+    public static PushNotificationResponse error(String token, String errorMessage) {
+        return PushNotificationResponse.builder()
+                .token(token)
+                .success(false)
+                .errorMessage(errorMessage != null ? errorMessage : "Unknown error")
+                .build();
+    }
 }
\ No newline at end of file
@@ -0,0 +1,84 @@
+/*
+ * Copyright 2024-2026 Firefly Software Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.fireflyframework.notifications.interfaces.dtos.push.v1;
+
+import lombok.AccessLevel;
+import lombok.Builder;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * Device-independent content of a push notification, shared by every recipient of a multicast.
+ *
+ * <p>Providers that need a wire encoding of the payload (e.g., a JSON message body) should obtain
+ * it through {@link #encoded(Object, Function)}, which computes it once per payload instance and
+ * reuses it for every token chunk of the multicast.
+ */
+@Data
+@NoArgsConstructor
+public class PushPayload {
+    private String title;
+    private String body;
+    private Map<String, String> data;
+
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    @EqualsAndHashCode.Exclude
+    @ToString.Exclude
+    private final Map<Object, Object> encodings = new ConcurrentHashMap<>();
+
+    @Builder
+    public PushPayload(String title, String body, Map<String, String> data) {
+        this.title = title;
+        this.body = body;
+        this.data = data;
+    }
+
+    /**
+     * Returns the encoding of this payload registered under {@code key}, computing it with
+     * {@code encoder} on first use. The payload must not be modified once it has been encoded.
+     *
+     * @param key     identifies the encoding, typically the provider class
+     * @param encoder computes the encoding from this payload
+     * @return the cached encoding
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T encoded(Object key, Function<PushPayload, T> encoder) {
+        return (T) encodings.computeIfAbsent(key, k -> encoder.apply(this));
+    }
+
+    /**
+     * Builds a single-device request that shares this payload's title, body and data map.
+     */
+    public PushNotificationRequest toRequest(String token) {
+        return PushNotificationRequest.builder()
+                .token(token)
+                .title(title)
+                .body(body)
+                .data(data)
+                .build();
+    }
+}
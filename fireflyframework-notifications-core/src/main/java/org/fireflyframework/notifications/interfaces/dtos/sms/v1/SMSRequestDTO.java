@@ -29,4 +29,22 @@ import lombok.NoArgsConstructor;
 public class SMSRequestDTO {
     private String phoneNumber;
     private String message;
+
+    /**
+     * Optional ID of the recipient user; when set, the send is skipped if the user opted out of SMS.
+     */
+    private String userId;
+
+    /**
+     * Optional caller-chosen key identifying this send; repeats with the same key within the
+     * deduplication window return the original response instead of sending again.
+     */
+    private String idempotencyKey;
+
+    /**
+     * Creates a request without a user ID or idempotency key.
+     */
+    public SMSRequestDTO(String phoneNumber, String message) {
+        this(phoneNumber, message, null, null);
+    }
 }
\ No newline at end of file
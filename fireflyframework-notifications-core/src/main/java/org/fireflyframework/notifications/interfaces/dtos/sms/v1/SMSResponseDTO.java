@@ -40,6 +40,13 @@ public class SMSResponseDTO {
                 .build();
     }
 
+    public static SMSResponseDTO suppressed() {
+        return SMSResponseDTO.builder()
+                .status("SUPPRESSED")
+                .timestamp(System.currentTimeMillis())
+                .build();
+    }
+
     public static SMSResponseDTO error(String errorMessage) {
         return SMSResponseDTO.builder()
                 .status("FAILED")
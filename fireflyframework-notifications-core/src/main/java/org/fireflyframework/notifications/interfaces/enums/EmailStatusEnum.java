@@ -19,5 +19,6 @@ package org.fireflyframework.notifications.interfaces.enums;
 
 public enum EmailStatusEnum {
     SENT,
-    FAILED
+    FAILED,
+    SUPPRESSED
 }
\ No newline at end of file
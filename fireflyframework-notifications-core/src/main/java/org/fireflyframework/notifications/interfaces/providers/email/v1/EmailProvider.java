@@ -19,8 +19,13 @@ package org.fireflyframework.notifications.interfaces.providers.email.v1;
 
 import org.fireflyframework.notifications.interfaces.dtos.email.v1.EmailRequestDTO;
 import org.fireflyframework.notifications.interfaces.dtos.email.v1.EmailResponseDTO;
+import org.springframework.core.io.buffer.DataBuffer;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
 /**
  * Port (outbound interface) for sending email notifications.
  * <p>
@@ -39,4 +44,79 @@ public interface EmailProvider {
      * @return A reactive response containing delivery status and message ID
      */
     Mono<EmailResponseDTO> sendEmail(EmailRequestDTO request);
+
+    /**
+     * Send an email whose HTML body has already been rendered into a UTF-8 encoded buffer.
+     * <p>
+     * Adapters that can stream the body to their infrastructure (e.g., as an HTTP request body)
+     * should override this to avoid decoding it into a {@code String}. The caller retains ownership
+     * of {@code html} and releases it once the returned Mono terminates, so implementations must not
+     * use the buffer afterwards. The default implementation decodes the buffer into
+     * {@link EmailRequestDTO#setHtml(String)} and delegates to {@link #sendEmail(EmailRequestDTO)}.
+     *
+     * @param request Email request without an HTML body
+     * @param html    Rendered, UTF-8 encoded HTML body
+     * @return A reactive response containing delivery status and message ID
+     */
+    default Mono<EmailResponseDTO> sendEmail(EmailRequestDTO request, DataBuffer html) {
+        request.setHtml(html.toString(StandardCharsets.UTF_8));
+        return sendEmail(request);
+    }
+
+    /**
+     * Whether this adapter reads attachments through
+     * {@link org.fireflyframework.notifications.interfaces.dtos.email.v1.EmailAttachmentDTO#streamContent}
+     * and so accepts file-, buffer- and stream-backed attachments as they are.
+     * <p>
+     * Adapters that return {@code false} (the default) only ever see attachments whose
+     * {@code content} array is set; the service reads other sources into memory first.
+     *
+     * @return {@code true} if attachments may be passed without in-memory content
+     */
+    default boolean supportsStreamingAttachments() {
+        return false;
+    }
+
+    /**
+     * Send a batch of emails using as few provider round trips as the infrastructure allows.
+     * <p>
+     * Implementations must emit exactly one response per request, in request order. The default
+     * implementation falls back to {@link #sendEmail(EmailRequestDTO)} for each item, so adapters
+     * without a native batch endpoint keep working unchanged.
+     *
+     * @param requests Email requests, at most {@link #getMaxBatchSize()} of them
+     * @return One response per request, in the same order as {@code requests}
+     */
+    default Flux<EmailResponseDTO> sendEmailBatch(List<EmailRequestDTO> requests) {
+        return Flux.fromIterable(requests)
+                .concatMap(request -> sendEmail(request)
+                        .onErrorResume(error -> Mono.just(EmailResponseDTO.error(error.getMessage()))));
+    }
+
+    /**
+     * Maximum number of emails the provider accepts in a single {@link #sendEmailBatch(List)} call.
+     *
+     * @return The batch size; {@code 1} for providers without a native batch endpoint
+     */
+    default int getMaxBatchSize() {
+        return 1;
+    }
+
+    /**
+     * Maximum number of {@link #sendEmailBatch(List)} calls the provider allows in flight at once.
+     *
+     * @return The number of concurrent batches
+     */
+    default int getMaxConcurrentBatches() {
+        return 8;
+    }
+
+    /**
+     * Short name identifying this provider in rate limits and metrics (e.g., "sendgrid").
+     *
+     * @return The provider name; defaults to the implementation's simple class name
+     */
+    default String getProviderName() {
+        return getClass().getSimpleName();
+    }
 }
\ No newline at end of file
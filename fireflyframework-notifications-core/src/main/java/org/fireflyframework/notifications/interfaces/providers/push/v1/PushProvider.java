@@ -19,8 +19,12 @@ package org.fireflyframework.notifications.interfaces.providers.push.v1;
 
 import org.fireflyframework.notifications.interfaces.dtos.push.v1.PushNotificationRequest;
 import org.fireflyframework.notifications.interfaces.dtos.push.v1.PushNotificationResponse;
+import org.fireflyframework.notifications.interfaces.dtos.push.v1.PushPayload;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
+import java.util.List;
+
 /**
  * Port (outbound interface) for sending push notifications.
  * <p>
@@ -39,4 +43,53 @@ public interface PushProvider {
      * @return A reactive response containing delivery status and message ID
      */
     Mono<PushNotificationResponse> sendPush(PushNotificationRequest request);
-}
+
+    /**
+     * Send one payload to a chunk of device tokens in a single provider call where supported.
+     * <p>
+     * Implementations must emit exactly one response per token, in token order, with
+     * {@link PushNotificationResponse#getToken()} set. The payload instance is shared by every
+     * chunk of the multicast; use {@link PushPayload#encoded} to serialize it only once. The
+     * default implementation falls back to {@link #sendPush(PushNotificationRequest)} per token.
+     *
+     * @param payload Shared notification content
+     * @param tokens  Device tokens, at most {@link #getMaxBatchSize()} of them
+     * @return A reactive stream of one response per token
+     */
+    default Flux<PushNotificationResponse> sendMulticast(PushPayload payload, List<String> tokens) {
+        return Flux.fromIterable(tokens)
+                .concatMap(token -> sendPush(payload.toRequest(token))
+                        .map(response -> {
+                            response.setToken(token);
+                            return response;
+                        })
+                        .onErrorResume(error -> Mono.just(PushNotificationResponse.error(token, error.getMessage()))));
+    }
+
+    /**
+     * Maximum number of device tokens the provider accepts in a single {@link #sendMulticast} call.
+     *
+     * @return The chunk size; {@code 1} for providers without a multicast endpoint
+     */
+    default int getMaxBatchSize() {
+        return 1;
+    }
+
+    /**
+     * Maximum number of {@link #sendMulticast} calls the provider allows in flight at once.
+     *
+     * @return The number of concurrent chunks
+     */
+    default int getMaxConcurrentBatches() {
+        return 8;
+    }
+
+    /**
+     * Short name identifying this provider in rate limits and metrics (e.g., "firebase").
+     *
+     * @return The provider name; defaults to the implementation's simple class name
+     */
+    default String getProviderName() {
+        return getClass().getSimpleName();
+    }
+}
\ No newline at end of file
@@ -19,8 +19,11 @@ package org.fireflyframework.notifications.interfaces.providers.sms.v1;
 
 import org.fireflyframework.notifications.interfaces.dtos.sms.v1.SMSRequestDTO;
 import org.fireflyframework.notifications.interfaces.dtos.sms.v1.SMSResponseDTO;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
+import java.util.List;
+
 /**
  * Port (outbound interface) for sending SMS notifications.
  * <p>
@@ -40,4 +43,46 @@ public interface SMSProvider {
      * @return Reactive response containing delivery status and message ID
      */
     Mono<SMSResponseDTO> sendSMS(SMSRequestDTO request);
+
+    /**
+     * Submit a batch of SMS messages in a single provider call where the gateway supports it.
+     * <p>
+     * Implementations must emit exactly one response per request, in request order. The default
+     * implementation falls back to {@link #sendSMS(SMSRequestDTO)} for each item.
+     *
+     * @param requests SMS requests, at most {@link #getMaxBatchSize()} of them
+     * @return Reactive stream of one response per request, in the same order as {@code requests}
+     */
+    default Flux<SMSResponseDTO> sendSMSBatch(List<SMSRequestDTO> requests) {
+        return Flux.fromIterable(requests)
+                .concatMap(request -> sendSMS(request)
+                        .onErrorResume(error -> Mono.just(SMSResponseDTO.error(error.getMessage()))));
+    }
+
+    /**
+     * Maximum number of messages the gateway accepts in a single {@link #sendSMSBatch(List)} call.
+     *
+     * @return The batch size; {@code 1} for gateways without a batch endpoint
+     */
+    default int getMaxBatchSize() {
+        return 1;
+    }
+
+    /**
+     * Maximum number of {@link #sendSMSBatch(List)} calls the gateway allows in flight at once.
+     *
+     * @return The number of concurrent batches
+     */
+    default int getMaxConcurrentBatches() {
+        return 8;
+    }
+
+    /**
+     * Short name identifying this provider in rate limits and metrics (e.g., "twilio").
+     *
+     * @return The provider name; defaults to the implementation's simple class name
+     */
+    default String getProviderName() {
+        return getClass().getSimpleName();
+    }
 }
\ No newline at end of file
@@ -0,0 +1,85 @@
+/*
+ * Copyright 2024-2026 Firefly Software Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.fireflyframework.notifications.observability;
+
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.github.benmanes.caffeine.cache.stats.ConcurrentStatsCounter;
+import com.github.benmanes.caffeine.cache.stats.StatsCounter;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Timer;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Caffeine {@link StatsCounter} that mirrors cache statistics into pre-registered
+ * {@link NotificationMetrics} meters, so recording a hit or a load never looks up a meter.
+ * Obtain instances through {@link NotificationMetrics#cacheStatsCounter(String)}.
+ */
+public class NotificationCacheStatsCounter implements StatsCounter {
+
+    private final ConcurrentStatsCounter stats = new ConcurrentStatsCounter();
+    private final Counter hits;
+    private final Counter misses;
+    private final Counter evictions;
+    private final Timer loadSuccess;
+    private final Timer loadFailure;
+
+    NotificationCacheStatsCounter(Counter hits, Counter misses, Counter evictions,
+                                  Timer loadSuccess, Timer loadFailure) {
+        this.hits = hits;
+        this.misses = misses;
+        this.evictions = evictions;
+        this.loadSuccess = loadSuccess;
+        this.loadFailure = loadFailure;
+    }
+
+    @Override
+    public void recordHits(int count) {
+        stats.recordHits(count);
+        hits.increment(count);
+    }
+
+    @Override
+    public void recordMisses(int count) {
+        stats.recordMisses(count);
+        misses.increment(count);
+    }
+
+    @Override
+    public void recordLoadSuccess(long loadTime) {
+        stats.recordLoadSuccess(loadTime);
+        loadSuccess.record(loadTime, TimeUnit.NANOSECONDS);
+    }
+
+    @Override
+    public void recordLoadFailure(long loadTime) {
+        stats.recordLoadFailure(loadTime);
+        loadFailure.record(loadTime, TimeUnit.NANOSECONDS);
+    }
+
+    @Override
+    public void recordEviction(int weight, RemovalCause cause) {
+        stats.recordEviction(weight, cause);
+        evictions.increment();
+    }
+
+    @Override
+    public CacheStats snapshot() {
+        return stats.snapshot();
+    }
+}
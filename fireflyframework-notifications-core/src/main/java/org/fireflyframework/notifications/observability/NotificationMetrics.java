@@ -16,20 +16,70 @@
 
 package org.fireflyframework.notifications.observability;
 
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
 import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import org.fireflyframework.observability.metrics.FireflyMetricsSupport;
 import reactor.core.publisher.Mono;
 
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.ToDoubleFunction;
+
 /**
  * Shared observability instrumentation for the Notifications module.
  * <p>
+ * Components register their own gauges through the {@code register*} methods, passing the functions that
+ * read them, so this package does not depend on the services it observes.
+ * <p>
  * Records:
  * <ul>
+ *     <li>{@code firefly.notifications.stage.duration} — per-stage send latency (preference, render, provider,
+ *         total), tagged by {@code channel}, {@code provider}, {@code stage} and {@code outcome}</li>
+ *     <li>{@code firefly.notifications.send.outcomes} — finished sends by {@code channel}, {@code provider}
+ *         and {@code outcome} (success/failure/suppressed/cancelled)</li>
  *     <li>{@code firefly.notifications.sent} — total notifications dispatched, tagged by {@code channel}
  *         (email/sms/push), {@code provider} (sendgrid/twilio/firebase/resend/...) and {@code status}</li>
  *     <li>{@code firefly.notifications.delivery.duration} — end-to-end dispatch latency timer</li>
  *     <li>{@code firefly.notifications.errors} — failed deliveries, tagged by {@code error.type}</li>
- *     <li>{@code firefly.notifications.templates.rendered} — template renders, tagged by template name</li>
+ *     <li>{@code firefly.notifications.templates.rendered} / {@code firefly.notifications.templates.render.duration} —
+ *         template renders and render latency, tagged by template name (capped, see
+ *         {@link NotificationMetricsSettings#getMaxTemplateTags()})</li>
+ *     <li>{@code firefly.notifications.cache.hits} / {@code firefly.notifications.cache.misses} /
+ *         {@code firefly.notifications.cache.evictions} — in-memory cache activity, tagged by {@code cache}</li>
+ *     <li>{@code firefly.notifications.cache.load.duration} — cache load latency, tagged by {@code cache}
+ *         and {@code outcome}</li>
+ *     <li>{@code firefly.notifications.templates.render.queue.depth} /
+ *         {@code firefly.notifications.templates.render.active} — render scheduler load</li>
+ *     <li>{@code firefly.notifications.templates.render.wait} — time renders spend queued before running</li>
+ *     <li>{@code firefly.notifications.templates.render.rejected} — renders refused by a full render queue</li>
+ *     <li>{@code firefly.notifications.templates.reloads} — changes picked up from a watched template directory,
+ *         tagged by {@code outcome} (reloaded/invalidated/failed/overflow)</li>
+ *     <li>{@code firefly.notifications.ratelimit.permits} — permits currently available to a rate-limited provider,
+ *         tagged by {@code channel} and {@code provider}</li>
+ *     <li>{@code firefly.notifications.ratelimit.wait} / {@code firefly.notifications.ratelimit.rejected} —
+ *         time sends were held back by, and sends refused by, a provider rate limit</li>
+ *     <li>{@code firefly.notifications.hedge.attempts} — hedged sends, tagged by {@code channel} and
+ *         {@code outcome} (fired/won/budget_exhausted)</li>
+ *     <li>{@code firefly.notifications.hedge.delay} — current hedge delay per {@code channel}, in milliseconds</li>
+ *     <li>{@code firefly.notifications.outbox.append} — time until a submitted request is durable in the outbox</li>
+ *     <li>{@code firefly.notifications.outbox.pending} / {@code firefly.notifications.outbox.segments} —
+ *         unacknowledged outbox records and live log segments</li>
+ *     <li>{@code firefly.notifications.scheduler.pending} / {@code firefly.notifications.scheduler.lag} —
+ *         scheduled sends not yet due, and how late due sends fired relative to their send time</li>
+ *     <li>{@code firefly.notifications.dispatch.queue.depth} / {@code firefly.notifications.dispatch.enqueue} —
+ *         requests waiting in the dispatch queue and time spent enqueuing them</li>
+ *     <li>{@code firefly.notifications.dispatch.requests} — dispatch queue requests by {@code outcome}
+ *         (drained/dropped/rejected); the drained rate is the queue's drain rate</li>
+ *     <li>{@code firefly.notifications.idempotency.duplicates} — sends answered from the idempotency
+ *         cache instead of the provider, per {@code channel}</li>
+ *     <li>{@code firefly.notifications.attachments.stored.bytes} / {@code firefly.notifications.attachments.stored.count} —
+ *         off-heap bytes and distinct attachments held by the attachment store</li>
+ *     <li>{@code firefly.notifications.attachments.deduplicated} — attachments stored again that reused an existing copy</li>
  * </ul>
  */
 public class NotificationMetrics extends FireflyMetricsSupport {
@@ -37,9 +87,28 @@ public class NotificationMetrics extends FireflyMetricsSupport {
     private static final String TAG_CHANNEL = "channel";
     private static final String TAG_PROVIDER = "provider";
     private static final String TAG_TEMPLATE = "template";
+    private static final String TAG_CACHE = "cache";
+    private static final String TAG_OUTCOME = "outcome";
+    private static final String METRIC_PREFIX = "firefly.notifications.";
+
+    private static final String OTHER_TEMPLATE = "other";
+
+    private final MeterRegistry registry;
+    private final NotificationMetricsSettings settings;
+    private final Map<String, Map<String, SendMeters>> sendMeters = new ConcurrentHashMap<>();
+    private final Map<String, TemplateMeters> templateMeters = new ConcurrentHashMap<>();
+    private final AtomicInteger templateTags = new AtomicInteger();
+    private final TemplateMeters otherTemplateMeters;
 
     public NotificationMetrics(MeterRegistry meterRegistry) {
+        this(meterRegistry, new NotificationMetricsSettings());
+    }
+
+    public NotificationMetrics(MeterRegistry meterRegistry, NotificationMetricsSettings settings) {
         super(meterRegistry, "notifications");
+        this.registry = meterRegistry;
+        this.settings = settings;
+        this.otherTemplateMeters = registerTemplateMeters(OTHER_TEMPLATE);
     }
 
     /**
@@ -54,7 +123,266 @@ public class NotificationMetrics extends FireflyMetricsSupport {
                 });
     }
 
+    /**
+     * Returns the pre-registered per-stage meters of a channel and provider, registering them on first use.
+     * Unlike {@link #timedDispatch(String, String, Mono)}, recording through them does no registry lookups.
+     */
+    public SendMeters sendMeters(String channel, String provider) {
+        Map<String, SendMeters> byProvider = sendMeters.get(channel);
+        if (byProvider == null) {
+            byProvider = sendMeters.computeIfAbsent(channel, c -> new ConcurrentHashMap<>());
+        }
+        SendMeters meters = byProvider.get(provider);
+        if (meters == null) {
+            meters = byProvider.computeIfAbsent(provider,
+                    p -> new SendMeters(registry, METRIC_PREFIX, channel, p, this::distribution));
+        }
+        return meters;
+    }
+
     public void recordTemplateRendered(String template) {
-        counter("templates.rendered", TAG_TEMPLATE, template).increment();
+        templateMeters(template).rendered().increment();
+    }
+
+    /**
+     * Times a template render and counts it, tagged by template ID; see
+     * {@link NotificationMetricsSettings#getMaxTemplateTags()} for how the tag is capped.
+     */
+    public <T> Mono<T> timedRender(String template, Mono<T> render) {
+        TemplateMeters meters = templateMeters(template);
+        return Mono.defer(() -> {
+            long start = System.nanoTime();
+            return render
+                    .doOnSuccess(value -> {
+                        meters.success().record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+                        meters.rendered().increment();
+                    })
+                    .doOnError(error -> meters.failure().record(System.nanoTime() - start, TimeUnit.NANOSECONDS));
+        });
+    }
+
+    /**
+     * Creates a Caffeine stats counter that reports the named cache's hits, misses, evictions and
+     * load latency. Meters are registered once here; the returned counter only increments them.
+     */
+    public NotificationCacheStatsCounter cacheStatsCounter(String cache) {
+        return new NotificationCacheStatsCounter(
+                Counter.builder(METRIC_PREFIX + "cache.hits").tag(TAG_CACHE, cache).register(registry),
+                Counter.builder(METRIC_PREFIX + "cache.misses").tag(TAG_CACHE, cache).register(registry),
+                Counter.builder(METRIC_PREFIX + "cache.evictions").tag(TAG_CACHE, cache).register(registry),
+                Timer.builder(METRIC_PREFIX + "cache.load.duration")
+                        .tags(TAG_CACHE, cache, TAG_OUTCOME, "success").register(registry),
+                Timer.builder(METRIC_PREFIX + "cache.load.duration")
+                        .tags(TAG_CACHE, cache, TAG_OUTCOME, "failure").register(registry));
+    }
+
+    /**
+     * Registers queue-depth and active-thread gauges for the template render pool.
+     */
+    public void registerRenderQueue(ThreadPoolExecutor executor) {
+        Gauge.builder(METRIC_PREFIX + "templates.render.queue.depth", executor, e -> e.getQueue().size())
+                .register(registry);
+        Gauge.builder(METRIC_PREFIX + "templates.render.active", executor, ThreadPoolExecutor::getActiveCount)
+                .register(registry);
+    }
+
+    /**
+     * Timer for the time a render waits in the render queue before a thread picks it up.
+     */
+    public Timer renderWaitTimer() {
+        return Timer.builder(METRIC_PREFIX + "templates.render.wait").register(registry);
+    }
+
+    /**
+     * Counter for renders refused because the render queue was full.
+     */
+    public Counter renderRejectedCounter() {
+        return Counter.builder(METRIC_PREFIX + "templates.render.rejected").register(registry);
+    }
+
+    /**
+     * Counter for template directory changes handled with the given outcome.
+     */
+    public Counter templateReloadCounter(String outcome) {
+        return Counter.builder(METRIC_PREFIX + "templates.reloads")
+                .tag(TAG_OUTCOME, outcome)
+                .register(registry);
+    }
+
+    /**
+     * Registers the available-permits gauge of a provider rate limiter.
+     */
+    public <T> void registerRateLimiter(String channel, String provider, T limiter, ToDoubleFunction<T> availablePermits) {
+        Gauge.builder(METRIC_PREFIX + "ratelimit.permits", limiter, availablePermits)
+                .tags(TAG_CHANNEL, channel, TAG_PROVIDER, provider)
+                .register(registry);
+    }
+
+    /**
+     * Timer for the time sends to a provider are delayed by its rate limiter.
+     */
+    public Timer rateLimitWaitTimer(String channel, String provider) {
+        return Timer.builder(METRIC_PREFIX + "ratelimit.wait")
+                .tags(TAG_CHANNEL, channel, TAG_PROVIDER, provider)
+                .register(registry);
+    }
+
+    /**
+     * Counter for sends refused by a provider's rate limiter.
+     */
+    public Counter rateLimitRejectedCounter(String channel, String provider) {
+        return Counter.builder(METRIC_PREFIX + "ratelimit.rejected")
+                .tags(TAG_CHANNEL, channel, TAG_PROVIDER, provider)
+                .register(registry);
+    }
+
+    /**
+     * Counter for hedged sends on a channel with the given outcome.
+     */
+    public Counter hedgeCounter(String channel, String outcome) {
+        return Counter.builder(METRIC_PREFIX + "hedge.attempts")
+                .tags(TAG_CHANNEL, channel, TAG_OUTCOME, outcome)
+                .register(registry);
+    }
+
+    /**
+     * Registers the current hedge delay gauge of a channel, read in milliseconds.
+     */
+    public <T> void registerHedger(String channel, T hedger, ToDoubleFunction<T> delayMillis) {
+        Gauge.builder(METRIC_PREFIX + "hedge.delay", hedger, delayMillis)
+                .tag(TAG_CHANNEL, channel)
+                .baseUnit("milliseconds")
+                .register(registry);
+    }
+
+    /**
+     * Timer for outbox appends, measured until the record is durable.
+     */
+    public Timer outboxAppendTimer() {
+        return Timer.builder(METRIC_PREFIX + "outbox.append")
+                .register(registry);
+    }
+
+    /**
+     * Registers pending-record and segment-count gauges for an outbox log.
+     */
+    public <T> void registerOutbox(T outboxLog, ToDoubleFunction<T> pending, ToDoubleFunction<T> segments) {
+        Gauge.builder(METRIC_PREFIX + "outbox.pending", outboxLog, pending)
+                .register(registry);
+        Gauge.builder(METRIC_PREFIX + "outbox.segments", outboxLog, segments)
+                .register(registry);
+    }
+
+    /**
+     * Registers the pending-sends gauge of a notification scheduler.
+     */
+    public <T> void registerScheduler(T scheduler, ToDoubleFunction<T> pending) {
+        Gauge.builder(METRIC_PREFIX + "scheduler.pending", scheduler, pending)
+                .register(registry);
+    }
+
+    /**
+     * Timer for the delay between a scheduled send's send time and the moment it fired.
+     */
+    public Timer schedulerLagTimer() {
+        return Timer.builder(METRIC_PREFIX + "scheduler.lag")
+                .register(registry);
+    }
+
+    /**
+     * Timer for dispatch queue enqueues, including time blocked on a full queue.
+     */
+    public Timer dispatchEnqueueTimer() {
+        return Timer.builder(METRIC_PREFIX + "dispatch.enqueue")
+                .register(registry);
+    }
+
+    /**
+     * Counter for dispatch queue requests with the given outcome.
+     */
+    public Counter dispatchCounter(String outcome) {
+        return Counter.builder(METRIC_PREFIX + "dispatch.requests")
+                .tag(TAG_OUTCOME, outcome)
+                .register(registry);
+    }
+
+    /**
+     * Registers the depth gauge of a dispatch queue buffer.
+     */
+    public <T> void registerDispatchQueue(T buffer, ToDoubleFunction<T> depth) {
+        Gauge.builder(METRIC_PREFIX + "dispatch.queue.depth", buffer, depth)
+                .register(registry);
+    }
+
+    /**
+     * Counter for duplicate sends suppressed by idempotency key on a channel.
+     */
+    public Counter idempotencyDuplicateCounter(String channel) {
+        return Counter.builder(METRIC_PREFIX + "idempotency.duplicates")
+                .tag(TAG_CHANNEL, channel)
+                .register(registry);
+    }
+
+    /**
+     * Registers stored-bytes and stored-count gauges for an attachment store.
+     */
+    public <T> void registerAttachmentStore(T store, ToDoubleFunction<T> storedBytes, ToDoubleFunction<T> count) {
+        Gauge.builder(METRIC_PREFIX + "attachments.stored.bytes", store, storedBytes)
+                .baseUnit("bytes")
+                .register(registry);
+        Gauge.builder(METRIC_PREFIX + "attachments.stored.count", store, count)
+                .register(registry);
+    }
+
+    /**
+     * Counter for attachments whose content was already in the attachment store.
+     */
+    public Counter attachmentDeduplicatedCounter() {
+        return Counter.builder(METRIC_PREFIX + "attachments.deduplicated")
+                .register(registry);
+    }
+
+    private TemplateMeters templateMeters(String template) {
+        TemplateMeters meters = templateMeters.get(template);
+        if (meters != null) {
+            return meters;
+        }
+        if (template == null || templateTags.get() >= settings.getMaxTemplateTags()) {
+            return otherTemplateMeters;
+        }
+        // Only a template that wins a tag slot is registered, so racing first renders cannot exceed the cap
+        meters = templateMeters.computeIfAbsent(template,
+                name -> reserveTemplateTag() ? registerTemplateMeters(name) : null);
+        return meters != null ? meters : otherTemplateMeters;
+    }
+
+    private boolean reserveTemplateTag() {
+        int reserved;
+        do {
+            reserved = templateTags.get();
+            if (reserved >= settings.getMaxTemplateTags()) {
+                return false;
+            }
+        } while (!templateTags.compareAndSet(reserved, reserved + 1));
+        return true;
+    }
+
+    private TemplateMeters registerTemplateMeters(String template) {
+        return new TemplateMeters(
+                Counter.builder(METRIC_PREFIX + "templates.rendered").tag(TAG_TEMPLATE, template).register(registry),
+                distribution(Timer.builder(METRIC_PREFIX + "templates.render.duration"))
+                        .tags(TAG_TEMPLATE, template, TAG_OUTCOME, "success").register(registry),
+                distribution(Timer.builder(METRIC_PREFIX + "templates.render.duration"))
+                        .tags(TAG_TEMPLATE, template, TAG_OUTCOME, "failure").register(registry));
+    }
+
+    private Timer.Builder distribution(Timer.Builder timer) {
+        if (settings.getPercentiles() != null && settings.getPercentiles().length > 0) {
+            timer.publishPercentiles(settings.getPercentiles());
+        }
+        return timer.publishPercentileHistogram(settings.isPercentileHistogram());
+    }
+
+    private record TemplateMeters(Counter rendered, Timer success, Timer failure) {
     }
 }
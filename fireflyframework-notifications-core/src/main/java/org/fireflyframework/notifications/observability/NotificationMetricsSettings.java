@@ -0,0 +1,50 @@
+/*
+ * Copyright 2024-2026 Firefly Software Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.fireflyframework.notifications.observability;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Settings for {@link NotificationMetrics}. Declare a bean of this type to have the auto-configured
+ * metrics pick it up.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class NotificationMetricsSettings {
+
+    /**
+     * Client-side percentiles published by the stage, delivery and render timers (e.g. 0.5, 0.95, 0.99).
+     */
+    @Builder.Default
+    private double[] percentiles = new double[0];
+
+    /**
+     * Whether those timers also publish histogram buckets, for percentiles aggregated server-side.
+     */
+    private boolean percentileHistogram;
+
+    /**
+     * Distinct template IDs tagged on template metrics; renders of any further template are tagged {@code other}.
+     */
+    @Builder.Default
+    private int maxTemplateTags = 100;
+}
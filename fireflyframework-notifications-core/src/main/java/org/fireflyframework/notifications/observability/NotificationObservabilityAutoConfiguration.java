@@ -17,6 +17,7 @@
 package org.fireflyframework.notifications.observability;
 
 import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.boot.autoconfigure.AutoConfiguration;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnBean;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
@@ -37,7 +38,8 @@ public class NotificationObservabilityAutoConfiguration {
     @Bean
     @ConditionalOnMissingBean
     @ConditionalOnBean(MeterRegistry.class)
-    NotificationMetrics notificationMetrics(MeterRegistry meterRegistry) {
-        return new NotificationMetrics(meterRegistry);
+    NotificationMetrics notificationMetrics(MeterRegistry meterRegistry,
+                                            ObjectProvider<NotificationMetricsSettings> settings) {
+        return new NotificationMetrics(meterRegistry, settings.getIfAvailable(NotificationMetricsSettings::new));
     }
 }
@@ -0,0 +1,140 @@
+/*
+ * Copyright 2024-2026 Firefly Software Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.fireflyframework.notifications.observability;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import reactor.core.publisher.Mono;
+
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * The send-path meters of one channel and provider, registered once by
+ * {@link NotificationMetrics#sendMeters(String, String)} and then only updated.
+ *
+ * <p>Every {@link Stage} × {@link Outcome} timer is resolved up front, so recording a send indexes
+ * an array instead of building tags and looking the meter up in the registry. Durations are taken
+ * with {@link System#nanoTime()} rather than a {@link Timer.Sample}.
+ */
+public final class SendMeters {
+
+    /**
+     * A timed part of a send, reported as the {@code stage} tag.
+     */
+    public enum Stage {
+        PREFERENCE, RENDER, PROVIDER, TOTAL;
+
+        private final String tag = name().toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * How a stage or send ended, reported as the {@code outcome} tag.
+     */
+    public enum Outcome {
+        SUCCESS, FAILURE, SUPPRESSED, CANCELLED;
+
+        private final String tag = name().toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Meters that record nothing, used when no {@link NotificationMetrics} bean is present.
+     */
+    public static final SendMeters DISABLED = new SendMeters();
+
+    private static final Stage[] STAGES = Stage.values();
+    private static final Outcome[] OUTCOMES = Outcome.values();
+
+    private final Timer[] stageTimers;
+    private final Counter[] outcomeCounters;
+
+    private SendMeters() {
+        this.stageTimers = null;
+        this.outcomeCounters = null;
+    }
+
+    SendMeters(MeterRegistry registry, String prefix, String channel, String provider,
+               Function<Timer.Builder, Timer.Builder> distribution) {
+        this.stageTimers = new Timer[STAGES.length * OUTCOMES.length];
+        for (Stage stage : STAGES) {
+            for (Outcome outcome : OUTCOMES) {
+                stageTimers[index(stage, outcome)] = distribution.apply(Timer.builder(prefix + "stage.duration"))
+                        .tags("channel", channel, "provider", provider, "stage", stage.tag, "outcome", outcome.tag)
+                        .register(registry);
+            }
+        }
+        this.outcomeCounters = new Counter[OUTCOMES.length];
+        for (Outcome outcome : OUTCOMES) {
+            outcomeCounters[outcome.ordinal()] = Counter.builder(prefix + "send.outcomes")
+                    .tags("channel", channel, "provider", provider, "outcome", outcome.tag)
+                    .register(registry);
+        }
+    }
+
+    /**
+     * Times {@code stage}; the outcome is {@code FAILURE} on error, {@code CANCELLED} on cancel and
+     * {@code SUCCESS} otherwise.
+     */
+    public <T> Mono<T> timed(Stage stage, Mono<T> mono) {
+        return timed(stage, mono, value -> Outcome.SUCCESS);
+    }
+
+    /**
+     * Times {@code stage}, classifying the emitted value; errors and cancellations are classified as
+     * with {@link #timed(Stage, Mono)}. {@link Stage#TOTAL} also counts the send's outcome.
+     */
+    public <T> Mono<T> timed(Stage stage, Mono<T> mono, Function<? super T, Outcome> classifier) {
+        if (stageTimers == null) {
+            return mono;
+        }
+        return Mono.defer(() -> {
+            long start = System.nanoTime();
+            return mono
+                    .doOnSuccess(value -> finish(stage, value != null ? classifier.apply(value) : Outcome.SUCCESS, start))
+                    .doOnError(error -> finish(stage, Outcome.FAILURE, start))
+                    .doOnCancel(() -> finish(stage, Outcome.CANCELLED, start));
+        });
+    }
+
+    public void record(Stage stage, Outcome outcome, long nanos) {
+        if (stageTimers != null) {
+            stageTimers[index(stage, outcome)].record(nanos, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    /**
+     * Counts a finished send, for sends that are not timed as a whole, such as items of a batch.
+     */
+    public void count(Outcome outcome) {
+        if (outcomeCounters != null) {
+            outcomeCounters[outcome.ordinal()].increment();
+        }
+    }
+
+    private void finish(Stage stage, Outcome outcome, long start) {
+        record(stage, outcome, System.nanoTime() - start);
+        if (stage == Stage.TOTAL) {
+            count(outcome);
+        }
+    }
+
+    private static int index(Stage stage, Outcome outcome) {
+        return stage.ordinal() * OUTCOMES.length + outcome.ordinal();
+    }
+}
@@ -0,0 +1,62 @@
+package org.fireflyframework.notifications.core.services.attachments;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class AttachmentStoreTest {
+
+    @Test
+    void identicalContent_isStoredOnce() {
+        AttachmentStore store = new AttachmentStore(1024);
+
+        StoredAttachment first = store.put(bytes("terms and conditions"), "application/pdf");
+        StoredAttachment second = store.put(ByteBuffer.wrap(bytes("terms and conditions")), "application/pdf");
+
+        assertThat(second).isSameAs(first);
+        assertThat(store.size()).isEqualTo(1);
+        assertThat(store.getStoredBytes()).isEqualTo(20);
+        assertThat(first.getDigest()).hasSize(64);
+        assertThat(first.content().isDirect()).isTrue();
+        assertThat(first.content().isReadOnly()).isTrue();
+    }
+
+    @Test
+    void base64_isEncodedOnceAndShared() {
+        AttachmentStore store = new AttachmentStore(1024);
+        StoredAttachment stored = store.put(bytes("terms"), "application/pdf");
+
+        ByteBuffer encoded = stored.base64();
+
+        assertThat(StandardCharsets.US_ASCII.decode(encoded.duplicate()).toString())
+                .isEqualTo(Base64.getEncoder().encodeToString(bytes("terms")));
+        assertThat(stored.base64()).isEqualTo(encoded);
+        assertThat(store.getStoredBytes()).isEqualTo(5 + 8);
+    }
+
+    @Test
+    void onlyUnreferencedContent_isEvicted() {
+        AttachmentStore store = new AttachmentStore(10);
+        StoredAttachment held = store.put(new byte[4], "application/octet-stream");
+        StoredAttachment released = store.put(new byte[5], "application/octet-stream");
+        store.release(released);
+
+        StoredAttachment added = store.put(new byte[6], "application/octet-stream");
+
+        assertThat(store.acquire(released.getDigest())).isNull();
+        assertThat(store.acquire(held.getDigest())).isSameAs(held);
+        assertThat(store.getStoredBytes()).isEqualTo(10);
+        assertThatThrownBy(() -> store.put(new byte[7], "application/octet-stream"))
+                .isInstanceOf(AttachmentStoreFullException.class);
+        assertThat(added.getLength()).isEqualTo(6);
+    }
+
+    private static byte[] bytes(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,110 @@
+package org.fireflyframework.notifications.core.services.campaign;
+
+import org.fireflyframework.notifications.core.services.email.v1.EmailService;
+import org.fireflyframework.notifications.interfaces.dtos.email.v1.EmailRequestDTO;
+import org.fireflyframework.notifications.interfaces.dtos.email.v1.EmailResponseDTO;
+import org.fireflyframework.notifications.interfaces.dtos.email.v1.EmailTemplateRequestDTO;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class CampaignEngineTest {
+
+    @TempDir
+    Path directory;
+
+    private final List<EmailTemplateRequestDTO> sent = new CopyOnWriteArrayList<>();
+    private final EmailService emailService = new EmailService() {
+        @Override
+        public Mono<EmailResponseDTO> sendEmail(EmailRequestDTO request) {
+            return Mono.error(new UnsupportedOperationException());
+        }
+
+        @Override
+        public Mono<EmailResponseDTO> sendTemplateEmail(EmailTemplateRequestDTO request) {
+            sent.add(request);
+            return Mono.just(EmailResponseDTO.success("id-" + request.getTo()));
+        }
+    };
+
+    private final Campaign campaign = Campaign.builder()
+            .campaignId("june-statements")
+            .templateId("statement")
+            .from("noreply@example.com")
+            .subject("Your June statement")
+            .variables(Map.of("month", "June", "name", "customer"))
+            .build();
+
+    @Test
+    void csvRecipients_areSentWithOverlaidVariables() throws Exception {
+        Path csv = Files.writeString(directory.resolve("recipients.csv"), """
+                email,userId,name
+                ada@example.com,u-1,Ada
+                "grace@example.com",,"Hopper, Grace"
+                """);
+
+        CampaignResult result = new CampaignEngine(emailService).run(campaign, RecipientSource.csv(csv)).block();
+
+        assertThat(result.getSent()).isEqualTo(2);
+        assertThat(sent).extracting(EmailTemplateRequestDTO::getTo)
+                .containsExactly("ada@example.com", "grace@example.com");
+        assertThat(sent.get(1).getTemplateVariables()).isEqualTo(Map.of("month", "June", "name", "Hopper, Grace"));
+        assertThat(sent.get(0).getUserId()).isEqualTo("u-1");
+        assertThat(sent.get(1).getIdempotencyKey()).isEqualTo("june-statements:1");
+    }
+
+    @Test
+    void restartedRun_resumesAfterCheckpoint() throws Exception {
+        Path ndjson = directory.resolve("recipients.ndjson");
+        Files.write(ndjson, List.of(
+                "{\"email\":\"r0@example.com\"}",
+                "{\"email\":\"r1@example.com\"}",
+                "not json",
+                "{\"email\":\"r3@example.com\"}"));
+        CampaignEngine engine = new CampaignEngine(emailService, CampaignSettings.builder()
+                .concurrency(4)
+                .checkpointDirectory(directory.resolve("checkpoints"))
+                .build());
+
+        assertThatThrownBy(() -> engine.run(campaign, RecipientSource.ndjson(ndjson)).block())
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThat(Files.readString(directory.resolve("checkpoints/june-statements.checkpoint"))).isEqualTo("2");
+
+        Files.write(ndjson, List.of(
+                "{\"email\":\"r0@example.com\"}",
+                "{\"email\":\"r1@example.com\"}",
+                "{\"email\":\"r2@example.com\",\"name\":\"Ada\"}",
+                "{\"email\":\"r3@example.com\"}"));
+        sent.clear();
+        CampaignResult result = engine.run(campaign, RecipientSource.ndjson(ndjson)).block();
+
+        assertThat(result.getResumedFrom()).isEqualTo(2);
+        assertThat(result.getSent()).isEqualTo(2);
+        assertThat(sent).extracting(EmailTemplateRequestDTO::getIdempotencyKey)
+                .containsExactly("june-statements:2", "june-statements:3");
+        assertThat(sent.get(0).getTemplateVariables()).containsEntry("name", "Ada");
+    }
+
+    @Test
+    void fluxRecipients_respectConcurrencyLimit() {
+        Flux<CampaignRecipient> recipients = Flux.range(0, 1000)
+                .map(i -> CampaignRecipient.builder().email("user" + i + "@example.com").build());
+
+        CampaignResult result = new CampaignEngine(emailService, CampaignSettings.builder().concurrency(16).build())
+                .run(campaign, RecipientSource.of(recipients))
+                .block();
+
+        assertThat(result.getSent()).isEqualTo(1000);
+        assertThat(sent).hasSize(1000);
+    }
+}
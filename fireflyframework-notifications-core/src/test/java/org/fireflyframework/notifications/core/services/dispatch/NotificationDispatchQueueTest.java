@@ -0,0 +1,102 @@
+package org.fireflyframework.notifications.core.services.dispatch;
+
+import org.fireflyframework.notifications.core.services.sms.v1.SMSService;
+import org.fireflyframework.notifications.interfaces.dtos.sms.v1.SMSRequestDTO;
+import org.fireflyframework.notifications.interfaces.dtos.sms.v1.SMSResponseDTO;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class NotificationDispatchQueueTest {
+
+    private final CountDownLatch release = new CountDownLatch(1);
+    private final CountDownLatch started = new CountDownLatch(1);
+    private final SMSService blockingService = request -> Mono.fromCallable(() -> {
+        started.countDown();
+        release.await();
+        return SMSResponseDTO.success("sms-" + request.getMessage());
+    });
+
+    @Test
+    void enqueue_returnsTicketCompletedByWorker() {
+        SMSService service = request -> Mono.just(SMSResponseDTO.success("sms-1"));
+        try (NotificationDispatchQueue queue = new NotificationDispatchQueue(
+                DispatchQueueSettings.builder().workers(2).build(), null, service, null)) {
+            DispatchTicket<SMSResponseDTO> ticket = queue.enqueue(sms("hi"));
+
+            SMSResponseDTO response = ticket.result().block(Duration.ofSeconds(5));
+
+            assertThat(response.getMessageId()).isEqualTo("sms-1");
+            assertThat(ticket.getStatus()).isEqualTo(DispatchTicket.Status.COMPLETED);
+        }
+    }
+
+    @Test
+    void slowProvider_keepsManySendsInFlightPerWorker() {
+        AtomicInteger active = new AtomicInteger();
+        AtomicInteger peak = new AtomicInteger();
+        SMSService slowService = request -> Mono.delay(Duration.ofMillis(200))
+                .doOnSubscribe(s -> peak.accumulateAndGet(active.incrementAndGet(), Math::max))
+                .doOnTerminate(active::decrementAndGet)
+                .thenReturn(SMSResponseDTO.success("sms-" + request.getMessage()));
+        try (NotificationDispatchQueue queue = new NotificationDispatchQueue(DispatchQueueSettings.builder()
+                .workers(1).maxInFlight(50).build(), null, slowService, null)) {
+            List<DispatchTicket<SMSResponseDTO>> tickets = new ArrayList<>();
+            for (int i = 0; i < 200; i++) {
+                tickets.add(queue.enqueue(sms(String.valueOf(i))));
+            }
+
+            long start = System.nanoTime();
+            for (DispatchTicket<SMSResponseDTO> ticket : tickets) {
+                assertThat(ticket.result().block(Duration.ofSeconds(10)).getStatus()).isEqualTo("SENT");
+            }
+
+            // One send at a time would take 40 seconds
+            assertThat(Duration.ofNanos(System.nanoTime() - start)).isLessThan(Duration.ofSeconds(5));
+            assertThat(peak.get()).isEqualTo(50);
+        }
+    }
+
+    @Test
+    void rejectPolicy_failsWhenFull() throws InterruptedException {
+        try (NotificationDispatchQueue queue = new NotificationDispatchQueue(DispatchQueueSettings.builder()
+                .capacity(2).workers(1).fullQueuePolicy(FullQueuePolicy.REJECT).build(), null, blockingService, null)) {
+            queue.enqueue(sms("0"));
+            started.await();
+            queue.enqueue(sms("1"));
+            queue.enqueue(sms("2"));
+
+            assertThatThrownBy(() -> queue.enqueue(sms("3"))).isInstanceOf(DispatchQueueFullException.class);
+            release.countDown();
+        }
+    }
+
+    @Test
+    void dropOldestPolicy_evictsOldestQueuedRequest() throws InterruptedException {
+        try (NotificationDispatchQueue queue = new NotificationDispatchQueue(DispatchQueueSettings.builder()
+                .capacity(2).workers(1).fullQueuePolicy(FullQueuePolicy.DROP_OLDEST).build(), null, blockingService, null)) {
+            queue.enqueue(sms("0"));
+            started.await();
+            List<DispatchTicket<SMSResponseDTO>> tickets = new ArrayList<>();
+            for (int i = 1; i <= 3; i++) {
+                tickets.add(queue.enqueue(sms(String.valueOf(i))));
+            }
+            release.countDown();
+
+            assertThat(tickets.get(0).getStatus()).isEqualTo(DispatchTicket.Status.DROPPED);
+            assertThat(tickets.get(2).result().block(Duration.ofSeconds(5)).getMessageId()).isEqualTo("sms-3");
+        }
+    }
+
+    private static SMSRequestDTO sms(String message) {
+        return SMSRequestDTO.builder().phoneNumber("+10000000000").message(message).build();
+    }
+}
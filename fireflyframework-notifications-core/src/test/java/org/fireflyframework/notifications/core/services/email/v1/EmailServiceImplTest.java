@@ -1,19 +1,35 @@
 package org.fireflyframework.notifications.core.services.email.v1;
 
+import org.fireflyframework.notifications.core.services.attachments.AttachmentStore;
+import org.fireflyframework.notifications.core.services.attachments.StoredAttachment;
+import org.fireflyframework.notifications.core.services.preferences.InMemoryNotificationPreferenceService;
+import org.fireflyframework.notifications.core.services.preferences.NotificationPreferenceService;
+import org.fireflyframework.notifications.interfaces.dtos.email.v1.EmailAttachmentDTO;
 import org.fireflyframework.notifications.interfaces.dtos.email.v1.EmailRequestDTO;
 import org.fireflyframework.notifications.interfaces.dtos.email.v1.EmailResponseDTO;
+import org.fireflyframework.notifications.interfaces.dtos.preferences.NotificationPreferenceDTO;
 import org.fireflyframework.notifications.interfaces.enums.EmailStatusEnum;
 import org.fireflyframework.notifications.interfaces.providers.email.v1.EmailProvider;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.test.context.ContextConfiguration;
 import org.springframework.test.context.junit.jupiter.SpringExtension;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
 @ExtendWith(SpringExtension.class)
 @ContextConfiguration(classes = {EmailServiceImpl.class, EmailServiceImplTest.TestBeans.class})
@@ -21,15 +37,35 @@ class EmailServiceImplTest {
 
     @Configuration
     static class TestBeans {
+        static final AtomicReference<EmailRequestDTO> lastRequest = new AtomicReference<>();
+
         @Bean
         EmailProvider emailProvider() {
-            return request -> Mono.just(EmailResponseDTO.success("test-message-id"));
+            return request -> {
+                lastRequest.set(request);
+                return Mono.just(EmailResponseDTO.success("test-message-id"));
+            };
+        }
+
+        @Bean
+        AttachmentStore attachmentStore() {
+            return new AttachmentStore(1024 * 1024);
+        }
+
+        @Bean
+        NotificationPreferenceService preferenceService() {
+            InMemoryNotificationPreferenceService preferences = new InMemoryNotificationPreferenceService();
+            preferences.updatePreferences("opted-out", NotificationPreferenceDTO.builder().emailEnabled(false).build()).block();
+            return preferences;
         }
     }
 
     @Autowired
     private EmailService emailService;
 
+    @Autowired
+    private AttachmentStore attachmentStore;
+
     @Test
     void sendEmail_returnsSuccess() {
         EmailRequestDTO req = EmailRequestDTO.builder()
@@ -44,4 +80,85 @@ class EmailServiceImplTest {
         assertThat(resp.getStatus()).isEqualTo(EmailStatusEnum.SENT);
         assertThat(resp.getMessageId()).isEqualTo("test-message-id");
     }
+
+    @Test
+    void sendEmails_returnsOneResponsePerRequest() {
+        Flux<EmailRequestDTO> requests = Flux.range(0, 25)
+                .map(i -> EmailRequestDTO.builder()
+                        .from("noreply@example.com")
+                        .to("user" + i + "@example.com")
+                        .subject("Statement")
+                        .text("Hi")
+                        .build());
+
+        List<EmailResponseDTO> responses = emailService.sendEmails(requests).collectList().block();
+        assertThat(responses).hasSize(25);
+        assertThat(responses).allMatch(resp -> resp.getStatus() == EmailStatusEnum.SENT);
+    }
+
+    @Test
+    void sendEmails_suppressesOptedOutUsers() {
+        Flux<EmailRequestDTO> requests = Flux.just("user-1", "opted-out", "user-2")
+                .map(userId -> EmailRequestDTO.builder()
+                        .from("noreply@example.com")
+                        .to(userId + "@example.com")
+                        .subject("Statement")
+                        .text("Hi")
+                        .userId(userId)
+                        .build());
+
+        List<EmailResponseDTO> responses = emailService.sendEmails(requests).collectList().block();
+        assertThat(responses).extracting(EmailResponseDTO::getStatus)
+                .containsExactly(EmailStatusEnum.SENT, EmailStatusEnum.SUPPRESSED, EmailStatusEnum.SENT);
+    }
+
+    @Test
+    void sendEmail_readsLazyAttachmentsForNonStreamingProvider(@TempDir Path directory) throws Exception {
+        Path statement = Files.writeString(directory.resolve("statement.pdf"), "file-content");
+        EmailRequestDTO req = EmailRequestDTO.builder()
+                .from("noreply@example.com")
+                .to("user@example.com")
+                .subject("Statement")
+                .text("Attached")
+                .build();
+        req.addAttachment(EmailAttachmentDTO.ofFile(statement, "application/pdf"));
+        req.addAttachment(EmailAttachmentDTO.builder()
+                .filename("terms.txt")
+                .buffer(ByteBuffer.wrap("buffer-content".getBytes(StandardCharsets.UTF_8)))
+                .build());
+
+        EmailResponseDTO resp = emailService.sendEmail(req).block();
+
+        assertThat(resp.getStatus()).isEqualTo(EmailStatusEnum.SENT);
+        List<EmailAttachmentDTO> sent = TestBeans.lastRequest.get().getAttachments();
+        assertThat(sent).extracting(EmailAttachmentDTO::getFilename).containsExactly("statement.pdf", "terms.txt");
+        assertThat(new String(sent.get(0).getContent(), StandardCharsets.UTF_8)).isEqualTo("file-content");
+        assertThat(new String(sent.get(1).getContent(), StandardCharsets.UTF_8)).isEqualTo("buffer-content");
+        assertThat(req.getAttachments()).noneMatch(EmailAttachmentDTO::isInMemory);
+    }
+
+    @Test
+    void sendEmail_resolvesStoredAttachmentReferences() {
+        StoredAttachment terms = attachmentStore.put("terms".getBytes(StandardCharsets.UTF_8), "application/pdf");
+        EmailRequestDTO req = EmailRequestDTO.builder()
+                .from("noreply@example.com")
+                .to("user@example.com")
+                .subject("Welcome")
+                .text("Attached")
+                .build();
+        req.addAttachment(terms.reference("terms.pdf"));
+
+        EmailResponseDTO resp = emailService.sendEmail(req).block();
+
+        assertThat(resp.getStatus()).isEqualTo(EmailStatusEnum.SENT);
+        EmailAttachmentDTO sent = TestBeans.lastRequest.get().getAttachments().get(0);
+        assertThat(new String(sent.getContent(), StandardCharsets.UTF_8)).isEqualTo("terms");
+        assertThat(sent.getEncodedContent()).isEqualTo(terms.base64());
+        assertThat(attachmentStore.getStoredBytes()).isEqualTo(5 + 8 + 5);
+
+        emailService.sendEmail(req).block();
+        assertThat(TestBeans.lastRequest.get().getAttachments().get(0).getContent()).isSameAs(sent.getContent());
+        attachmentStore.release(terms);
+        assertThatThrownBy(() -> attachmentStore.release(terms)).isInstanceOf(IllegalStateException.class);
+    }
 }
@@ -0,0 +1,99 @@
+package org.fireflyframework.notifications.core.services.hedging;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RequestHedgerTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final Counter fired = registry.counter("fired");
+    private final Counter won = registry.counter("won");
+    private final Counter exhausted = registry.counter("exhausted");
+
+    @Test
+    void slowPrimary_isHedgedAndCancelled() {
+        RequestHedger hedger = new RequestHedger(HedgingSettings.builder()
+                .initialDelay(Duration.ofMillis(20))
+                .build(), fired, won, exhausted);
+        AtomicBoolean primaryCancelled = new AtomicBoolean();
+
+        String result = hedger.hedge(
+                        () -> Mono.just("primary").delayElement(Duration.ofSeconds(5))
+                                .doOnCancel(() -> primaryCancelled.set(true)),
+                        () -> Mono.just("hedge"))
+                .block(Duration.ofSeconds(2));
+
+        assertThat(result).isEqualTo("hedge");
+        assertThat(primaryCancelled).isTrue();
+        assertThat(fired.count()).isEqualTo(1);
+        assertThat(won.count()).isEqualTo(1);
+    }
+
+    @Test
+    void fastPrimary_isNotHedged() {
+        RequestHedger hedger = new RequestHedger(HedgingSettings.builder()
+                .initialDelay(Duration.ofMillis(200))
+                .build(), fired, won, exhausted);
+
+        String result = hedger.hedge(() -> Mono.just("primary"), () -> Mono.just("hedge")).block();
+
+        assertThat(result).isEqualTo("primary");
+        assertThat(fired.count()).isZero();
+    }
+
+    @Test
+    void consistentlySlowPrimary_keepsTheDelayUp() {
+        RequestHedger hedger = new RequestHedger(HedgingSettings.builder()
+                .initialDelay(Duration.ofMillis(20))
+                .minDelay(Duration.ofMillis(1))
+                .budgetPercent(100)
+                .sampleWindow(100)
+                .build(), fired, won, exhausted);
+
+        Flux.range(0, 200)
+                .flatMap(i -> hedger.hedge(() -> Mono.just("primary").delayElement(Duration.ofMillis(200)),
+                        () -> Mono.just("hedge")), 8)
+                .blockLast(Duration.ofSeconds(10));
+
+        assertThat(won.count()).isGreaterThanOrEqualTo(100);
+        assertThat(hedger.getDelay()).isBetween(Duration.ofMillis(20), Duration.ofMillis(200));
+    }
+
+    @Test
+    void sendsCancelledBeforeTheDelay_areNotSampled() {
+        RequestHedger hedger = new RequestHedger(HedgingSettings.builder()
+                .initialDelay(Duration.ofMillis(250))
+                .sampleWindow(100)
+                .build(), fired, won, exhausted);
+
+        for (int i = 0; i < 200; i++) {
+            hedger.hedge(Mono::<String>never, Mono::<String>never).subscribe().dispose();
+        }
+
+        assertThat(hedger.getDelay()).isEqualTo(Duration.ofMillis(250));
+    }
+
+    @Test
+    void exhaustedBudget_skipsHedge() {
+        RequestHedger hedger = new RequestHedger(HedgingSettings.builder()
+                .initialDelay(Duration.ofMillis(1))
+                .budgetPercent(0)
+                .build(), fired, won, exhausted);
+
+        for (int i = 0; i < 11; i++) {
+            hedger.hedge(() -> Mono.just("primary").delayElement(Duration.ofMillis(30)),
+                    () -> Mono.<String>never()).block();
+        }
+
+        assertThat(fired.count()).isEqualTo(10);
+        assertThat(exhausted.count()).isEqualTo(1);
+    }
+}
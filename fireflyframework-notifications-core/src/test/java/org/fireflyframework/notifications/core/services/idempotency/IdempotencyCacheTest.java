@@ -0,0 +1,56 @@
+package org.fireflyframework.notifications.core.services.idempotency;
+
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class IdempotencyCacheTest {
+
+    private final IdempotencyCache cache = new IdempotencyCache(Duration.ofMinutes(5), 1_000);
+    private final AtomicInteger calls = new AtomicInteger();
+
+    @Test
+    void repeatOfCompletedSend_returnsOriginalResponse() {
+        String first = cache.execute("sms", "otp-1", this::send, ok -> true).block();
+        String second = cache.execute("sms", "otp-1", this::send, ok -> true).block();
+
+        assertThat(second).isEqualTo(first);
+        assertThat(calls).hasValue(1);
+    }
+
+    @Test
+    void repeatOfInFlightSend_joinsPendingResult() {
+        Sinks.One<String> provider = Sinks.one();
+        Mono<String> first = cache.execute("sms", "otp-1", () -> {
+            calls.incrementAndGet();
+            return provider.asMono();
+        }, ok -> true);
+        Mono<String> second = cache.execute("sms", "otp-1", this::send, ok -> true);
+
+        first.subscribe();
+        Mono<String> joined = second.cache();
+        joined.subscribe();
+        provider.tryEmitValue("sent-once");
+
+        assertThat(joined.block(Duration.ofSeconds(1))).isEqualTo("sent-once");
+        assertThat(calls).hasValue(1);
+    }
+
+    @Test
+    void failedSends_areNotRemembered() {
+        cache.execute("sms", "otp-1", this::send, ok -> false).block();
+        cache.execute("sms", "otp-1", this::send, ok -> false).block();
+        cache.execute("email", "otp-1", this::send, ok -> true).block();
+
+        assertThat(calls).hasValue(3);
+    }
+
+    private Mono<String> send() {
+        return Mono.fromSupplier(() -> "sent-" + calls.incrementAndGet());
+    }
+}
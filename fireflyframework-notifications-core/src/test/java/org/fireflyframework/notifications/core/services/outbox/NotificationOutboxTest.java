@@ -0,0 +1,153 @@
+package org.fireflyframework.notifications.core.services.outbox;
+
+import org.fireflyframework.notifications.core.services.sms.v1.SMSService;
+import org.fireflyframework.notifications.interfaces.dtos.email.v1.EmailAttachmentDTO;
+import org.fireflyframework.notifications.interfaces.dtos.email.v1.EmailRequestDTO;
+import org.fireflyframework.notifications.interfaces.dtos.email.v1.EmailTemplateRequestDTO;
+import org.fireflyframework.notifications.interfaces.dtos.sms.v1.SMSRequestDTO;
+import org.fireflyframework.notifications.interfaces.dtos.sms.v1.SMSResponseDTO;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class NotificationOutboxTest {
+
+    @TempDir
+    Path directory;
+
+    private final List<SMSRequestDTO> sent = new CopyOnWriteArrayList<>();
+    private final SMSService smsService = request -> {
+        sent.add(request);
+        return Mono.just(SMSResponseDTO.success("sms-1"));
+    };
+
+    @Test
+    void submittedRequest_isDispatchedAndAcknowledged() {
+        OutboxSettings settings = OutboxSettings.builder().directory(directory).build();
+        try (NotificationOutbox outbox = new NotificationOutbox(settings, null, smsService, null)) {
+            Long offset = outbox.submit(SMSRequestDTO.builder().phoneNumber("+10000000000").message("Hi").build()).block();
+
+            assertThat(offset).isNotNull();
+            awaitDrained(outbox);
+            assertThat(sent).extracting(SMSRequestDTO::getMessage).containsExactly("Hi");
+        }
+    }
+
+    @Test
+    void unacknowledgedRecords_areDispatchedOnRestart() {
+        SMSRequestDTO request = SMSRequestDTO.builder().phoneNumber("+10000000000").message("Replay me").build();
+        try (OutboxLog log = new OutboxLog(directory, 1024 * 1024, true)) {
+            log.append(OutboxCodec.SMS, OutboxCodec.encode(request)).block();
+        }
+
+        OutboxSettings settings = OutboxSettings.builder().directory(directory).build();
+        try (NotificationOutbox outbox = new NotificationOutbox(settings, null, smsService, null)) {
+            awaitDrained(outbox);
+            assertThat(sent).containsExactly(request);
+        }
+    }
+
+    @Test
+    void failedResponses_areRetriedUntilTheProviderAccepts() {
+        AtomicInteger attempts = new AtomicInteger();
+        SMSService flaky = request -> Mono.fromSupplier(() -> attempts.incrementAndGet() <= 2
+                ? SMSResponseDTO.error("Provider unavailable")
+                : SMSResponseDTO.success("sms-1"));
+        OutboxSettings settings = OutboxSettings.builder().directory(directory).retryBackoff(Duration.ofMillis(10)).build();
+        try (NotificationOutbox outbox = new NotificationOutbox(settings, null, flaky, null)) {
+            outbox.submit(SMSRequestDTO.builder().phoneNumber("+10000000000").message("Hi").build()).block();
+
+            awaitDrained(outbox);
+            assertThat(attempts).hasValue(3);
+        }
+    }
+
+    @Test
+    void exhaustedRecords_stayInTheLogForTheNextStart() throws InterruptedException {
+        CountDownLatch attempts = new CountDownLatch(2);
+        SMSService failing = request -> Mono.fromSupplier(() -> {
+            attempts.countDown();
+            return SMSResponseDTO.error("Provider unavailable");
+        });
+        SMSRequestDTO request = SMSRequestDTO.builder().phoneNumber("+10000000000").message("Hi").build();
+        OutboxSettings settings = OutboxSettings.builder()
+                .directory(directory)
+                .maxAttempts(2)
+                .retryBackoff(Duration.ofMillis(10))
+                .build();
+        try (NotificationOutbox outbox = new NotificationOutbox(settings, null, failing, null)) {
+            outbox.submit(request).block();
+
+            assertThat(attempts.await(5, TimeUnit.SECONDS)).isTrue();
+            Thread.sleep(100);
+            assertThat(outbox.getPendingCount()).isEqualTo(1);
+        }
+
+        try (NotificationOutbox outbox = new NotificationOutbox(settings, null, smsService, null)) {
+            awaitDrained(outbox);
+            assertThat(sent).containsExactly(request);
+        }
+    }
+
+    @Test
+    void codec_roundTripsTemplateRequests() {
+        EmailTemplateRequestDTO request = EmailTemplateRequestDTO.builder()
+                .templateId("welcome")
+                .templateVariables(Map.of("name", "Ada", "count", 3, "items", List.of("a", "b"), "vip", true))
+                .from("noreply@example.com")
+                .to("ada@example.com")
+                .subject("Welcome")
+                .locale(Locale.CANADA_FRENCH)
+                .build();
+
+        Object decoded = OutboxCodec.decode(OutboxCodec.EMAIL_TEMPLATE, OutboxCodec.encode(request));
+
+        assertThat(decoded).isEqualTo(request);
+    }
+
+    @Test
+    void codec_storesFileAttachmentsByPath() {
+        EmailRequestDTO request = EmailRequestDTO.builder()
+                .from("noreply@example.com")
+                .to("ada@example.com")
+                .subject("Statement")
+                .build();
+        request.addAttachment(EmailAttachmentDTO.ofFile(Path.of("/var/statements/ada.pdf"), "application/pdf"));
+
+        EmailRequestDTO decoded = (EmailRequestDTO) OutboxCodec.decode(OutboxCodec.EMAIL, OutboxCodec.encode(request));
+
+        assertThat(decoded.getAttachments()).containsExactlyElementsOf(request.getAttachments());
+    }
+
+    @Test
+    void codec_rejectsStreamedAttachments() {
+        EmailRequestDTO request = EmailRequestDTO.builder().to("ada@example.com").build();
+        request.addAttachment(EmailAttachmentDTO.builder()
+                .filename("report.csv")
+                .contentStream(Flux.empty())
+                .build());
+
+        assertThatThrownBy(() -> OutboxCodec.encode(request)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private static void awaitDrained(NotificationOutbox outbox) {
+        Mono.fromSupplier(outbox::getPendingCount)
+                .filter(pending -> pending == 0)
+                .repeatWhenEmpty(attempts -> attempts.delayElements(Duration.ofMillis(10)))
+                .block(Duration.ofSeconds(5));
+    }
+}
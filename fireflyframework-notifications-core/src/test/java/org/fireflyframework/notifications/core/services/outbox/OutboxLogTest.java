@@ -0,0 +1,79 @@
+package org.fireflyframework.notifications.core.services.outbox;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class OutboxLogTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void unacknowledgedRecords_areRecoveredOnReopen() {
+        try (OutboxLog log = new OutboxLog(directory, 4096, true)) {
+            OutboxRecord first = log.append((byte) 1, bytes("first")).block();
+            log.append((byte) 2, bytes("second")).block();
+            log.ack(first);
+        }
+
+        try (OutboxLog log = new OutboxLog(directory, 4096, true)) {
+            List<OutboxRecord> recovered = log.recoveredRecords();
+            assertThat(recovered).hasSize(1);
+            assertThat(recovered.get(0).getType()).isEqualTo((byte) 2);
+            assertThat(new String(log.read(recovered.get(0)), StandardCharsets.UTF_8)).isEqualTo("second");
+        }
+    }
+
+    @Test
+    void durableAppends_completeOffTheCommitterThread() {
+        try (OutboxLog log = new OutboxLog(directory, 4096, true)) {
+            String thread = log.append((byte) 1, bytes("first"))
+                    .map(record -> Thread.currentThread().getName())
+                    .block();
+
+            assertThat(thread).isNotEqualTo("notification-outbox-commit");
+        }
+    }
+
+    @Test
+    void fullyAcknowledgedSegments_areDeleted() {
+        try (OutboxLog log = new OutboxLog(directory, 64, false)) {
+            OutboxRecord first = log.append((byte) 1, new byte[40]).block();
+            log.append((byte) 1, new byte[40]).block();
+            assertThat(log.getSegmentCount()).isEqualTo(2);
+
+            log.ack(first);
+
+            assertThat(log.getSegmentCount()).isEqualTo(1);
+        }
+    }
+
+    @Test
+    void compaction_movesLiveRecordsForward() {
+        try (OutboxLog log = new OutboxLog(directory, 128, false)) {
+            OutboxRecord live = log.append((byte) 1, bytes("keep")).block();
+            for (int i = 0; i < 3; i++) {
+                log.ack(log.append((byte) 1, new byte[30]).block());
+            }
+            log.append((byte) 1, new byte[100]).block();
+            long before = live.getOffset();
+
+            log.compact(0.5);
+
+            assertThat(live.getOffset()).isGreaterThan(before);
+            assertThat(log.getSegmentCount()).isEqualTo(1);
+            assertThat(new String(log.read(live), StandardCharsets.UTF_8)).isEqualTo("keep");
+            assertThat(log.getLiveCount()).isEqualTo(2);
+        }
+    }
+
+    private static byte[] bytes(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,65 @@
+package org.fireflyframework.notifications.core.services.preferences;
+
+import org.fireflyframework.notifications.interfaces.dtos.preferences.NotificationPreferenceDTO;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CachingNotificationPreferenceServiceTest {
+
+    private final AtomicInteger loads = new AtomicInteger();
+    private final AtomicInteger multiGets = new AtomicInteger();
+    private final InMemoryNotificationPreferenceService store = new InMemoryNotificationPreferenceService() {
+        @Override
+        public Mono<NotificationPreferenceDTO> getPreferences(String userId) {
+            loads.incrementAndGet();
+            return super.getPreferences(userId);
+        }
+
+        @Override
+        public Mono<Map<String, NotificationPreferenceDTO>> getPreferences(Collection<String> userIds) {
+            multiGets.incrementAndGet();
+            return super.getPreferences(userIds);
+        }
+    };
+    private final CachingNotificationPreferenceService cache = new CachingNotificationPreferenceService(
+            store, 1_000, Duration.ofMinutes(5), Duration.ofMinutes(1));
+
+    @Test
+    void repeatedLookups_hitTheStoreOnce() {
+        for (int i = 0; i < 3; i++) {
+            assertThat(cache.isChannelEnabled("user-1", "email").block()).isTrue();
+        }
+
+        assertThat(loads).hasValue(1);
+    }
+
+    @Test
+    void update_replacesCachedEntry() {
+        cache.getPreferences("user-1").block();
+
+        cache.updatePreferences("user-1", NotificationPreferenceDTO.builder().emailEnabled(false).build()).block();
+
+        assertThat(cache.isChannelEnabled("user-1", "email").block()).isFalse();
+        assertThat(loads).hasValue(1);
+    }
+
+    @Test
+    void multiGet_loadsOnlyMissingUsersInOneCall() {
+        cache.getPreferences("user-1").block();
+
+        Map<String, NotificationPreferenceDTO> preferences = cache.getPreferences(List.of("user-1", "user-2", "user-3")).block();
+
+        assertThat(preferences).containsOnlyKeys("user-1", "user-2", "user-3");
+        assertThat(multiGets).hasValue(1);
+        assertThat(cache.getPreferences(List.of("user-2", "user-3")).block()).hasSize(2);
+        assertThat(multiGets).hasValue(1);
+    }
+}
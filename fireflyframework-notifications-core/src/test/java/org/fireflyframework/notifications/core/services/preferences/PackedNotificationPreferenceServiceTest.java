@@ -0,0 +1,67 @@
+package org.fireflyframework.notifications.core.services.preferences;
+
+import org.fireflyframework.notifications.interfaces.dtos.preferences.NotificationPreferenceDTO;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Flux;
+
+import java.util.BitSet;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PackedNotificationPreferenceServiceTest {
+
+    private final PackedNotificationPreferenceService service = new PackedNotificationPreferenceService(16);
+
+    @Test
+    void unknownUser_hasEveryChannelEnabled() {
+        assertThat(service.isEnabled("nobody", "email")).isTrue();
+        assertThat(service.isEnabled("nobody", "whatsapp")).isTrue();
+        assertThat(service.getPreferences("nobody").block().getChannels()).isEmpty();
+    }
+
+    @Test
+    void overridesTakePrecedenceOverToggles() {
+        service.updatePreferences("user-1", NotificationPreferenceDTO.builder()
+                .smsEnabled(false)
+                .channels(Map.of("email", false, "whatsapp", true))
+                .build()).block();
+
+        assertThat(service.isChannelEnabled("user-1", "SMS").block()).isFalse();
+        assertThat(service.isChannelEnabled("user-1", "email").block()).isFalse();
+        assertThat(service.isChannelEnabled("user-1", "push").block()).isTrue();
+        assertThat(service.isChannelEnabled("user-1", "whatsapp").block()).isTrue();
+
+        NotificationPreferenceDTO stored = service.getPreferences("user-1").block();
+        assertThat(stored.isSmsEnabled()).isFalse();
+        assertThat(stored.getChannels()).containsExactlyInAnyOrderEntriesOf(Map.of("email", false, "whatsapp", true));
+    }
+
+    @Test
+    void storesManyUsersAcrossResizes() {
+        for (int i = 0; i < 50_000; i++) {
+            service.updatePreferences("user-" + i, NotificationPreferenceDTO.builder()
+                    .pushEnabled(i % 2 == 0)
+                    .build()).block();
+        }
+
+        assertThat(service.size()).isEqualTo(50_000);
+        for (int i = 0; i < 50_000; i++) {
+            assertThat(service.isEnabled("user-" + i, "push")).isEqualTo(i % 2 == 0);
+        }
+    }
+
+    @Test
+    void batchLookup_returnsBitmapInInputOrder() {
+        service.updatePreferences("opted-out", NotificationPreferenceDTO.builder().emailEnabled(false).build()).block();
+
+        BitSet enabled = service.isChannelEnabledBatch(List.of("a", "opted-out", "b"), "email").block();
+
+        assertThat(enabled.get(0)).isTrue();
+        assertThat(enabled.get(1)).isFalse();
+        assertThat(enabled.get(2)).isTrue();
+        assertThat(service.isChannelEnabledBatch(Flux.just("opted-out", "a"), "email").collectList().block())
+                .containsExactly(Map.entry("opted-out", false), Map.entry("a", true));
+    }
+}
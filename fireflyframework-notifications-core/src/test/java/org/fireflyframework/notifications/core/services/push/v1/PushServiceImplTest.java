@@ -1,7 +1,13 @@
 package org.fireflyframework.notifications.core.services.push.v1;
 
+import org.fireflyframework.notifications.core.services.preferences.InMemoryNotificationPreferenceService;
+import org.fireflyframework.notifications.core.services.preferences.NotificationPreferenceService;
+import org.fireflyframework.notifications.interfaces.dtos.preferences.NotificationPreferenceDTO;
+import org.fireflyframework.notifications.interfaces.dtos.push.v1.PushMulticastRequest;
+import org.fireflyframework.notifications.interfaces.dtos.push.v1.PushMulticastResponse;
 import org.fireflyframework.notifications.interfaces.dtos.push.v1.PushNotificationRequest;
 import org.fireflyframework.notifications.interfaces.dtos.push.v1.PushNotificationResponse;
+import org.fireflyframework.notifications.interfaces.dtos.push.v1.PushPayload;
 import org.fireflyframework.notifications.interfaces.providers.push.v1.PushProvider;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -12,7 +18,11 @@ import org.springframework.test.context.ContextConfiguration;
 import org.springframework.test.context.junit.jupiter.SpringExtension;
 import reactor.core.publisher.Mono;
 
+import java.util.List;
+import java.util.Map;
+
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
 
 @ExtendWith(SpringExtension.class)
 @ContextConfiguration(classes = {PushServiceImpl.class, PushServiceImplTest.TestBeans.class})
@@ -27,6 +37,13 @@ class PushServiceImplTest {
                     .success(true)
                     .build());
         }
+
+        @Bean
+        NotificationPreferenceService preferenceService() {
+            InMemoryNotificationPreferenceService preferences = new InMemoryNotificationPreferenceService();
+            preferences.updatePreferences("opted-out", NotificationPreferenceDTO.builder().pushEnabled(false).build()).block();
+            return preferences;
+        }
     }
 
     @Autowired
@@ -45,4 +62,41 @@ class PushServiceImplTest {
         assertThat(resp.isSuccess()).isTrue();
         assertThat(resp.getMessageId()).isEqualTo("push-1");
     }
+
+    @Test
+    void sendMulticast_returnsOneResultPerToken() {
+        PushMulticastRequest req = PushMulticastRequest.builder()
+                .payload(PushPayload.builder()
+                        .title("Hello")
+                        .body("World")
+                        .build())
+                .tokens(List.of("token-a", "token-b", "token-c"))
+                .build();
+
+        PushMulticastResponse resp = pushService.sendMulticast(req).block();
+        assertThat(resp).isNotNull();
+        assertThat(resp.getSuccessCount()).isEqualTo(3);
+        assertThat(resp.getFailureCount()).isZero();
+        assertThat(resp.getResponses())
+                .extracting(PushNotificationResponse::getToken)
+                .containsExactly("token-a", "token-b", "token-c");
+    }
+
+    @Test
+    void sendMulticast_skipsTokensOfOptedOutUsers() {
+        PushMulticastRequest req = PushMulticastRequest.builder()
+                .payload(PushPayload.builder()
+                        .title("Hello")
+                        .body("World")
+                        .build())
+                .tokens(List.of("token-a", "token-b", "token-c"))
+                .userIds(Map.of("token-a", "subscribed", "token-b", "opted-out"))
+                .build();
+
+        PushMulticastResponse resp = pushService.sendMulticast(req).block();
+        assertThat(resp).isNotNull();
+        assertThat(resp.getResponses())
+                .extracting(PushNotificationResponse::getToken, PushNotificationResponse::isSuppressed)
+                .containsExactly(tuple("token-a", false), tuple("token-b", true), tuple("token-c", false));
+    }
 }
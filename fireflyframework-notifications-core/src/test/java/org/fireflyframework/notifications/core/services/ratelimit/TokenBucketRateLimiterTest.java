@@ -0,0 +1,56 @@
+package org.fireflyframework.notifications.core.services.ratelimit;
+
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Flux;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TokenBucketRateLimiterTest {
+
+    @Test
+    void burstIsGrantedImmediately_thenRejected() {
+        TokenBucketRateLimiter limiter = new TokenBucketRateLimiter("sms/test", RateLimitSettings.builder()
+                .permitsPerSecond(1)
+                .burst(3)
+                .policy(RateLimitPolicy.REJECT)
+                .build());
+
+        StepVerifier.create(Flux.range(0, 3).concatMap(i -> limiter.acquire(1))).verifyComplete();
+        StepVerifier.create(limiter.acquire(1)).verifyError(RateLimitExceededException.class);
+        assertThat(limiter.getAvailablePermits()).isLessThan(1);
+    }
+
+    @Test
+    void waitPolicy_delaysSendsToTheSustainedRate() {
+        TokenBucketRateLimiter limiter = new TokenBucketRateLimiter("push/test", RateLimitSettings.builder()
+                .permitsPerSecond(50)
+                .burst(1)
+                .build());
+
+        long start = System.nanoTime();
+        StepVerifier.create(Flux.range(0, 6).concatMap(i -> limiter.acquire(1))).verifyComplete();
+        assertThat(Duration.ofNanos(System.nanoTime() - start)).isGreaterThanOrEqualTo(Duration.ofMillis(90));
+    }
+
+    @Test
+    void cancelledWaits_refundTheirPermits() {
+        TokenBucketRateLimiter limiter = new TokenBucketRateLimiter("sms/test", RateLimitSettings.builder()
+                .permitsPerSecond(1)
+                .burst(1)
+                .maxWait(Duration.ofMillis(1500))
+                .build());
+        List<Throwable> errors = new CopyOnWriteArrayList<>();
+
+        limiter.acquire(1).block();
+        for (int i = 0; i < 3; i++) {
+            limiter.acquire(1).subscribe(null, errors::add).dispose();
+        }
+
+        assertThat(errors).isEmpty();
+    }
+}
@@ -0,0 +1,140 @@
+package org.fireflyframework.notifications.core.services.scheduling;
+
+import org.fireflyframework.notifications.core.services.sms.v1.SMSService;
+import org.fireflyframework.notifications.interfaces.dtos.sms.v1.SMSRequestDTO;
+import org.fireflyframework.notifications.interfaces.dtos.sms.v1.SMSResponseDTO;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import reactor.core.publisher.Mono;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class NotificationSchedulerTest {
+
+    @TempDir
+    Path directory;
+
+    private final List<SMSRequestDTO> sent = new CopyOnWriteArrayList<>();
+    private final SMSService smsService = request -> {
+        sent.add(request);
+        return Mono.just(SMSResponseDTO.success("sms-1"));
+    };
+
+    @Test
+    void timingWheel_expiresEveryEntryOnItsTick() {
+        long tick = 10;
+        TimingWheel<Integer> wheel = new TimingWheel<>(tick, 8, 0);
+        Random random = new Random(42);
+        List<Long> deadlines = new ArrayList<>();
+        Map<Integer, TimingWheel.Node<Integer>> scheduled = new HashMap<>();
+        List<Integer> removed = new ArrayList<>();
+        List<Integer> expired = new ArrayList<>();
+
+        for (long now = 0; now <= 2_000_000; now += tick) {
+            if (now <= 1_000_000 && random.nextInt(4) == 0) {
+                deadlines.add(now + (long) Math.pow(10, random.nextDouble() * 6));
+                int entry = deadlines.size() - 1;
+                scheduled.put(entry, wheel.add(entry, deadlines.get(entry)));
+            }
+            if (random.nextInt(50) == 0 && !scheduled.isEmpty()) {
+                int entry = scheduled.keySet().iterator().next();
+                wheel.remove(scheduled.remove(entry));
+                removed.add(entry);
+            }
+            long currentTime = now;
+            wheel.advance(now, entry -> {
+                assertThat(deadlines.get(entry)).isLessThanOrEqualTo(currentTime).isGreaterThan(currentTime - tick);
+                assertThat(scheduled.remove(entry)).isNotNull();
+                expired.add(entry);
+            });
+        }
+
+        assertThat(scheduled).isEmpty();
+        assertThat(wheel.size()).isZero();
+        assertThat(expired).hasSize(deadlines.size() - removed.size()).doesNotContainAnyElementsOf(removed);
+    }
+
+    @Test
+    void scheduledSend_firesAtItsTimeUnlessCancelled() {
+        SchedulerSettings settings = SchedulerSettings.builder().tick(Duration.ofMillis(10)).build();
+        try (NotificationScheduler scheduler = new NotificationScheduler(settings, null, smsService, null)) {
+            Instant sendAt = Instant.now().plusMillis(200);
+            scheduler.schedule(sms("Reminder"), sendAt).block();
+            Long cancelled = scheduler.schedule(sms("Cancelled"), sendAt).block();
+
+            assertThat(scheduler.cancel(cancelled)).isTrue();
+            assertThat(scheduler.cancel(cancelled)).isFalse();
+            awaitSent(1);
+
+            assertThat(Instant.now()).isAfterOrEqualTo(sendAt);
+            assertThat(sent).extracting(SMSRequestDTO::getMessage).containsExactly("Reminder");
+            assertThat(scheduler.getPendingCount()).isZero();
+        }
+    }
+
+    @Test
+    void persistedSchedule_survivesRestart() {
+        SchedulerSettings settings = SchedulerSettings.builder()
+                .tick(Duration.ofMillis(10))
+                .directory(directory)
+                .segmentSize(1024 * 1024)
+                .build();
+        Long cancelled;
+        try (NotificationScheduler scheduler = new NotificationScheduler(settings, null, smsService, null)) {
+            scheduler.schedule(sms("Later"), Instant.now().plusMillis(300)).block();
+            cancelled = scheduler.schedule(sms("Cancelled"), Instant.now().plusMillis(300)).block();
+            scheduler.cancel(cancelled);
+        }
+
+        try (NotificationScheduler scheduler = new NotificationScheduler(settings, null, smsService, null)) {
+            assertThat(scheduler.getPendingCount()).isEqualTo(1);
+            assertThat(scheduler.schedule(sms("New"), Instant.now().plusSeconds(60)).block()).isGreaterThan(cancelled);
+            awaitSent(1);
+            assertThat(sent).extracting(SMSRequestDTO::getMessage).containsExactly("Later");
+        }
+    }
+
+    @Test
+    void failedSends_areRetried() {
+        AtomicInteger attempts = new AtomicInteger();
+        SMSService flaky = request -> Mono.fromSupplier(() -> {
+            if (attempts.incrementAndGet() == 1) {
+                return SMSResponseDTO.error("Provider unavailable");
+            }
+            sent.add(request);
+            return SMSResponseDTO.success("sms-1");
+        });
+        SchedulerSettings settings = SchedulerSettings.builder()
+                .tick(Duration.ofMillis(10))
+                .retryBackoff(Duration.ofMillis(10))
+                .build();
+        try (NotificationScheduler scheduler = new NotificationScheduler(settings, null, flaky, null)) {
+            scheduler.schedule(sms("Reminder"), Instant.now()).block();
+
+            awaitSent(1);
+            assertThat(attempts).hasValue(2);
+        }
+    }
+
+    private static SMSRequestDTO sms(String message) {
+        return SMSRequestDTO.builder().phoneNumber("+10000000000").message(message).build();
+    }
+
+    private void awaitSent(int count) {
+        Mono.fromSupplier(sent::size)
+                .filter(size -> size >= count)
+                .repeatWhenEmpty(attempts -> attempts.delayElements(Duration.ofMillis(10)))
+                .block(Duration.ofSeconds(5));
+    }
+}
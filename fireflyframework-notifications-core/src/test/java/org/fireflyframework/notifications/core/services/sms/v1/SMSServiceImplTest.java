@@ -1,5 +1,8 @@
 package org.fireflyframework.notifications.core.services.sms.v1;
 
+import org.fireflyframework.notifications.core.services.preferences.InMemoryNotificationPreferenceService;
+import org.fireflyframework.notifications.core.services.preferences.NotificationPreferenceService;
+import org.fireflyframework.notifications.interfaces.dtos.preferences.NotificationPreferenceDTO;
 import org.fireflyframework.notifications.interfaces.dtos.sms.v1.SMSRequestDTO;
 import org.fireflyframework.notifications.interfaces.dtos.sms.v1.SMSResponseDTO;
 import org.fireflyframework.notifications.interfaces.providers.sms.v1.SMSProvider;
@@ -10,8 +13,13 @@ import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.test.context.ContextConfiguration;
 import org.springframework.test.context.junit.jupiter.SpringExtension;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
 import static org.assertj.core.api.Assertions.assertThat;
 
 @ExtendWith(SpringExtension.class)
@@ -20,9 +28,21 @@ class SMSServiceImplTest {
 
     @Configuration
     static class TestBeans {
+        static final AtomicInteger providerCalls = new AtomicInteger();
+
         @Bean
         SMSProvider smsProvider() {
-            return request -> Mono.just(SMSResponseDTO.success("sms-123"));
+            return request -> {
+                providerCalls.incrementAndGet();
+                return Mono.just(SMSResponseDTO.success("sms-123"));
+            };
+        }
+
+        @Bean
+        NotificationPreferenceService preferenceService() {
+            InMemoryNotificationPreferenceService preferences = new InMemoryNotificationPreferenceService();
+            preferences.updatePreferences("opted-out", NotificationPreferenceDTO.builder().smsEnabled(false).build()).block();
+            return preferences;
         }
     }
 
@@ -41,4 +61,34 @@ class SMSServiceImplTest {
         assertThat(resp.getStatus()).isEqualTo("SENT");
         assertThat(resp.getMessageId()).isEqualTo("sms-123");
     }
+
+    @Test
+    void sendSMS_neverCallsProviderForOptedOutUser() {
+        SMSRequestDTO req = SMSRequestDTO.builder()
+                .phoneNumber("+10000000000")
+                .message("Hello")
+                .userId("opted-out")
+                .build();
+        int callsBefore = TestBeans.providerCalls.get();
+
+        SMSResponseDTO resp = smsService.sendSMS(req).block();
+
+        assertThat(resp.getStatus()).isEqualTo("SUPPRESSED");
+        assertThat(TestBeans.providerCalls.get()).isEqualTo(callsBefore);
+    }
+
+    @Test
+    void sendSMSBatch_returnsOneResponsePerMessage() {
+        Flux<SMSRequestDTO> requests = Flux.range(0, 10)
+                .map(i -> SMSRequestDTO.builder()
+                        .phoneNumber("+1000000000" + i)
+                        .message("Code " + i)
+                        .build());
+
+        List<SMSResponseDTO> responses = smsService.sendSMSBatch(requests, Duration.ofMillis(10))
+                .collectList()
+                .block();
+        assertThat(responses).hasSize(10);
+        assertThat(responses).allMatch(resp -> "SENT".equals(resp.getStatus()));
+    }
 }
@@ -0,0 +1,66 @@
+package org.fireflyframework.notifications.core.services.template;
+
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CachingNotificationTemplateEngineTest {
+
+    private final AtomicInteger renders = new AtomicInteger();
+
+    private final NotificationTemplateEngine delegate = (templateId, variables) -> Mono
+            .fromCallable(() -> templateId + ":" + variables.get("name") + ":" + renders.incrementAndGet())
+            .delayElement(Duration.ofMillis(20));
+
+    @Test
+    void identicalRenders_shareOneDelegateRender() {
+        CachingNotificationTemplateEngine engine = new CachingNotificationTemplateEngine(delegate,
+                NotificationTemplateProperties.builder().build());
+        Map<String, Object> variables = new LinkedHashMap<>();
+        variables.put("name", "Ada");
+        variables.put("items", List.of(1, 2, 3));
+        Map<String, Object> reordered = new LinkedHashMap<>();
+        reordered.put("items", List.of(1, 2, 3));
+        reordered.put("name", "Ada");
+
+        Mono<String> first = engine.render("notice", variables);
+        Mono<String> second = engine.render("notice", reordered);
+        String[] results = Mono.zip(first, second, (a, b) -> new String[]{a, b}).block();
+
+        assertThat(results).containsExactly("notice:Ada:1", "notice:Ada:1");
+        assertThat(engine.render("notice", Map.of("name", "Grace")).block()).isEqualTo("notice:Grace:2");
+        assertThat(renders).hasValue(2);
+    }
+
+    @Test
+    void emptyRender_completesEmptyAndIsNotCached() {
+        NotificationTemplateEngine emptyDelegate = (templateId, variables) -> Mono.fromRunnable(renders::incrementAndGet);
+        CachingNotificationTemplateEngine engine = new CachingNotificationTemplateEngine(emptyDelegate,
+                NotificationTemplateProperties.builder().build());
+
+        assertThat(engine.render("blank", Map.of("name", "Ada")).hasElement().block()).isFalse();
+        assertThat(engine.renderToBuffer("blank", Map.of("name", "Ada")).hasElement().block()).isFalse();
+        assertThat(renders).hasValue(2);
+    }
+
+    @Test
+    void nonCacheableTemplate_isRenderedEveryTime() {
+        CachingNotificationTemplateEngine engine = new CachingNotificationTemplateEngine(delegate,
+                NotificationTemplateProperties.builder()
+                        .nonCacheableTemplates(Set.of("otp"))
+                        .build());
+
+        engine.render("otp", Map.of("name", "Ada")).block();
+        engine.render("otp", Map.of("name", "Ada")).block();
+
+        assertThat(renders).hasValue(2);
+    }
+}
@@ -0,0 +1,181 @@
+package org.fireflyframework.notifications.core.services.template;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.fireflyframework.notifications.observability.NotificationMetrics;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+
+import java.io.FileNotFoundException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Duration;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.BooleanSupplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class FreemarkerNotificationTemplateEngineTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+    @Test
+    void render_substitutesVariables() {
+        FreemarkerNotificationTemplateEngine engine = new FreemarkerNotificationTemplateEngine();
+
+        String rendered = engine.render("greeting", Map.of("name", "Ada")).block();
+        assertThat(rendered).isEqualTo("Hello Ada!");
+    }
+
+    @Test
+    void renderToBuffer_writesEncodedOutput() {
+        FreemarkerNotificationTemplateEngine engine = new FreemarkerNotificationTemplateEngine();
+
+        DataBuffer buffer = engine.renderToBuffer("greeting", Map.of("name", "Zoë")).block();
+        try {
+            assertThat(buffer).isNotNull();
+            assertThat(buffer.toString(StandardCharsets.UTF_8)).isEqualTo("Hello Zoë!");
+        } finally {
+            DataBufferUtils.release(buffer);
+        }
+    }
+
+    @Test
+    void render_resolvesLocalizedVariantWithFallback() {
+        FreemarkerNotificationTemplateEngine engine = new FreemarkerNotificationTemplateEngine(
+                new NotificationTemplateProperties(), new NotificationMetrics(registry));
+        Map<String, Object> variables = Map.of("name", "Ada", "balance", 12.5);
+
+        assertThat(engine.render("greeting", Locale.CANADA_FRENCH, variables).block())
+                .isEqualTo("Bonjour Ada ! Solde : 12,5");
+        assertThat(engine.render("greeting", Locale.GERMANY, variables).block()).isEqualTo("Hello Ada!");
+        assertThat(engine.getTemplateVersion("greeting", Locale.FRENCH))
+                .isNotEqualTo(engine.getTemplateVersion("greeting", Locale.GERMAN));
+
+        double resolutionMisses = resolutionMisses();
+        for (int i = 0; i < 3; i++) {
+            assertThatThrownBy(() -> engine.render("unknown", Locale.FRANCE, Map.of()).block())
+                    .hasCauseInstanceOf(FileNotFoundException.class);
+        }
+        assertThat(resolutionMisses()).isEqualTo(resolutionMisses + 1);
+        engine.close();
+    }
+
+    @Test
+    void preloadedTemplate_isServedFromCache() {
+        FreemarkerNotificationTemplateEngine engine = new FreemarkerNotificationTemplateEngine(
+                NotificationTemplateProperties.builder()
+                        .preloadTemplates(List.of("greeting"))
+                        .build(),
+                new NotificationMetrics(registry));
+
+        engine.render("greeting", Map.of("name", "Ada")).block();
+        engine.render("greeting", Map.of("name", "Grace")).block();
+
+        assertThat(registry.get("firefly.notifications.cache.misses").tag("cache", "templates").counter().count())
+                .isEqualTo(1);
+        assertThat(registry.get("firefly.notifications.cache.hits").tag("cache", "templates").counter().count())
+                .isEqualTo(2);
+    }
+
+    @Test
+    void watchedFilesystemTemplate_isRecompiledWhenEdited(@TempDir Path directory) throws Exception {
+        Path notice = Files.writeString(directory.resolve("notice.ftl"), "Old ${name}");
+        try (FreemarkerNotificationTemplateEngine engine = new FreemarkerNotificationTemplateEngine(
+                NotificationTemplateProperties.builder()
+                        .filesystemDir(directory.toString())
+                        .watchFilesystem(true)
+                        .watchDebounce(Duration.ofMillis(20))
+                        .build(),
+                new NotificationMetrics(registry))) {
+            assertThat(engine.render("notice", Map.of("name", "Ada")).block()).isEqualTo("Old Ada");
+            long version = engine.getTemplateVersion("notice");
+
+            Files.writeString(notice, "New ${name}");
+            awaitTrue(() -> reloads("reloaded") >= 1);
+
+            assertThat(engine.getTemplateVersion("notice")).isGreaterThan(version);
+            assertThat(engine.render("notice", Map.of("name", "Ada")).block()).isEqualTo("New Ada");
+            assertThat(registry.get("firefly.notifications.cache.misses").tag("cache", "templates").counter().count())
+                    .isEqualTo(1);
+
+            Files.delete(notice);
+            awaitTrue(() -> reloads("invalidated") >= 1);
+            assertThatThrownBy(() -> engine.render("notice", Map.of()).block())
+                    .hasCauseInstanceOf(FileNotFoundException.class);
+        }
+    }
+
+    @Test
+    void render_withoutLocale_resolvesVariantsForTheDefaultLocale(@TempDir Path directory) throws Exception {
+        Files.writeString(directory.resolve("farewell.ftl"), "Goodbye");
+        Files.writeString(directory.resolve("farewell_en.ftl"), "Bye");
+        FreemarkerNotificationTemplateEngine engine = new FreemarkerNotificationTemplateEngine(
+                "/notification-templates", directory.toString());
+
+        assertThat(engine.render("farewell", Map.of()).block()).isEqualTo("Bye");
+        assertThat(engine.render("farewell", Locale.GERMAN, Map.of()).block()).isEqualTo("Goodbye");
+    }
+
+    @Test
+    void includedTemplates_areRecompiledWhenTheWatcherSeesAnEdit(@TempDir Path directory) throws Exception {
+        Path footer = Files.writeString(directory.resolve("footer.ftl"), "Old footer");
+        Files.writeString(directory.resolve("letter.ftl"), "Dear ${name}. <#include \"footer.ftl\">");
+        try (FreemarkerNotificationTemplateEngine watched = new FreemarkerNotificationTemplateEngine(
+                NotificationTemplateProperties.builder()
+                        .filesystemDir(directory.toString())
+                        .watchFilesystem(true)
+                        .watchDebounce(Duration.ofMillis(20))
+                        .cacheTtl(null)
+                        .build(),
+                new NotificationMetrics(registry))) {
+            assertThat(watched.render("letter", Map.of("name", "Ada")).block()).isEqualTo("Dear Ada. Old footer");
+
+            Files.writeString(footer, "New footer");
+            awaitTrue(() -> reloads("invalidated") >= 1);
+
+            assertThat(watched.render("letter", Map.of("name", "Ada")).block()).isEqualTo("Dear Ada. New footer");
+        }
+    }
+
+    @Test
+    void includedTemplates_areReReadAfterTheCacheTtl(@TempDir Path directory) throws Exception {
+        Path footer = Files.writeString(directory.resolve("footer.ftl"), "Old footer");
+        Files.writeString(directory.resolve("letter.ftl"), "Dear ${name}. <#include \"footer.ftl\">");
+        try (FreemarkerNotificationTemplateEngine engine = new FreemarkerNotificationTemplateEngine(
+                NotificationTemplateProperties.builder()
+                        .filesystemDir(directory.toString())
+                        .cacheTtl(Duration.ofMillis(50))
+                        .build())) {
+            assertThat(engine.render("letter", Map.of("name", "Ada")).block()).isEqualTo("Dear Ada. Old footer");
+
+            Files.writeString(footer, "New footer");
+            Files.setLastModifiedTime(footer, FileTime.fromMillis(System.currentTimeMillis() + 10_000));
+            Thread.sleep(100);
+
+            assertThat(engine.render("letter", Map.of("name", "Ada")).block()).isEqualTo("Dear Ada. New footer");
+        }
+    }
+
+    private double resolutionMisses() {
+        return registry.get("firefly.notifications.cache.misses").tag("cache", "template-resolutions").counter().count();
+    }
+
+    private double reloads(String outcome) {
+        return registry.get("firefly.notifications.templates.reloads").tag("outcome", outcome).counter().count();
+    }
+
+    private static void awaitTrue(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + Duration.ofSeconds(10).toNanos();
+        while (!condition.getAsBoolean()) {
+            assertThat(System.nanoTime()).as("condition not met in time").isLessThan(deadline);
+            Thread.sleep(10);
+        }
+    }
+}
@@ -0,0 +1,94 @@
+package org.fireflyframework.notifications.core.services.template;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+
+import java.io.FileNotFoundException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class SimpleNotificationTemplateEngineTest {
+
+    private final SimpleNotificationTemplateEngine engine = new SimpleNotificationTemplateEngine();
+
+    @Test
+    void render_loadsTemplatesFromClasspath() {
+        assertThat(engine.render("reminder", Map.of("name", "Ada", "balance", 42)).block())
+                .isEqualTo("Hi Ada, you owe 42.");
+        assertThat(engine.render("reminder", Map.of("name", "Ada", "balance", 0)).block())
+                .isEqualTo("Hi Ada, you are all settled.");
+        assertThat(engine.getTemplateVersion("reminder")).isEqualTo(1);
+    }
+
+    @Test
+    void render_loadsTemplatesOffTheCallerAndRendersCompiledOnesInline() {
+        Map<String, Object> variables = Map.of("name", "Ada", "balance", 42);
+
+        String loadingThread = engine.render("reminder", variables).map(rendered -> Thread.currentThread().getName()).block();
+        String compiledThread = engine.render("reminder", variables).map(rendered -> Thread.currentThread().getName()).block();
+
+        assertThat(loadingThread).startsWith("boundedElastic");
+        assertThat(compiledThread).isEqualTo(Thread.currentThread().getName());
+    }
+
+    @Test
+    void render_escapesValuesAndWalksLoops() {
+        engine.register("statement", """
+                {{! escaped unless triple-braced }}<p>{{user.name}} {{{signature}}}</p>
+                {{#each items}}<li>{{label}}: {{amount}} {{currency}}</li>{{/each}}
+                {{#each tags}}[{{this}}]{{/each}}""");
+
+        String rendered = engine.render("statement", Map.of(
+                "user", Map.of("name", "Tom & \"Jerry\""),
+                "signature", "<b>Firefly</b>",
+                "currency", "EUR",
+                "items", List.of(Map.of("label", "Fee", "amount", -15L), Map.of("label", "Zoë's refund", "amount", 7)),
+                "tags", new String[]{"a", "😀"})).block();
+
+        assertThat(rendered).isEqualTo("""
+                <p>Tom &amp; &quot;Jerry&quot; <b>Firefly</b></p>
+                <li>Fee: -15 EUR</li><li>Zoë&#39;s refund: 7 EUR</li>
+                [a][😀]""");
+    }
+
+    @Test
+    void renderToBuffer_matchesRender() {
+        engine.register("sms", "Code {{code}} for {{name}}");
+        Map<String, Object> variables = Map.of("code", 123456, "name", "Zoë");
+
+        DataBuffer buffer = engine.renderToBuffer("sms", variables).block();
+        try {
+            assertThat(buffer.toString(StandardCharsets.UTF_8)).isEqualTo(engine.render("sms", variables).block());
+        } finally {
+            DataBufferUtils.release(buffer);
+        }
+    }
+
+    @Test
+    void invalidOrMissingTemplates_fail() {
+        assertThatThrownBy(() -> engine.register("broken", "a\n{{#if x}}b{{/each}}"))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Template 'broken.tmpl' line 2: unexpected {{/each}}");
+        assertThatThrownBy(() -> engine.render("missing", Map.of()).block())
+                .hasCauseInstanceOf(FileNotFoundException.class);
+    }
+
+    @Test
+    void routingEngine_rendersEachTemplateWithItsEngine() {
+        FreemarkerNotificationTemplateEngine freemarker = new FreemarkerNotificationTemplateEngine();
+        RoutingNotificationTemplateEngine routing = new RoutingNotificationTemplateEngine(freemarker,
+                Map.of("reminder", engine));
+        try {
+            assertThat(routing.render("greeting", Map.of("name", "Ada")).block()).isEqualTo("Hello Ada!");
+            assertThat(routing.render("reminder", Map.of("name", "Ada")).block())
+                    .isEqualTo("Hi Ada, you are all settled.");
+        } finally {
+            freemarker.close();
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package org.fireflyframework.notifications.core.services.template;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class TemplateRenderSchedulerTest {
+
+    private final CountDownLatch release = new CountDownLatch(1);
+    private final CountDownLatch started = new CountDownLatch(1);
+
+    @Test
+    void overflowRenders_waitForASlotAndRunOnTheRenderPool() throws InterruptedException {
+        try (TemplateRenderScheduler scheduler = new TemplateRenderScheduler(1, 1, false,
+                RenderRejectionPolicy.WAIT, Duration.ofSeconds(5), null)) {
+            CompletableFuture<String> running = scheduler.schedule(this::blockUntilReleased).toFuture();
+            started.await();
+            CompletableFuture<String> queued = scheduler.schedule(() -> Thread.currentThread().getName()).toFuture();
+            CompletableFuture<String> overflow = scheduler.schedule(() -> Thread.currentThread().getName()).toFuture();
+
+            Thread.sleep(100);
+            assertThat(overflow).isNotDone();
+
+            release.countDown();
+            assertThat(running.join()).isEqualTo("running");
+            assertThat(queued.join()).startsWith("notification-render-");
+            assertThat(overflow.join()).startsWith("notification-render-").doesNotStartWith("boundedElastic");
+        }
+    }
+
+    @Test
+    void overflowRenders_failWhenNoSlotFreesInTime() throws InterruptedException {
+        try (TemplateRenderScheduler scheduler = new TemplateRenderScheduler(1, 1, false,
+                RenderRejectionPolicy.WAIT, Duration.ofMillis(50), null)) {
+            CompletableFuture<String> running = scheduler.schedule(this::blockUntilReleased).toFuture();
+            started.await();
+            scheduler.schedule(() -> "queued").subscribe();
+
+            assertThatThrownBy(() -> scheduler.schedule(() -> "overflow").block(Duration.ofSeconds(5)))
+                    .isInstanceOf(RejectedExecutionException.class);
+
+            release.countDown();
+            assertThat(running.join()).isEqualTo("running");
+            assertThat(scheduler.schedule(() -> "after").block(Duration.ofSeconds(5))).isEqualTo("after");
+        }
+    }
+
+    private String blockUntilReleased() throws InterruptedException {
+        started.countDown();
+        release.await();
+        return "running";
+    }
+}
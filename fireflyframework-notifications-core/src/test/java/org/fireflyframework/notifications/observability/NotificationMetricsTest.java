@@ -0,0 +1,82 @@
+package org.fireflyframework.notifications.observability;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.fireflyframework.notifications.observability.SendMeters.Outcome;
+import org.fireflyframework.notifications.observability.SendMeters.Stage;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class NotificationMetricsTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final NotificationMetrics metrics = new NotificationMetrics(registry,
+            NotificationMetricsSettings.builder().maxTemplateTags(2).build());
+
+    @Test
+    void sendMeters_areRegisteredOncePerChannelAndProvider() {
+        SendMeters meters = metrics.sendMeters("email", "sendgrid");
+
+        meters.timed(Stage.TOTAL, Mono.just("sent"), value -> Outcome.SUPPRESSED).block();
+
+        assertThat(metrics.sendMeters("email", "sendgrid")).isSameAs(meters);
+        assertThat(registry.get("firefly.notifications.stage.duration")
+                .tags("channel", "email", "provider", "sendgrid", "stage", "total", "outcome", "suppressed")
+                .timer().count()).isEqualTo(1);
+        assertThat(registry.get("firefly.notifications.send.outcomes")
+                .tags("channel", "email", "provider", "sendgrid", "outcome", "suppressed")
+                .counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void timedDispatch_countsFailuresByErrorType() {
+        metrics.timedDispatch("sms", "twilio", Mono.error(new IllegalStateException("down")))
+                .onErrorResume(error -> Mono.empty())
+                .block();
+
+        assertThat(registry.get("firefly.notifications.delivery.duration").tags("channel", "sms", "provider", "twilio")
+                .timer().count()).isEqualTo(1);
+        assertThat(registry.get("firefly.notifications.sent")
+                .tags("status", "failure", "error.type", "IllegalStateException").counter().count()).isEqualTo(1);
+        assertThat(registry.get("firefly.notifications.errors").tag("error.type", "IllegalStateException")
+                .counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void timedDispatch_recordsCancelledDispatches() {
+        metrics.timedDispatch("push", "firebase", Mono.never()).subscribe().dispose();
+
+        assertThat(registry.get("firefly.notifications.delivery.duration").tags("channel", "push", "provider", "firebase")
+                .timer().count()).isEqualTo(1);
+    }
+
+    @Test
+    void templateTags_areCappedAtTheConfiguredLimit() {
+        for (String template : new String[]{"welcome", "statement", "reset-password", "receipt"}) {
+            metrics.timedRender(template, Mono.just("html")).block();
+        }
+
+        assertThat(registry.find("firefly.notifications.templates.rendered").counters())
+                .extracting(counter -> counter.getId().getTag("template"))
+                .containsExactlyInAnyOrder("welcome", "statement", "other");
+        assertThat(registry.get("firefly.notifications.templates.rendered").tag("template", "other")
+                .counter().count()).isEqualTo(2);
+    }
+
+    @Test
+    void templateTags_stayCappedWhenFirstRendersRace() {
+        Flux.range(0, 64)
+                .parallel(8)
+                .runOn(Schedulers.parallel())
+                .flatMap(i -> metrics.timedRender("template-" + i, Mono.just("html")))
+                .sequential()
+                .blockLast();
+
+        assertThat(registry.find("firefly.notifications.templates.rendered").counters()).hasSize(3);
+        assertThat(registry.get("firefly.notifications.templates.rendered").tag("template", "other")
+                .counter().count()).isEqualTo(62);
+    }
+}
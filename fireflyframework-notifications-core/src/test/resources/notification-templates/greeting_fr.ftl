@@ -0,0 +1 @@
+Bonjour ${name} ! Solde : ${balance}
\ No newline at end of file